@@ -0,0 +1,86 @@
+// Carga mista (leituras do catálogo, consultas filtradas e logins com BCrypt)
+// para comparar o servidor em platform threads e no perfil virtual-threads.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=platform loadtest/catalog-mix.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=virtual  loadtest/catalog-mix.js
+//
+// Cada execução grava loadtest/results-<MODE>.json com vazão e p99 por cenário.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const VUS = Number(__ENV.VUS || 2000);
+const DURATION = __ENV.DURATION || '2m';
+
+const catalogLatency = new Trend('catalog_latency', true);
+const queryLatency = new Trend('query_latency', true);
+const loginLatency = new Trend('login_latency', true);
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+const EMAIL = `loadtest-${Date.now()}@calamity.test`;
+const PASSWORD = 'LoadTest#2026';
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/api/v1/auth/register`,
+        JSON.stringify({ username: `loadtest${Date.now()}`, email: EMAIL, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(response, { 'usuário de carga criado': (r) => r.status === 200 || r.status === 201 });
+}
+
+export default function () {
+    const roll = Math.random();
+    if (roll < 0.6) {
+        const response = http.get(`${BASE_URL}/api/v1/weapons`, { headers: { 'Accept-Encoding': 'gzip' } });
+        catalogLatency.add(response.timings.duration);
+        check(response, { 'catálogo 200': (r) => r.status === 200 });
+    } else if (roll < 0.95) {
+        const response = http.get(`${BASE_URL}/api/v1/armor?armorClass=MELEE`);
+        queryLatency.add(response.timings.duration);
+        check(response, { 'consulta 200': (r) => r.status === 200 });
+    } else {
+        const response = http.post(`${BASE_URL}/api/v1/auth/login`,
+            JSON.stringify({ email: EMAIL, password: PASSWORD }),
+            { headers: { 'Content-Type': 'application/json' } });
+        loginLatency.add(response.timings.duration);
+        check(response, { 'login 200': (r) => r.status === 200 });
+    }
+}
+
+export function handleSummary(data) {
+    const trend = (name) => data.metrics[name] ? data.metrics[name].values : {};
+    const summary = {
+        mode: MODE,
+        vus: VUS,
+        requestsPerSecond: data.metrics.http_reqs.values.rate,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        p99Ms: data.metrics.http_req_duration.values['p(99)'],
+        catalog: trend('catalog_latency'),
+        query: trend('query_latency'),
+        login: trend('login_latency'),
+    };
+    return {
+        [`loadtest/results-${MODE}.json`]: JSON.stringify(summary, null, 2),
+        stdout: `\n[${MODE}] ${summary.requestsPerSecond.toFixed(0)} req/s, p99 ${summary.p99Ms.toFixed(0)} ms, `
+            + `falhas ${(summary.failedRate * 100).toFixed(2)}%\n`,
+    };
+}
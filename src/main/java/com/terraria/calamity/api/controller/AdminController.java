@@ -1,11 +1,20 @@
 package com.terraria.calamity.api.controller;
 
+import com.terraria.calamity.application.security.PrincipalCache;
 import com.terraria.calamity.application.service.AdminDashboardService;
+import com.terraria.calamity.application.service.UserAdminService;
 import com.terraria.calamity.domain.dto.AdminDashboardResponseDTO;
+import com.terraria.calamity.domain.dto.UpdateUserAccessRequestDTO;
+import com.terraria.calamity.domain.dto.UserResponse;
+import com.terraria.calamity.domain.entity.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,10 +24,43 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminController {
 
     private final AdminDashboardService dashboardService;
+    private final UserAdminService userAdminService;
+    private final PrincipalCache principalCache;
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/dashboard")
     public ResponseEntity<AdminDashboardResponseDTO> getDashboard() {
         return ResponseEntity.ok(dashboardService.getDashboard());
     }
+
+    /**
+     * PATCH /api/v1/admin/users/{id}/access
+     *
+     * Troca role e/ou enabled; o principal em cache do usuário é derrubado no commit.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/users/{id}/access")
+    public ResponseEntity<UserResponse> updateUserAccess(
+            @PathVariable Long id,
+            @RequestBody UpdateUserAccessRequestDTO request) {
+        Role role;
+        try {
+            role = request.role() == null ? null : Role.valueOf(request.role().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userAdminService.updateAccess(id, role, request.enabled()));
+    }
+
+    /**
+     * DELETE /api/v1/admin/principal-cache/{email}
+     *
+     * Força a próxima requisição do usuário a recarregar o principal do banco.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/principal-cache/{email}")
+    public ResponseEntity<Void> evictPrincipal(@PathVariable String email) {
+        principalCache.evict(email);
+        return ResponseEntity.noContent().build();
+    }
 }
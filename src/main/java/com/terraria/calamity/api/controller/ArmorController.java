@@ -9,10 +9,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.ZoneId;
 import java.util.List;
 
 /**
@@ -28,25 +30,66 @@ public class ArmorController {
 
     private final ArmorService armorService;
 
+    /**
+     * GET /api/v1/armor?armorClass=&rarity=&view=summary|full
+     *
+     * view=summary lê só as colunas estreitas (sem markdownContent, flavorText
+     * e peças); o padrão full mantém o formato completo. Sem filtros, a lista
+     * sai dos bytes pré-serializados (JSON e gzip) da versão atual do catálogo.
+     */
     @GetMapping
-    public ResponseEntity<List<ArmorResponseDTO>> getAllArmors(
+    public ResponseEntity<?> getAllArmors(
             @RequestParam(required = false) String armorClass,
-            @RequestParam(required = false) String rarity
+            @RequestParam(required = false) String rarity,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
+        ResponseView responseView = ResponseView.parse(view).orElse(null);
+        if (responseView == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean summary = responseView == ResponseView.SUMMARY;
         if (armorClass != null && !armorClass.isBlank()) {
             Armor.ArmorClass classEnum = Armor.ArmorClass.valueOf(armorClass.toUpperCase());
-            return ResponseEntity.ok(armorService.findByClass(classEnum));
+            return ResponseEntity.ok(summary
+                    ? armorService.findSummariesByClass(classEnum)
+                    : armorService.findByClass(classEnum));
         }
         if (rarity != null && !rarity.isBlank()) {
             Rarity rarityEnum = Rarity.valueOf(rarity.toUpperCase());
-            return ResponseEntity.ok(armorService.findByRarity(rarityEnum));
+            return ResponseEntity.ok(summary
+                    ? armorService.findSummariesByRarity(rarityEnum)
+                    : armorService.findByRarity(rarityEnum));
         }
-        return ResponseEntity.ok(armorService.findAll());
+        return SerializedResponses.ok(armorService.findAllSerialized(summary), acceptEncoding);
+    }
+
+    /**
+     * GET /api/v1/armor/search?name={name}
+     *
+     * Busca por nome com ranking: prefixo, substring e nomes parecidos
+     * (ex.: "victde" encontra "Victide").
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ArmorResponseDTO>> searchByName(@RequestParam String name) {
+        return ResponseEntity.ok(armorService.searchByName(name));
     }
 
+    /**
+     * GET /api/v1/armor/{id}
+     *
+     * Leva Last-Modified = updatedAt da armadura; If-Modified-Since igual ou
+     * posterior recebe 304 sem corpo.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<ArmorResponseDTO> getArmorById(@PathVariable Long id) {
-        return ResponseEntity.ok(armorService.findById(id));
+        ArmorResponseDTO armor = armorService.findById(id);
+        if (armor.updatedAt() == null) {
+            return ResponseEntity.ok(armor);
+        }
+        return ResponseEntity.ok()
+                .lastModified(armor.updatedAt().atZone(ZoneId.systemDefault()))
+                .body(armor);
     }
 
     @PostMapping
@@ -3,6 +3,7 @@ package com.terraria.calamity.api.controller;
 import com.terraria.calamity.application.service.AuthService;
 import com.terraria.calamity.domain.dto.AuthResponse;
 import com.terraria.calamity.domain.dto.LoginRequest;
+import com.terraria.calamity.domain.dto.RefreshTokenRequest;
 import com.terraria.calamity.domain.dto.RegisterRequest;
 import com.terraria.calamity.domain.dto.UserResponse;
 import jakarta.validation.Valid;
@@ -16,6 +17,8 @@ import org.springframework.web.bind.annotation.*;
  * Endpoints de autenticação.
  * POST /api/v1/auth/register → 201 Created + AuthResponse (com JWT)
  * POST /api/v1/auth/login    → 200 OK + AuthResponse (com JWT)
+ * POST /api/v1/auth/refresh  → 200 OK + AuthResponse (novo JWT + refresh token rotacionado)
+ * POST /api/v1/auth/logout   → 204 No Content (revoga a família do refresh token)
  */
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -36,6 +39,17 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     public ResponseEntity<UserResponse> me(Authentication authentication) {
         UserResponse response = authService.getCurrentUser(authentication.getName());
@@ -0,0 +1,52 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.application.catalog.CatalogSuggestIndex;
+import com.terraria.calamity.domain.dto.CatalogSuggestionDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller para endpoints que cruzam armas e armaduras do catálogo
+ */
+@RestController
+@RequestMapping("/api/v1/catalog")
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private static final int DEFAULT_SUGGEST_LIMIT = 8;
+    private static final int MAX_SUGGEST_LIMIT = 20;
+
+    private final CatalogSuggestIndex suggestIndex;
+
+    // ====================================================================
+    // GET - Autocomplete de nomes (armas + armaduras)
+    // ====================================================================
+    /**
+     * GET /api/v1/catalog/suggest?q={q}&limit={limit}
+     *
+     * Sugestões para autocomplete a cada tecla: nomes que começam com o
+     * termo, ou que têm alguma palavra começando com ele. Nomes mais curtos
+     * primeiro. Servido da memória, sem transação.
+     *
+     * @param q     Termo digitado até agora (case-insensitive)
+     * @param limit Quantidade de sugestões (padrão 8, máximo 20)
+     * @return ResponseEntity com lista de CatalogSuggestionDTO
+     *
+     * Exemplo: GET /api/v1/catalog/suggest?q=ter
+     * [
+     *   { "type": "WEAPON", "id": 12, "name": "Terrarian" },
+     *   { "type": "WEAPON", "id": 3, "name": "Terra Blade" }
+     * ]
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<CatalogSuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        int size = Math.clamp(limit != null ? limit : DEFAULT_SUGGEST_LIMIT, 1, MAX_SUGGEST_LIMIT);
+        return ResponseEntity.ok(suggestIndex.suggest(q, size));
+    }
+}
@@ -0,0 +1,155 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.api.exception.PayloadTooLargeException;
+import com.terraria.calamity.api.exception.ServiceOverloadedException;
+import com.terraria.calamity.application.importer.CatalogImportFormat;
+import com.terraria.calamity.application.service.CatalogImportService;
+import com.terraria.calamity.domain.dto.CatalogImportResultDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+
+/**
+ * Import em massa do catálogo. O corpo ({@code application/x-ndjson} ou
+ * {@code text/csv}, UTF-8 por padrão) é lido em streaming direto da
+ * requisição, sem ser carregado inteiro em memória.
+ *
+ * O import segura uma conexão do pool (e a transação) enquanto o corpo
+ * chega, então o tempo que um cliente lento consegue prender essa conexão
+ * é limitado:
+ * - {@code catalog.import.max-concurrent} (padrão 1) imports por instância;
+ *   quem chega com todos ocupados recebe 503 na hora, antes de abrir a
+ *   transação;
+ * - {@code catalog.import.max-body-size} (padrão 100MB): corpos maiores dão
+ *   413, pelo Content-Length ou ao passar do limite durante a leitura, e o
+ *   import é desfeito;
+ * - quem para de enviar o corpo cai pelo
+ *   {@code server.tomcat.connection-timeout}.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/import")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+    private final Semaphore permits;
+    private final long maxBodyBytes;
+
+    public CatalogImportController(
+            CatalogImportService catalogImportService,
+            @Value("${catalog.import.max-concurrent:1}") int maxConcurrent,
+            @Value("${catalog.import.max-body-size:100MB}") DataSize maxBodySize) {
+        this.catalogImportService = catalogImportService;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxBodyBytes = maxBodySize.toBytes();
+    }
+
+    /**
+     * POST /api/v1/admin/import/weapons
+     *
+     * Upsert por nome; linhas inválidas são puladas e listadas no resultado.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/weapons",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, CatalogImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<CatalogImportResultDTO> importWeapons(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Optional<CatalogImportFormat> format = CatalogImportFormat.fromContentType(contentType);
+        if (format.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bounded(request, contentType, format.get(), catalogImportService::importWeapons));
+    }
+
+    /**
+     * POST /api/v1/admin/import/armors
+     *
+     * Upsert por nome; as peças enviadas substituem as do mesmo slot.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/armors",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, CatalogImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<CatalogImportResultDTO> importArmors(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Optional<CatalogImportFormat> format = CatalogImportFormat.fromContentType(contentType);
+        if (format.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bounded(request, contentType, format.get(), catalogImportService::importArmors));
+    }
+
+    private CatalogImportResultDTO bounded(
+            HttpServletRequest request, MediaType contentType, CatalogImportFormat format,
+            BiFunction<BufferedReader, CatalogImportFormat, CatalogImportResultDTO> importer) throws IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            throw tooLarge();
+        }
+        if (!permits.tryAcquire()) {
+            throw new ServiceOverloadedException("Já há um import em andamento, tente novamente em instantes");
+        }
+        try {
+            Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+            InputStream body = new CappedInputStream(request.getInputStream(), maxBodyBytes);
+            return importer.apply(new BufferedReader(new InputStreamReader(body, charset)), format);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException("O corpo do import passa do limite de " + maxBodyBytes + " bytes");
+    }
+
+    /** Lança {@link PayloadTooLargeException} (não checada, desfaz o import) ao passar de {@code limit} bytes. */
+    private final class CappedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long read;
+
+        private CappedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) {
+            read += n;
+            if (read > limit) {
+                throw tooLarge();
+            }
+        }
+    }
+}
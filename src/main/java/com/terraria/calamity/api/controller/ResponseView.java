@@ -0,0 +1,24 @@
+package com.terraria.calamity.api.controller;
+
+import java.util.Optional;
+
+/**
+ * Valores de {@code ?view=} nos endpoints de listagem.
+ * FULL (padrão) mantém o formato de sempre; SUMMARY devolve só as colunas estreitas.
+ */
+public enum ResponseView {
+    SUMMARY,
+    FULL;
+
+    /** Vazio se o valor não for um view conhecido (ausente vale FULL). */
+    public static Optional<ResponseView> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.of(FULL);
+        }
+        try {
+            return Optional.of(ResponseView.valueOf(value.strip().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.application.catalog.SerializedResponse;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Monta a resposta HTTP a partir de bytes já serializados: o
+ * ByteArrayHttpMessageConverter só copia o array para o output stream.
+ */
+final class SerializedResponses {
+
+    private SerializedResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(SerializedResponse response, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (SerializedResponseCache.acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(response.gzip().length)
+                    .body(response.gzip());
+        }
+        return builder.contentLength(response.json().length).body(response.json());
+    }
+}
@@ -2,18 +2,28 @@ package com.terraria.calamity.api.controller;
 
 import com.terraria.calamity.application.service.SubmissionService;
 import com.terraria.calamity.domain.dto.RejectSubmissionRequestDTO;
+import com.terraria.calamity.domain.dto.SubmissionBatchRequestDTO;
+import com.terraria.calamity.domain.dto.SubmissionBatchResponseDTO;
+import com.terraria.calamity.domain.dto.SubmissionPageResponseDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionResponseDTO;
 import com.terraria.calamity.domain.entity.EntityType;
 import com.terraria.calamity.domain.entity.SubmissionStatus;
+import com.terraria.calamity.domain.repository.SubmissionKeyset;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -21,7 +31,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SubmissionController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final SubmissionService submissionService;
+    private final JsonMapper jsonMapper;
 
     @PostMapping
     public ResponseEntity<WeaponSubmissionResponseDTO> create(
@@ -51,9 +66,39 @@ public class SubmissionController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Fila de moderação em páginas de até 200 submissões, da mais antiga para
+     * a mais nova. {@code after} é o nextCursor da página anterior.
+     */
     @PreAuthorize("hasRole('ADMIN')")
-    @GetMapping
-    public ResponseEntity<List<WeaponSubmissionResponseDTO>> findByStatus(
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SubmissionPageResponseDTO> findByStatus(
+            @RequestParam String entityType,
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (!isSupportedWeaponType(entityType)) {
+            return ResponseEntity.badRequest().build();
+        }
+        SubmissionStatus statusEnum;
+        SubmissionKeyset cursor;
+        try {
+            statusEnum = SubmissionStatus.valueOf(status.toUpperCase());
+            cursor = after != null ? SubmissionKeyset.decode(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.clamp(limit != null ? limit : DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(submissionService.findByStatus(statusEnum, cursor, pageSize));
+    }
+
+    /**
+     * Export da fila inteira com {@code Accept: application/x-ndjson}: uma
+     * submissão por linha, escrita conforme os lotes chegam do banco.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByStatus(
             @RequestParam String entityType,
             @RequestParam(defaultValue = "PENDING") String status) {
         if (!isSupportedWeaponType(entityType)) {
@@ -65,7 +110,9 @@ public class SubmissionController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(submissionService.findByStatus(statusEnum));
+        StreamingResponseBody body = out -> submissionService.exportByStatus(statusEnum, EXPORT_BATCH_SIZE,
+                submission -> writeLine(out, submission));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -74,6 +121,16 @@ public class SubmissionController {
         return ResponseEntity.ok(submissionService.findById(id));
     }
 
+    /**
+     * Aprova ou rejeita até 500 submissões numa só transação, com resultado por id.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<SubmissionBatchResponseDTO> decideBatch(@Valid @RequestBody SubmissionBatchRequestDTO requestDTO) {
+        return ResponseEntity.ok(submissionService.decideBatch(
+                requestDTO.ids(), requestDTO.decision(), requestDTO.reason()));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/{id}/approve")
     public ResponseEntity<WeaponSubmissionResponseDTO> approve(@PathVariable Long id) {
@@ -88,6 +145,15 @@ public class SubmissionController {
         return ResponseEntity.ok(submissionService.reject(id, requestDTO.reason()));
     }
 
+    private void writeLine(OutputStream out, WeaponSubmissionResponseDTO submission) {
+        try {
+            out.write(jsonMapper.writeValueAsBytes(submission));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private boolean isSupportedWeaponType(String entityType) {
         try {
             return EntityType.valueOf(entityType.toUpperCase()) == EntityType.WEAPON;
@@ -2,18 +2,26 @@ package com.terraria.calamity.api.controller;
 
 import com.terraria.calamity.domain.entity.Element;
 import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.dto.WeaponPageResponseDTO;
 import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
+import com.terraria.calamity.domain.repository.WeaponKeyset;
+import com.terraria.calamity.domain.repository.WeaponSearchCriteria;
 import com.terraria.calamity.application.service.WeaponService;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Controller para operações com Armas (Weapons)
@@ -30,6 +38,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WeaponController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final WeaponService weaponService;
 
     // ====================================================================
@@ -39,8 +50,13 @@ public class WeaponController {
      * GET /api/v1/weapons
      *
      * Retorna lista de TODAS as armas cadastradas.
+     * Todas as listagens aceitam ?view=summary para omitir abilities/description.
+     * O JSON (e sua versão gzip) fica pré-serializado por versão do catálogo,
+     * então a resposta é só a cópia dos bytes para o output stream.
      *
-     * @return ResponseEntity com lista de WeaponResponseDTO
+     * @param view           summary ou full (padrão)
+     * @param acceptEncoding Accept-Encoding do cliente (gzip é servido pré-comprimido)
+     * @return ResponseEntity com lista de WeaponResponseDTO (ou WeaponSummaryDTO)
      *
      * Exemplo de resposta:
      * [
@@ -60,9 +76,16 @@ public class WeaponController {
      * ]
      */
     @GetMapping
-    public ResponseEntity<List<WeaponResponseDTO>> getAllWeapons() {
-        List<WeaponResponseDTO> weapons = weaponService.findAll();
-        return ResponseEntity.ok(weapons);
+    public ResponseEntity<byte[]> getAllWeapons(
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ResponseView responseView = ResponseView.parse(view).orElse(null);
+        if (responseView == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return SerializedResponses.ok(
+                weaponService.findAllSerialized(responseView == ResponseView.SUMMARY), acceptEncoding);
     }
 
     // ====================================================================
@@ -84,11 +107,19 @@ public class WeaponController {
      * }
      *
      * Se não encontrar: 404 Not Found
+     *
+     * Leva Last-Modified = updatedAt da arma; If-Modified-Since igual ou
+     * posterior recebe 304 sem corpo.
      */
     @GetMapping("/{id}")
     public ResponseEntity<WeaponResponseDTO> getWeaponById(@PathVariable Long id) {
         WeaponResponseDTO weapon = weaponService.findById(id);
-        return ResponseEntity.ok(weapon);
+        if (weapon.updatedAt() == null) {
+            return ResponseEntity.ok(weapon);
+        }
+        return ResponseEntity.ok()
+                .lastModified(weapon.updatedAt().atZone(ZoneId.systemDefault()))
+                .body(weapon);
     }
 
     // ====================================================================
@@ -111,13 +142,13 @@ public class WeaponController {
      * - GET /api/v1/weapons/element/INEXISTENT  → Retorna vazio (fallback NEUTRAL)
      */
     @GetMapping("/element/{element}")
-    public ResponseEntity<List<WeaponResponseDTO>> findByElement(
-            @PathVariable String element
+    public ResponseEntity<List<?>> findByElement(
+            @PathVariable String element,
+            @RequestParam(required = false) String view
     ) {
         // ✅ Conversão segura: String → Element com fallback NEUTRAL
         Element elementEnum = Element.fromString(element);
-        List<WeaponResponseDTO> weapons = weaponService.findByElement(elementEnum);
-        return ResponseEntity.ok(weapons);
+        return render(view, () -> weaponService.findByElement(elementEnum));
     }
 
     // ====================================================================
@@ -139,15 +170,15 @@ public class WeaponController {
      * Se classe inválida: 400 Bad Request
      */
     @GetMapping("/class/{weaponClass}")
-    public ResponseEntity<List<WeaponResponseDTO>> findByWeaponClass(
-            @PathVariable String weaponClass
+    public ResponseEntity<List<?>> findByWeaponClass(
+            @PathVariable String weaponClass,
+            @RequestParam(required = false) String view
     ) {
         try {
             Weapon.WeaponClass classEnum = Weapon.WeaponClass.valueOf(
                     weaponClass.toUpperCase()
             );
-            List<WeaponResponseDTO> weapons = weaponService.findByClass(classEnum);
-            return ResponseEntity.ok(weapons);
+            return render(view, () -> weaponService.findByClass(classEnum));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -170,11 +201,11 @@ public class WeaponController {
      * - GET /api/v1/weapons/rarity/8  → Supremas
      */
     @GetMapping("/rarity/{rarity}")
-    public ResponseEntity<List<WeaponResponseDTO>> findByRarity(
-            @PathVariable Integer rarity
+    public ResponseEntity<List<?>> findByRarity(
+            @PathVariable Integer rarity,
+            @RequestParam(required = false) String view
     ) {
-        List<WeaponResponseDTO> weapons = weaponService.findByRarity(rarity);
-        return ResponseEntity.ok(weapons);
+        return render(view, () -> weaponService.findByRarity(rarity));
     }
 
     // ====================================================================
@@ -183,8 +214,9 @@ public class WeaponController {
     /**
      * GET /api/v1/weapons/search?name={name}
      *
-     * Busca armas por nome usando busca parcial (LIKE).
-     * Case-insensitive.
+     * Busca armas por nome com ranking: primeiro quem começa com o termo,
+     * depois quem o contém, depois nomes parecidos (tolera erros de digitação).
+     * Case-insensitive, até 50 resultados.
      *
      * @param name Parte do nome da arma
      * @return ResponseEntity com lista de WeaponResponseDTO
@@ -193,13 +225,89 @@ public class WeaponController {
      * - GET /api/v1/weapons/search?name=Excalibur  → Busca exata
      * - GET /api/v1/weapons/search?name=sword      → Busca parcial
      * - GET /api/v1/weapons/search?name=Calamity   → Busca parcial
+     * - GET /api/v1/weapons/search?name=excalbur   → Encontra Excalibur
      */
     @GetMapping("/search")
-    public ResponseEntity<List<WeaponResponseDTO>> searchByName(
-            @RequestParam String name
+    public ResponseEntity<List<?>> searchByName(
+            @RequestParam String name,
+            @RequestParam(required = false) String view
+    ) {
+        return render(view, () -> weaponService.searchByName(name));
+    }
+
+    // ====================================================================
+    // GET - Consulta combinada com paginação por cursor
+    // ====================================================================
+    /**
+     * GET /api/v1/weapons/query
+     *
+     * Combina qualquer um dos filtros abaixo (todos opcionais) numa só
+     * consulta, ordenada por raridade e id, em páginas de até 100 armas.
+     *
+     * @param weaponClass  Classe da arma (MELEE, RANGED, MAGE, SUMMON, ROGUE)
+     * @param element      Elemento exato (tem precedência sobre elementGroup)
+     * @param elementGroup Grupo de elementos: vanilla, calamity ou supreme
+     * @param minRarity    Raridade mínima (inclusive)
+     * @param maxRarity    Raridade máxima (inclusive)
+     * @param minDamage    Dano base mínimo (inclusive)
+     * @param maxDamage    Dano base máximo (inclusive)
+     * @param name         Parte do nome (case-insensitive)
+     * @param after        Cursor devolvido em nextCursor pela página anterior
+     * @param limit        Tamanho da página (padrão 20, máximo 100)
+     * @param view         summary (sem abilities/description) ou full (padrão)
+     * @return ResponseEntity com WeaponPageResponseDTO
+     *
+     * Exemplos:
+     * - GET /api/v1/weapons/query?weaponClass=MELEE&elementGroup=calamity&minRarity=10
+     * - GET /api/v1/weapons/query?minDamage=100&name=blade&limit=50
+     * - GET /api/v1/weapons/query?weaponClass=MELEE&after=MTA6NDI
+     *
+     * Resposta (200 OK):
+     * {
+     *   "items": [ { "id": 42, "name": "Ark of the Cosmos", ... } ],
+     *   "nextCursor": "MTA6NDI"
+     * }
+     *
+     * Se classe, elemento, grupo ou cursor inválidos: 400 Bad Request
+     */
+    @GetMapping("/query")
+    public ResponseEntity<WeaponPageResponseDTO<?>> query(
+            @RequestParam(required = false) String weaponClass,
+            @RequestParam(required = false) String element,
+            @RequestParam(required = false) String elementGroup,
+            @RequestParam(required = false) Integer minRarity,
+            @RequestParam(required = false) Integer maxRarity,
+            @RequestParam(required = false) Integer minDamage,
+            @RequestParam(required = false) Integer maxDamage,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String view
     ) {
-        List<WeaponResponseDTO> weapons = weaponService.searchByName(name);
-        return ResponseEntity.ok(weapons);
+        ResponseView responseView = ResponseView.parse(view).orElse(null);
+        if (responseView == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        WeaponSearchCriteria criteria;
+        WeaponKeyset cursor;
+        try {
+            Weapon.WeaponClass classEnum = weaponClass != null
+                    ? Weapon.WeaponClass.valueOf(weaponClass.toUpperCase())
+                    : null;
+            // Aqui elemento inválido é 400, e não o fallback NEUTRAL de /element/{element}
+            Set<Element> elements = element != null
+                    ? Set.of(Element.valueOf(element.toUpperCase()))
+                    : elementGroup != null ? Element.ofGroup(elementGroup) : null;
+            criteria = new WeaponSearchCriteria(classEnum, elements, minRarity, maxRarity, minDamage, maxDamage, name);
+            cursor = after != null ? WeaponKeyset.decode(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int pageSize = Math.clamp(limit != null ? limit : DEFAULT_PAGE_SIZE, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(responseView == ResponseView.SUMMARY
+                ? weaponService.querySummaries(criteria, cursor, pageSize)
+                : weaponService.query(criteria, cursor, pageSize));
     }
 
     // ====================================================================
@@ -299,6 +407,25 @@ public class WeaponController {
         return ResponseEntity.noContent().build();
     }
 
+    // ====================================================================
+    // VIEW - summary | full
+    // ====================================================================
+    /**
+     * Aplica {@code ?view=} às listagens servidas do catálogo em memória:
+     * summary devolve {@link WeaponSummaryDTO}, sem os campos TEXT; full
+     * (padrão) devolve o {@link WeaponResponseDTO} completo. View inválido: 400.
+     */
+    private ResponseEntity<List<?>> render(String view, Supplier<List<WeaponResponseDTO>> weapons) {
+        ResponseView responseView = ResponseView.parse(view).orElse(null);
+        if (responseView == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<?> body = responseView == ResponseView.SUMMARY
+                ? weapons.get().stream().map(WeaponSummaryDTO::of).toList()
+                : weapons.get();
+        return ResponseEntity.ok(body);
+    }
+
     // ====================================================================
     // REQUEST/RESPONSE DTOs
     // ====================================================================
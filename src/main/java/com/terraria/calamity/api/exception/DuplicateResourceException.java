@@ -2,10 +2,23 @@ package com.terraria.calamity.api.exception;
 
 /**
  * Lancada quando um recurso unico (ex.: e-mail ou username ja cadastrado)
- * viola a restricao de unicidade. Mapeada para HTTP 409 no GlobalExceptionHandler.
+ * viola a restricao de unicidade. Mapeada para HTTP 409 no GlobalExceptionHandler;
+ * {@code field}, quando conhecido, vai no corpo da resposta.
  */
 public class DuplicateResourceException extends RuntimeException {
+
+    private final String field;
+
     public DuplicateResourceException(String message) {
+        this(message, null);
+    }
+
+    public DuplicateResourceException(String message, String field) {
         super(message);
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
     }
 }
@@ -0,0 +1,11 @@
+package com.terraria.calamity.api.exception;
+
+/**
+ * Lancada quando o corpo da requisicao passa do limite configurado (ex.: o
+ * import em massa do catalogo). Mapeada para HTTP 413.
+ */
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.terraria.calamity.api.exception;
+
+/**
+ * Lancada quando um recurso limitado (ex.: o executor de hash de senha) esta
+ * saturado e a requisicao e recusada na entrada. Mapeada para HTTP 503 com
+ * Retry-After.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
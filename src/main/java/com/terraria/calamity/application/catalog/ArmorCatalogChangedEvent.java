@@ -0,0 +1,25 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.entity.Armor;
+
+/**
+ * Publicado pelo {@code ArmorService} em toda escrita de armadura, para que
+ * índices em memória derivados das armaduras se atualizem após o commit.
+ *
+ * @param armorId id da armadura afetada
+ * @param name    nome persistido, ou {@code null} quando removida
+ */
+public record ArmorCatalogChangedEvent(Long armorId, String name) {
+
+    public static ArmorCatalogChangedEvent upserted(Armor armor) {
+        return new ArmorCatalogChangedEvent(armor.getId(), armor.getName());
+    }
+
+    public static ArmorCatalogChangedEvent deleted(Long armorId) {
+        return new ArmorCatalogChangedEvent(armorId, null);
+    }
+
+    public boolean isDeletion() {
+        return name == null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.terraria.calamity.application.catalog;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versão das armaduras, espelhando a linha {@code armors} de catalog_versions.
+ *
+ * As armaduras são lidas direto do banco, então esta é a referência para
+ * validadores HTTP e caches derivados. Escritas locais incrementam a versão
+ * no banco dentro da própria transação ({@link CatalogVersions#changed}) e a
+ * cópia local avança depois do commit; escritas de outras instâncias chegam
+ * pela checagem periódica ({@link CatalogVersions#readIfDue}). Em nenhum dos
+ * casos a versão avança antes do commit, então quem lê a versão antes dos
+ * dados nunca associa dados antigos a uma versão nova (no máximo dados novos
+ * a uma versão antiga, o que só causa um download a mais).
+ */
+@Component
+public class ArmorCatalogVersion {
+
+    private final CatalogVersions catalogVersions;
+    private final AtomicReference<CatalogVersions.Version> seen = new AtomicReference<>();
+
+    public ArmorCatalogVersion(CatalogVersions catalogVersions) {
+        this.catalogVersions = catalogVersions;
+    }
+
+    public long current() {
+        return version().value();
+    }
+
+    /** Instante (relógio do banco) da última escrita em armaduras. */
+    public Instant changedAt() {
+        return version().changedAt();
+    }
+
+    @EventListener
+    public void onArmorChanged(ArmorCatalogChangedEvent event) {
+        catalogVersions.changed(CatalogVersions.Catalog.ARMORS, event, this::onCommitted);
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (event.kind() == CatalogImportedEvent.Kind.ARMORS) {
+            catalogVersions.changed(CatalogVersions.Catalog.ARMORS, event, this::onCommitted);
+        }
+    }
+
+    private CatalogVersions.Version version() {
+        CatalogVersions.Version version = seen.get();
+        if (version == null) {
+            advanceTo(catalogVersions.read(CatalogVersions.Catalog.ARMORS));
+        } else {
+            catalogVersions.readIfDue(CatalogVersions.Catalog.ARMORS).ifPresent(this::advanceTo);
+        }
+        return seen.get();
+    }
+
+    private void onCommitted(CatalogVersions.Version version, List<Object> changes) {
+        advanceTo(version);
+    }
+
+    // Só avança: um commit local e uma checagem concorrente podem chegar fora de ordem
+    private void advanceTo(CatalogVersions.Version version) {
+        seen.accumulateAndGet(version, (a, b) -> a == null || b.value() > a.value() ? b : a);
+    }
+}
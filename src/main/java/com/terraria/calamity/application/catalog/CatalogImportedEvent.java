@@ -0,0 +1,16 @@
+package com.terraria.calamity.application.catalog;
+
+/**
+ * Publicado pelo import em massa do catálogo. Um import pode mexer em
+ * milhares de linhas de uma vez, então em vez de um evento por registro os
+ * índices em memória remontam a partir do banco depois do commit.
+ *
+ * @param kind o que foi importado
+ */
+public record CatalogImportedEvent(Kind kind) {
+
+    public enum Kind {
+        WEAPONS,
+        ARMORS
+    }
+}
@@ -0,0 +1,173 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.CatalogSuggestionDTO;
+import com.terraria.calamity.domain.repository.ArmorRepository;
+import com.terraria.calamity.domain.repository.NameView;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de autocomplete de {@code /api/v1/catalog/suggest}: nomes de armas
+ * e armaduras numa {@link RadixTrie}, sem tocar no banco por tecla digitada.
+ *
+ * Cada nome entra com uma chave por início de palavra ("Terra Blade" responde
+ * a "ter" e a "bla"). A árvore é montada no startup a partir só de id e nome,
+ * e depois do commit de cada escrita o item alterado é removido/reinserido,
+ * sem remontar o resto (imports em massa remontam tudo). Leituras concorrentes compartilham o read lock; só a
+ * troca da árvore e os deltas pegam o write lock.
+ */
+@Component
+public class CatalogSuggestIndex {
+
+    public static final String WEAPON = "WEAPON";
+    public static final String ARMOR = "ARMOR";
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSuggestIndex.class);
+
+    private final WeaponRepository weaponRepository;
+    private final ArmorRepository armorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RadixTrie<CatalogSuggestionDTO> trie;
+    // "WEAPON:42" -> sugestão indexada, para achar as chaves antigas numa atualização
+    private final Map<String, CatalogSuggestionDTO> indexed = new HashMap<>();
+
+    public CatalogSuggestIndex(WeaponRepository weaponRepository, ArmorRepository armorRepository) {
+        this.weaponRepository = weaponRepository;
+        this.armorRepository = armorRepository;
+    }
+
+    public List<CatalogSuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (trie != null) {
+                return trie.collect(prefix, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        rebuild();
+        return suggest(query, limit);
+    }
+
+    /**
+     * Remonta a árvore inteira a partir do banco. Sincronizado com
+     * {@link #apply} para que um evento que chegue durante a leitura seja
+     * aplicado sobre a árvore nova, e não perdido.
+     */
+    public synchronized void rebuild() {
+        List<CatalogSuggestionDTO> suggestions = new ArrayList<>();
+        for (NameView weapon : weaponRepository.findAllNamesBy()) {
+            suggestions.add(new CatalogSuggestionDTO(WEAPON, weapon.getId(), weapon.getName()));
+        }
+        for (NameView armor : armorRepository.findAllNamesBy()) {
+            suggestions.add(new CatalogSuggestionDTO(ARMOR, armor.getId(), armor.getName()));
+        }
+
+        RadixTrie<CatalogSuggestionDTO> fresh = new RadixTrie<>();
+        Map<String, CatalogSuggestionDTO> freshIndexed = new HashMap<>();
+        for (CatalogSuggestionDTO suggestion : suggestions) {
+            keysOf(suggestion.name()).forEach(key -> fresh.put(key, suggestion));
+            freshIndexed.put(identity(suggestion.type(), suggestion.id()), suggestion);
+        }
+
+        lock.writeLock().lock();
+        try {
+            trie = fresh;
+            indexed.clear();
+            indexed.putAll(freshIndexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Catalog suggest index built with {} names ({} keys)", freshIndexed.size(), fresh.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // A primeira sugestão tenta de novo; não derruba o boot.
+            log.warn("Could not warm up catalog suggest index: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeaponChanged(WeaponCatalogChangedEvent event) {
+        apply(WEAPON, event.weaponId(), event.isDeletion() ? null : event.weapon().getName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArmorChanged(ArmorCatalogChangedEvent event) {
+        apply(ARMOR, event.armorId(), event.name());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        rebuild();
+    }
+
+    private synchronized void apply(String type, Long id, String name) {
+        lock.writeLock().lock();
+        try {
+            if (trie == null) {
+                // Ainda não montado: a montagem inicial já vai ler o estado commitado.
+                return;
+            }
+            String identity = identity(type, id);
+            CatalogSuggestionDTO previous = indexed.remove(identity);
+            if (previous != null) {
+                keysOf(previous.name()).forEach(key -> trie.remove(key, previous));
+            }
+            if (name != null) {
+                CatalogSuggestionDTO current = new CatalogSuggestionDTO(type, id, name);
+                keysOf(name).forEach(key -> trie.put(key, current));
+                indexed.put(identity, current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String identity(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    /** Nome normalizado e cada sufixo que começa numa palavra. */
+    static List<String> keysOf(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").strip();
+    }
+}
@@ -0,0 +1,178 @@
+package com.terraria.calamity.application.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Versões dos catálogos compartilhadas entre instâncias, na tabela
+ * catalog_versions (V19).
+ *
+ * - Escritas: {@link #changed} trava a linha do catálogo na primeira
+ *   mudança da transação ({@link #lock}), junta as mudanças e incrementa a
+ *   versão uma única vez, logo antes do commit. Depois do commit o dono do
+ *   catálogo recebe a nova versão junto com as mudanças, para aplicar o
+ *   delta em memória. O lock serializa as escritas de um mesmo catálogo em
+ *   todas as instâncias, o que o upsert por nome do import precisa.
+ * - Leituras: {@link #readIfDue} relê a versão no máximo uma vez por
+ *   {@code catalog.version-check-interval}, feito por uma única thread de
+ *   requisição quando o intervalo vence; se ela andou, outra instância
+ *   escreveu e o cache em memória precisa ser remontado.
+ *
+ * Como a versão vem do banco, instâncias com o mesmo conteúdo respondem a
+ * mesma versão (e a mesma ETag), inclusive depois de restarts.
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Catalog {
+        WEAPONS("weapons"),
+        ARMORS("armors");
+
+        private final String key;
+
+        Catalog(String key) {
+            this.key = key;
+        }
+    }
+
+    /** Versão de um catálogo e o instante (relógio do banco) da última escrita. */
+    public record Version(long value, Instant changedAt) {}
+
+    private static final Version INITIAL = new Version(0, Instant.EPOCH);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long checkIntervalNanos;
+    private final Map<Catalog, Poll> polls = new EnumMap<>(Catalog.class);
+
+    public CatalogVersions(
+            JdbcTemplate jdbcTemplate,
+            @Value("${catalog.version-check-interval:2s}") Duration checkInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        for (Catalog catalog : Catalog.values()) {
+            polls.put(catalog, new Poll());
+        }
+    }
+
+    public Version read(Catalog catalog) {
+        List<Version> rows = jdbcTemplate.query("SELECT version, changed_at FROM catalog_versions WHERE name = ?",
+                (rs, rowNum) -> new Version(rs.getLong(1), rs.getTimestamp(2).toInstant()), catalog.key);
+        return rows.isEmpty() ? INITIAL : rows.getFirst();
+    }
+
+    /**
+     * Versão atual do banco se o intervalo de checagem venceu; vazio se ainda
+     * não venceu ou se outra thread já está checando.
+     */
+    public Optional<Version> readIfDue(Catalog catalog) {
+        Poll poll = polls.get(catalog);
+        if (System.nanoTime() - poll.nextCheckAt < 0 || !poll.checking.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(read(catalog));
+        } finally {
+            poll.nextCheckAt = System.nanoTime() + checkIntervalNanos;
+            poll.checking.set(false);
+        }
+    }
+
+    /**
+     * Registra uma mudança no catálogo feita pela transação corrente. O
+     * {@code onCommit} roda uma vez por transação, depois do commit, com a
+     * versão gravada e todas as mudanças na ordem em que foram registradas.
+     * Fora de transação a versão é incrementada e o callback chamado na hora.
+     * Cada catálogo deve ter um único dono chamando este método.
+     */
+    public <T> void changed(Catalog catalog, T change, BiConsumer<Version, List<T>> onCommit) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            onCommit.accept(bump(catalog), List.of(change));
+            return;
+        }
+        PendingKey key = new PendingKey(catalog);
+        @SuppressWarnings("unchecked")
+        Pending<T> pending = (Pending<T>) TransactionSynchronizationManager.getResource(key);
+        if (pending == null) {
+            lock(catalog);
+            Pending<T> registered = new Pending<>();
+            TransactionSynchronizationManager.bindResource(key, registered);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    registered.version = bump(catalog);
+                }
+
+                @Override
+                public void afterCommit() {
+                    onCommit.accept(registered.version, registered.changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+            pending = registered;
+        }
+        pending.changes.add(change);
+    }
+
+    /**
+     * Trava a linha do catálogo até o fim da transação corrente: outra
+     * transação que escreva no mesmo catálogo (nesta ou em outra instância)
+     * espera o commit ou rollback desta.
+     */
+    public void lock(Catalog catalog) {
+        String sql = "SELECT version FROM catalog_versions WHERE name = ? FOR UPDATE";
+        if (jdbcTemplate.queryForList(sql, Long.class, catalog.key).isEmpty()) {
+            // Só acontece sem a linha semeada pela V19 (schema criado pelo Hibernate no H2)
+            try {
+                jdbcTemplate.update("INSERT INTO catalog_versions (name, version, changed_at) "
+                        + "VALUES (?, 0, CURRENT_TIMESTAMP)", catalog.key);
+            } catch (DuplicateKeyException raced) {
+                jdbcTemplate.queryForList(sql, Long.class, catalog.key);
+            }
+        }
+    }
+
+    private Version bump(Catalog catalog) {
+        String sql = "UPDATE catalog_versions SET version = version + 1, changed_at = CURRENT_TIMESTAMP WHERE name = ?";
+        if (jdbcTemplate.update(sql, catalog.key) == 0) {
+            // Só acontece sem a linha semeada pela V19 (schema criado pelo Hibernate no H2)
+            try {
+                jdbcTemplate.update("INSERT INTO catalog_versions (name, version, changed_at) "
+                        + "VALUES (?, 1, CURRENT_TIMESTAMP)", catalog.key);
+            } catch (DuplicateKeyException raced) {
+                jdbcTemplate.update(sql, catalog.key);
+            }
+        }
+        // A linha está travada por esta transação: a leitura vê o valor recém-gravado
+        return read(catalog);
+    }
+
+    private record PendingKey(Catalog catalog) {}
+
+    private static final class Pending<T> {
+        private final List<T> changes = new ArrayList<>();
+        private Version version;
+    }
+
+    private static final class Poll {
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private volatile long nextCheckAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,234 @@
+package com.terraria.calamity.application.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Árvore radix (trie compactada): cada aresta guarda um trecho de chave, e
+ * nós com um só filho e sem valores são fundidos, então o número de nós fica
+ * proporcional ao número de chaves e não ao total de caracteres.
+ *
+ * Não é thread-safe; quem compartilha a árvore sincroniza por fora.
+ */
+final class RadixTrie<V> {
+
+    private static final Comparator<Frontier<?>> SHORTEST_KEY_FIRST = Comparator
+            .<Frontier<?>>comparingInt(Frontier::keyLength)
+            .thenComparingLong(Frontier::order);
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    /** Número de pares chave/valor. */
+    int size() {
+        return size;
+    }
+
+    void put(String key, V value) {
+        Node<V> node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node<V> child = node.child(key.charAt(offset));
+            if (child == null) {
+                Node<V> leaf = new Node<>(key.substring(offset));
+                node.addChild(leaf);
+                node = leaf;
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, offset);
+            if (common < child.label.length()) {
+                // Divide a aresta: "blade" + chave "blast" vira "bla" -> {"de", "st"}
+                Node<V> split = new Node<>(child.label.substring(0, common));
+                node.replaceChild(split);
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                child = split;
+            }
+            node = child;
+            offset += common;
+        }
+        if (node.addValue(value)) {
+            size++;
+        }
+    }
+
+    boolean remove(String key, V value) {
+        List<Node<V>> path = new ArrayList<>();
+        Node<V> node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            Node<V> child = node.child(key.charAt(offset));
+            if (child == null || !key.startsWith(child.label, offset)) {
+                return false;
+            }
+            path.add(node);
+            node = child;
+            offset += child.label.length();
+        }
+        if (!node.removeValue(value)) {
+            return false;
+        }
+        size--;
+
+        // Poda o nó vazio e funde com o filho único para manter a árvore compacta
+        if (node != root && !node.hasValues()) {
+            Node<V> parent = path.get(path.size() - 1);
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+                if (parent != root && !parent.hasValues() && parent.children.length == 1) {
+                    Node<V> grandParent = path.get(path.size() - 2);
+                    grandParent.replaceChild(parent.mergeWithOnlyChild());
+                }
+            } else if (node.children.length == 1) {
+                parent.replaceChild(node.mergeWithOnlyChild());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Até {@code limit} valores distintos cujas chaves começam com
+     * {@code prefix}, das chaves mais curtas para as mais longas.
+     */
+    List<V> collect(String prefix, int limit) {
+        Node<V> node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node<V> child = node.child(prefix.charAt(offset));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefixLength(child.label, prefix, offset);
+            if (common < child.label.length() && offset + common < prefix.length()) {
+                return List.of();
+            }
+            node = child;
+            offset += child.label.length();
+        }
+
+        Set<V> result = new LinkedHashSet<>();
+        PriorityQueue<Frontier<V>> frontier = new PriorityQueue<>(SHORTEST_KEY_FIRST);
+        long order = 0;
+        frontier.add(new Frontier<>(node, offset, order++));
+        while (!frontier.isEmpty() && result.size() < limit) {
+            Frontier<V> next = frontier.poll();
+            for (V value : next.node().values) {
+                result.add(value);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            for (Node<V> child : next.node().children) {
+                frontier.add(new Frontier<>(child, next.keyLength() + child.label.length(), order++));
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Frontier<V>(Node<V> node, int keyLength, long order) {}
+
+    private static final class Node<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        // Filhos ordenados pelo primeiro caractere do rótulo (únicos por construção)
+        private Node<V>[] children;
+        private List<V> values = List.of();
+
+        @SuppressWarnings("unchecked")
+        private Node(String label) {
+            this.label = label;
+            this.children = NO_CHILDREN;
+        }
+
+        private Node<V> child(char first) {
+            int position = search(first);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private void addChild(Node<V> child) {
+            int insertion = -search(child.label.charAt(0)) - 1;
+            Node<V>[] grown = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(grown, insertion, grown, insertion + 1, children.length - insertion);
+            grown[insertion] = child;
+            children = grown;
+        }
+
+        /** Substitui o filho que começa com o mesmo caractere. */
+        private void replaceChild(Node<V> child) {
+            children[search(child.label.charAt(0))] = child;
+        }
+
+        private void removeChild(Node<V> child) {
+            int position = search(child.label.charAt(0));
+            Node<V>[] shrunk = Arrays.copyOf(children, children.length - 1);
+            System.arraycopy(children, position + 1, shrunk, position, children.length - position - 1);
+            children = shrunk;
+        }
+
+        /** Funde este nó (sem valores) com seu único filho; devolve o nó resultante. */
+        private Node<V> mergeWithOnlyChild() {
+            Node<V> only = children[0];
+            only.label = label + only.label;
+            return only;
+        }
+
+        private boolean addValue(V value) {
+            if (values.contains(value)) {
+                return false;
+            }
+            List<V> grown = new ArrayList<>(values.size() + 1);
+            grown.addAll(values);
+            grown.add(value);
+            values = grown;
+            return true;
+        }
+
+        private boolean removeValue(V value) {
+            if (!values.contains(value)) {
+                return false;
+            }
+            List<V> shrunk = new ArrayList<>(values);
+            shrunk.remove(value);
+            values = shrunk.isEmpty() ? List.of() : shrunk;
+            return true;
+        }
+
+        private boolean hasValues() {
+            return !values.isEmpty();
+        }
+
+        private int search(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char candidate = children[middle].label.charAt(0);
+                if (candidate < first) {
+                    low = middle + 1;
+                } else if (candidate > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.terraria.calamity.application.catalog;
+
+/**
+ * Corpo JSON já serializado de uma resposta do catálogo, em UTF-8 e gzip.
+ *
+ * @param version versão do catálogo de onde o corpo saiu
+ */
+public record SerializedResponse(long version, byte[] json, byte[] gzip) {}
@@ -0,0 +1,94 @@
+package com.terraria.calamity.application.catalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache dos corpos JSON das listagens mais acessadas, por versão do catálogo.
+ *
+ * Serializa com o mesmo {@link JsonMapper} do Spring MVC (então o JSON é
+ * idêntico ao da serialização normal) e já guarda a versão gzip. Enquanto a
+ * versão não muda, a resposta é só a cópia dos bytes; uma versão nova
+ * substitui a entrada na próxima leitura.
+ *
+ * Quem chama deve ler a versão antes dos dados: assim uma entrada nunca
+ * associa dados antigos a uma versão nova.
+ */
+@Component
+public class SerializedResponseCache {
+
+    private final JsonMapper jsonMapper;
+    private final Map<String, SerializedResponse> entries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public SerializedResponseCache(JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.hits = Counter.builder("catalog.responses.serialized")
+                .description("Catalog list responses served from pre-serialized bytes")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("catalog.responses.serialized")
+                .description("Catalog list responses served from pre-serialized bytes")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bytes de {@code key} na {@code version} informada; serializa {@code body}
+     * só se ainda não houver entrada para essa versão.
+     */
+    public SerializedResponse get(String key, long version, Supplier<?> body) {
+        SerializedResponse cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        byte[] json = jsonMapper.writeValueAsBytes(body.get());
+        SerializedResponse fresh = new SerializedResponse(version, json, gzip(json));
+        // Se outra thread já gravou uma versão mais nova, ela fica
+        entries.merge(key, fresh, (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        return fresh;
+    }
+
+    /** Se o Accept-Encoding aceita gzip (ignora "gzip;q=0"). */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip();
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = parts.length > 1 && parts[1].strip().matches("q=0(\\.0+)?");
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
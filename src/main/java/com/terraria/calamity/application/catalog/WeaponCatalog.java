@@ -0,0 +1,206 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.application.mapper.WeaponMapper;
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo de armas em memória: serve todas as leituras de
+ * {@code /api/v1/weapons} a partir de um {@link WeaponCatalogSnapshot}
+ * imutável, sem ida ao banco.
+ *
+ * - O snapshot é montado no startup (e, por segurança, sob demanda na
+ *   primeira leitura caso o warm-up ainda não tenha rodado).
+ * - Escritas publicam {@link WeaponCatalogChangedEvent}; a transação
+ *   incrementa a versão das armas em catalog_versions ({@link CatalogVersions})
+ *   e, depois do commit, o catálogo aplica os deltas e troca o snapshot
+ *   atomicamente. Leitores nunca bloqueiam: só as trocas são serializadas.
+ *   Imports em massa ({@link CatalogImportedEvent}) remontam o snapshot inteiro.
+ * - Escritas de outras instâncias: a cada
+ *   {@code catalog.version-check-interval} uma leitura compara a versão do
+ *   snapshot com a do banco e remonta se ela andou. Se o delta local não
+ *   segue a versão do snapshot (outra instância escreveu no meio), também
+ *   remonta em vez de aplicar.
+ * - Métricas: {@code catalog.weapons.snapshot.age} (segundos desde a última
+ *   troca), {@code catalog.weapons.snapshot.rebuild} (tempo de montagem,
+ *   tag {@code kind=full|delta}), tamanho e versão atuais.
+ */
+@Component
+public class WeaponCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(WeaponCatalog.class);
+
+    private final WeaponRepository weaponRepository;
+    private final WeaponMapper weaponMapper;
+    private final CatalogVersions catalogVersions;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicReference<WeaponCatalogSnapshot> current = new AtomicReference<>();
+
+    private final Timer fullRebuildTimer;
+    private final Timer deltaRebuildTimer;
+
+    public WeaponCatalog(
+            WeaponRepository weaponRepository,
+            WeaponMapper weaponMapper,
+            CatalogVersions catalogVersions,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.weaponRepository = weaponRepository;
+        this.weaponMapper = weaponMapper;
+        this.catalogVersions = catalogVersions;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.fullRebuildTimer = Timer.builder("catalog.weapons.snapshot.rebuild")
+                .description("Time spent building the in-memory weapon catalog snapshot")
+                .tag("kind", "full")
+                .register(meterRegistry);
+        this.deltaRebuildTimer = Timer.builder("catalog.weapons.snapshot.rebuild")
+                .description("Time spent building the in-memory weapon catalog snapshot")
+                .tag("kind", "delta")
+                .register(meterRegistry);
+        Gauge.builder("catalog.weapons.snapshot.age", this, WeaponCatalog::snapshotAgeSeconds)
+                .description("Seconds since the current weapon catalog snapshot was built")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("catalog.weapons.snapshot.size", this, c -> c.currentOrEmpty().size())
+                .description("Number of weapons in the current catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.weapons.snapshot.version", this, c -> c.currentOrEmpty().version())
+                .description("Version of the current weapon catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Snapshot corrente; monta do banco se ainda não existir, ou remonta se a
+     * checagem periódica encontrar uma versão mais nova no banco.
+     */
+    public WeaponCatalogSnapshot snapshot() {
+        WeaponCatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return isBehindDatabase(snapshot) ? refresh(snapshot) : snapshot;
+        }
+        synchronized (this) {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /** Descarta o snapshot atual e remonta a partir do banco. */
+    public synchronized WeaponCatalogSnapshot rebuild() {
+        // A versão é lida antes das armas: no pior caso o snapshot leva uma
+        // escrita a mais que a versão, e a próxima checagem remonta de novo.
+        WeaponCatalogSnapshot snapshot = fullRebuildTimer.record(() -> readOnlyTransaction.execute(status -> {
+            CatalogVersions.Version version = catalogVersions.read(CatalogVersions.Catalog.WEAPONS);
+            List<WeaponResponseDTO> weapons =
+                    weaponRepository.findAll().stream().map(weaponMapper::toResponseDTO).toList();
+            return WeaponCatalogSnapshot.of(version.value(), version.changedAt(), weapons);
+        }));
+        current.set(snapshot);
+        log.debug("Weapon catalog snapshot v{} built with {} weapons", snapshot.version(), snapshot.size());
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // Sem snapshot a primeira leitura tenta de novo; não derruba o boot.
+            log.warn("Could not warm up weapon catalog snapshot: {}", ex.getMessage());
+        }
+    }
+
+    /** Roda dentro da transação que escreveu: a versão sobe no commit e os deltas entram depois dele. */
+    @EventListener
+    public void onWeaponChanged(WeaponCatalogChangedEvent event) {
+        catalogVersions.changed(CatalogVersions.Catalog.WEAPONS, event, this::onCommitted);
+    }
+
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (event.kind() == CatalogImportedEvent.Kind.WEAPONS) {
+            catalogVersions.changed(CatalogVersions.Catalog.WEAPONS, event, this::onCommitted);
+        }
+    }
+
+    private synchronized void onCommitted(CatalogVersions.Version version, List<Object> changes) {
+        WeaponCatalogSnapshot snapshot = current.get();
+        if (snapshot == null || version.value() <= snapshot.version()) {
+            // Ainda não montado, ou já remontado com esta escrita: nada a aplicar.
+            return;
+        }
+        boolean deltasOnly = changes.stream().allMatch(WeaponCatalogChangedEvent.class::isInstance);
+        if (!deltasOnly || version.value() != snapshot.version() + 1) {
+            rebuild();
+            return;
+        }
+        WeaponCatalogSnapshot next = deltaRebuildTimer.record(() ->
+                snapshot.withChanges(version.value(), version.changedAt(), weapons -> {
+                    for (Object change : changes) {
+                        WeaponCatalogChangedEvent event = (WeaponCatalogChangedEvent) change;
+                        if (event.isDeletion()) {
+                            weapons.remove(event.weaponId());
+                        } else {
+                            weapons.put(event.weaponId(), weaponMapper.toResponseDTO(event.weapon()));
+                        }
+                    }
+                }));
+        current.set(next);
+    }
+
+    private boolean isBehindDatabase(WeaponCatalogSnapshot snapshot) {
+        try {
+            Optional<CatalogVersions.Version> latest = catalogVersions.readIfDue(CatalogVersions.Catalog.WEAPONS);
+            return latest.isPresent() && latest.get().value() != snapshot.version();
+        } catch (RuntimeException ex) {
+            // Sem banco o snapshot atual continua servindo; a próxima checagem tenta de novo.
+            log.warn("Could not check weapon catalog version: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized WeaponCatalogSnapshot refresh(WeaponCatalogSnapshot stale) {
+        WeaponCatalogSnapshot snapshot = current.get();
+        if (snapshot != stale) {
+            // Outra thread já trocou o snapshot enquanto esta esperava.
+            return snapshot;
+        }
+        try {
+            return rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("Could not rebuild weapon catalog snapshot: {}", ex.getMessage());
+            return stale;
+        }
+    }
+
+    private WeaponCatalogSnapshot currentOrEmpty() {
+        WeaponCatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : WeaponCatalogSnapshot.of(0, List.of());
+    }
+
+    private double snapshotAgeSeconds() {
+        WeaponCatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        return Duration.between(snapshot.builtAt(), Instant.now()).toMillis() / 1000.0;
+    }
+}
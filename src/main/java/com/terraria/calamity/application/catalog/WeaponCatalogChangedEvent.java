@@ -0,0 +1,26 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.entity.Weapon;
+
+/**
+ * Publicado pelos caminhos de escrita de armas (CRUD admin e aprovação de
+ * submissões). O {@link WeaponCatalog} aplica a mudança no snapshot em
+ * memória depois do commit da transação que a originou.
+ *
+ * @param weaponId id da arma afetada
+ * @param weapon   estado persistido da arma, ou {@code null} quando removida
+ */
+public record WeaponCatalogChangedEvent(Long weaponId, Weapon weapon) {
+
+    public static WeaponCatalogChangedEvent upserted(Weapon weapon) {
+        return new WeaponCatalogChangedEvent(weapon.getId(), weapon);
+    }
+
+    public static WeaponCatalogChangedEvent deleted(Long weaponId) {
+        return new WeaponCatalogChangedEvent(weaponId, null);
+    }
+
+    public boolean isDeletion() {
+        return weapon == null;
+    }
+}
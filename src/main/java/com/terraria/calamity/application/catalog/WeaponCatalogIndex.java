@@ -0,0 +1,175 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.WeaponKeyset;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Índices secundários do {@link WeaponCatalogSnapshot}: posting lists em
+ * {@link BitSet} por classe, por elemento e por raridade.
+ *
+ * O bit {@code i} de cada posting list corresponde à posição {@code i} da
+ * lista de armas do snapshot (ordenada por id), então consultas com vários
+ * atributos viram interseções de bitsets e o resultado já sai ordenado.
+ * A raridade usa um array indexado de -1 a 17, o mesmo intervalo do CHECK
+ * da tabela weapons (V1).
+ */
+public final class WeaponCatalogIndex {
+
+    public static final int MIN_RARITY = -1;
+    public static final int MAX_RARITY = 17;
+
+    private final List<WeaponResponseDTO> weapons;
+    private final Map<Weapon.WeaponClass, BitSet> byClass = new EnumMap<>(Weapon.WeaponClass.class);
+    private final Map<Element, BitSet> byElement = new EnumMap<>(Element.class);
+    private final BitSet[] byRarity = new BitSet[MAX_RARITY - MIN_RARITY + 1];
+    private final BitSet all;
+
+    WeaponCatalogIndex(List<WeaponResponseDTO> weapons) {
+        this.weapons = weapons;
+        this.all = new BitSet(weapons.size());
+        for (Weapon.WeaponClass weaponClass : Weapon.WeaponClass.values()) {
+            byClass.put(weaponClass, new BitSet());
+        }
+        for (Element element : Element.values()) {
+            byElement.put(element, new BitSet());
+        }
+        for (int i = 0; i < byRarity.length; i++) {
+            byRarity[i] = new BitSet();
+        }
+
+        for (int position = 0; position < weapons.size(); position++) {
+            WeaponResponseDTO weapon = weapons.get(position);
+            all.set(position);
+            if (weapon.weaponClass() != null) {
+                byClass.get(weapon.weaponClass()).set(position);
+            }
+            if (weapon.element() != null) {
+                byElement.get(weapon.element()).set(position);
+            }
+            if (weapon.rarity() != null && weapon.rarity() >= MIN_RARITY && weapon.rarity() <= MAX_RARITY) {
+                byRarity[weapon.rarity() - MIN_RARITY].set(position);
+            }
+        }
+    }
+
+    /** Começa uma seleção com todas as armas; cada filtro restringe por interseção. */
+    public Selection select() {
+        return new Selection((BitSet) all.clone());
+    }
+
+    public List<WeaponResponseDTO> byClass(Weapon.WeaponClass weaponClass) {
+        return resolve(byClass.get(weaponClass));
+    }
+
+    public List<WeaponResponseDTO> byElement(Element element) {
+        return resolve(byElement.get(element));
+    }
+
+    public List<WeaponResponseDTO> byRarity(int rarity) {
+        if (rarity < MIN_RARITY || rarity > MAX_RARITY) {
+            return List.of();
+        }
+        return resolve(byRarity[rarity - MIN_RARITY]);
+    }
+
+    private List<WeaponResponseDTO> resolve(BitSet bits) {
+        List<WeaponResponseDTO> result = new ArrayList<>(bits.cardinality());
+        for (int position = bits.nextSetBit(0); position >= 0; position = bits.nextSetBit(position + 1)) {
+            result.add(weapons.get(position));
+        }
+        return result;
+    }
+
+    /** Seleção mutável (por consulta) sobre as posting lists imutáveis do índice. */
+    public final class Selection {
+
+        private final BitSet bits;
+
+        private Selection(BitSet bits) {
+            this.bits = bits;
+        }
+
+        public Selection weaponClass(Weapon.WeaponClass weaponClass) {
+            if (weaponClass != null) {
+                bits.and(byClass.get(weaponClass));
+            }
+            return this;
+        }
+
+        public Selection element(Element element) {
+            if (element != null) {
+                bits.and(byElement.get(element));
+            }
+            return this;
+        }
+
+        /** Restringe a qualquer um dos elementos informados (união das posting lists). */
+        public Selection elements(Collection<Element> elements) {
+            if (elements != null) {
+                BitSet union = new BitSet();
+                elements.forEach(element -> union.or(byElement.get(element)));
+                bits.and(union);
+            }
+            return this;
+        }
+
+        /** Restringe ao intervalo fechado de raridade; limites nulos ficam abertos. */
+        public Selection rarityBetween(Integer minRarity, Integer maxRarity) {
+            if (minRarity == null && maxRarity == null) {
+                return this;
+            }
+            int from = Math.max(minRarity != null ? minRarity : MIN_RARITY, MIN_RARITY);
+            int to = Math.min(maxRarity != null ? maxRarity : MAX_RARITY, MAX_RARITY);
+            BitSet union = new BitSet();
+            for (int rarity = from; rarity <= to; rarity++) {
+                union.or(byRarity[rarity - MIN_RARITY]);
+            }
+            bits.and(union);
+            return this;
+        }
+
+        public int count() {
+            return bits.cardinality();
+        }
+
+        public List<WeaponResponseDTO> toList() {
+            return resolve(bits);
+        }
+
+        /**
+         * Até {@code limit} armas da seleção na ordem {@code (rarity, id)} da
+         * consulta paginada, começando logo após {@code after} (ou do início,
+         * se nulo). Percorre as posting lists de raridade em ordem crescente;
+         * dentro de cada uma as posições já estão em ordem de id. O
+         * {@code filter} cobre atributos sem índice.
+         */
+        public List<WeaponResponseDTO> page(WeaponKeyset after, int limit, Predicate<WeaponResponseDTO> filter) {
+            List<WeaponResponseDTO> result = new ArrayList<>(Math.min(limit, bits.cardinality()));
+            int from = after != null ? Math.max(after.rarity(), MIN_RARITY) : MIN_RARITY;
+            for (int rarity = from; rarity <= MAX_RARITY && result.size() < limit; rarity++) {
+                BitSet bucket = (BitSet) byRarity[rarity - MIN_RARITY].clone();
+                bucket.and(bits);
+                boolean afterRow = after != null && rarity == after.rarity();
+                for (int position = bucket.nextSetBit(0);
+                     position >= 0 && result.size() < limit;
+                     position = bucket.nextSetBit(position + 1)) {
+                    WeaponResponseDTO weapon = weapons.get(position);
+                    if ((!afterRow || weapon.id() > after.id()) && filter.test(weapon)) {
+                        result.add(weapon);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
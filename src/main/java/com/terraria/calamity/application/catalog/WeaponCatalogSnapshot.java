@@ -0,0 +1,99 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fotografia imutável e versionada do catálogo de armas.
+ *
+ * Guarda os {@link WeaponResponseDTO} (records imutáveis) ordenados por id,
+ * junto com o {@link WeaponCatalogIndex} dessa lista, então pode ser
+ * compartilhada entre threads sem cópia. Toda mudança gera um novo snapshot
+ * com versão maior; o anterior continua válido para quem ainda o estiver lendo.
+ * A versão e o {@code changedAt} são os de catalog_versions
+ * ({@link CatalogVersions}), iguais em todas as instâncias.
+ */
+public final class WeaponCatalogSnapshot {
+
+    private static final Comparator<WeaponResponseDTO> BY_ID = Comparator.comparing(WeaponResponseDTO::id);
+
+    private final long version;
+    private final Instant builtAt;
+    private final Instant changedAt;
+    private final List<WeaponResponseDTO> weapons;
+    private final Map<Long, WeaponResponseDTO> byId;
+    private final WeaponCatalogIndex index;
+
+    private WeaponCatalogSnapshot(long version, Instant changedAt, List<WeaponResponseDTO> weapons) {
+        this.version = version;
+        this.builtAt = Instant.now();
+        this.changedAt = changedAt;
+        this.weapons = weapons;
+        Map<Long, WeaponResponseDTO> ids = new LinkedHashMap<>(weapons.size() * 2);
+        weapons.forEach(weapon -> ids.put(weapon.id(), weapon));
+        this.byId = ids;
+        this.index = new WeaponCatalogIndex(weapons);
+    }
+
+    public static WeaponCatalogSnapshot of(long version, Collection<WeaponResponseDTO> weapons) {
+        return of(version, Instant.now(), weapons);
+    }
+
+    public static WeaponCatalogSnapshot of(long version, Instant changedAt, Collection<WeaponResponseDTO> weapons) {
+        return new WeaponCatalogSnapshot(version, changedAt, weapons.stream().sorted(BY_ID).toList());
+    }
+
+    /**
+     * Novo snapshot a partir de uma cópia das armas por id: {@code edit}
+     * insere, substitui (mesmo id) ou remove entradas.
+     */
+    public WeaponCatalogSnapshot withChanges(long newVersion, Instant newChangedAt,
+                                             Consumer<Map<Long, WeaponResponseDTO>> edit) {
+        Map<Long, WeaponResponseDTO> copy = new LinkedHashMap<>(byId);
+        edit.accept(copy);
+        return of(newVersion, newChangedAt, copy.values());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /** Quando este snapshot foi montado nesta instância. */
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    /** Última escrita no catálogo refletida neste snapshot. */
+    public Instant changedAt() {
+        return changedAt;
+    }
+
+    public int size() {
+        return weapons.size();
+    }
+
+    public List<WeaponResponseDTO> weapons() {
+        return weapons;
+    }
+
+    public WeaponCatalogIndex index() {
+        return index;
+    }
+
+    public Optional<WeaponResponseDTO> findById(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<WeaponResponseDTO> filter(Predicate<WeaponResponseDTO> predicate) {
+        return weapons.stream().filter(predicate).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.terraria.calamity.application.importer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Staging com INSERTs em batch de {@value #BATCH_SIZE} linhas, para bancos
+ * sem COPY (H2 no perfil de testes). A DDL é a do H2: a tabela temporária é
+ * local à conexão e {@code TRANSACTIONAL}, para não forçar commit.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.import.loader", havingValue = "batch")
+public class BatchInsertStagingLoader implements StagingLoader {
+
+    static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void createTable(Connection connection, String table, String columns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE LOCAL TEMPORARY TABLE " + table + " (" + columns + ") ON COMMIT DROP TRANSACTIONAL");
+        }
+    }
+
+    @Override
+    public Sink open(Connection connection, String table, List<String> columns) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(columns.size(), "?"));
+        PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES (" + placeholders + ")");
+        return new BatchSink(insert);
+    }
+
+    private static final class BatchSink implements Sink {
+
+        private final PreparedStatement insert;
+        private int pending;
+        private long loaded;
+
+        private BatchSink(PreparedStatement insert) {
+            this.insert = insert;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                insert.setObject(i + 1, values[i]);
+            }
+            insert.addBatch();
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public long finish() throws SQLException {
+            try (insert) {
+                flush();
+            }
+            return loaded;
+        }
+
+        @Override
+        public void abort() {
+            try {
+                insert.close();
+            } catch (SQLException ignored) {
+                // A transação já vai ser desfeita; a falha original é a que importa.
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                insert.executeBatch();
+                loaded += pending;
+                pending = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.terraria.calamity.application.importer;
+
+import org.springframework.http.MediaType;
+
+import java.util.Optional;
+
+/** Formatos aceitos pelo import em massa do catálogo. */
+public enum CatalogImportFormat {
+
+    /** Um objeto JSON por linha; linhas em branco são ignoradas. */
+    NDJSON,
+
+    /** RFC 4180 com cabeçalho (nomes dos campos em camelCase); células vazias contam como ausentes. */
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static Optional<CatalogImportFormat> fromContentType(MediaType contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return Optional.of(NDJSON);
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            return Optional.of(CSV);
+        }
+        return Optional.empty();
+    }
+}
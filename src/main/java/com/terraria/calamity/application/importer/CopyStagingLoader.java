@@ -0,0 +1,121 @@
+package com.terraria.calamity.application.importer;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Staging via {@code COPY ... FROM STDIN (FORMAT csv)} do Postgres: as linhas
+ * são codificadas em CSV num buffer de 64 KB e enviadas pela CopyManager API
+ * conforme chegam, então a memória não cresce com o tamanho do arquivo e o
+ * banco recebe um único comando para toda a carga.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.import.loader", havingValue = "copy", matchIfMissing = true)
+public class CopyStagingLoader implements StagingLoader {
+
+    private static final int FLUSH_CHARS = 64 * 1024;
+
+    @Override
+    public void createTable(Connection connection, String table, String columns) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE " + table + " (" + columns + ") ON COMMIT DROP");
+        }
+    }
+
+    @Override
+    public Sink open(Connection connection, String table, List<String> columns) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        return new CopySink(copyIn);
+    }
+
+    @Override
+    public void afterLoad(Connection connection, String table) throws SQLException {
+        // Tabelas temporárias não passam pelo autovacuum: sem isso o planner
+        // estima poucas linhas e escolhe nested loops no upsert.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE " + table);
+        }
+    }
+
+    /**
+     * Campo no formato csv do COPY: nulo vira campo vazio sem aspas (o NULL
+     * padrão); texto vai sempre entre aspas, então string vazia não vira nulo.
+     */
+    static void appendField(StringBuilder out, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof CharSequence text) {
+            out.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    out.append('"');
+                }
+                out.append(c);
+            }
+            out.append('"');
+        } else {
+            out.append(value);
+        }
+    }
+
+    private static final class CopySink implements Sink {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 1024);
+
+        private CopySink(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendField(buffer, values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= FLUSH_CHARS) {
+                flush();
+            }
+        }
+
+        @Override
+        public long finish() throws SQLException {
+            flush();
+            return copyIn.endCopy();
+        }
+
+        @Override
+        public void abort() {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (SQLException ignored) {
+                // A transação já vai ser desfeita; a falha original é a que importa.
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.terraria.calamity.application.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) que devolve um registro por vez, sem carregar o
+ * arquivo: campos entre aspas podem conter vírgulas, quebras de linha e
+ * aspas dobradas ({@code ""}). Aceita LF e CRLF; linhas em branco são
+ * puladas. Um campo com aspas não fechadas vai até o fim do arquivo.
+ *
+ * Um registro guarda no máximo {@code maxRecordChars} caracteres: passou
+ * disso, o resto é consumido sem guardar até o fim do registro (ou do
+ * arquivo, se as aspas não fecham) e {@link #next()} devolve uma lista
+ * vazia com {@link #overlong()} verdadeiro.
+ */
+final class CsvRecordReader {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+    private long recordChars;
+    private long fieldChars;
+
+    CsvRecordReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /** Próximo registro, ou {@code null} no fim do arquivo. */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+        recordChars = 0;
+        fieldChars = 0;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    return end(fields, field);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, c);
+                }
+            } else if (c == '"' && fieldChars == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                if (++recordChars <= maxRecordChars) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldChars = 0;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c != EOF) {
+                    skipLineBreak(c);
+                }
+                return end(fields, field);
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+    }
+
+    /** Linha do arquivo (a partir de 1) em que começa o último registro lido. */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /** Se o último registro lido passou de {@code maxRecordChars}. */
+    boolean overlong() {
+        return recordChars > maxRecordChars;
+    }
+
+    // Conta o que fica guardado (caracteres e separadores); aspas de abertura e fechamento não.
+    // fieldChars segue contando depois do limite, para as aspas serem interpretadas como antes
+    private void append(StringBuilder field, int c) {
+        fieldChars++;
+        if (++recordChars <= maxRecordChars) {
+            field.append((char) c);
+        }
+    }
+
+    private List<String> end(List<String> fields, StringBuilder field) {
+        if (overlong()) {
+            return List.of();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /** Consome a quebra de linha iniciada em {@code c} (CR, LF ou CRLF). */
+    private void skipLineBreak(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int following = read();
+            if (following != '\n') {
+                pushedBack = following;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,178 @@
+package com.terraria.calamity.application.importer;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Lê, converte e valida as linhas de um import uma por vez, direto do corpo
+ * da requisição. Linhas com erro voltam com a mensagem em vez do valor, para
+ * que o import continue com as demais.
+ *
+ * No CSV, o cabeçalho dá os nomes dos campos e cada registro vira um mapa
+ * (sem as células vazias) que o {@code csvShape} pode reorganizar antes da
+ * conversão para {@code T}.
+ *
+ * Nenhuma linha (ou registro CSV) guarda mais que {@value #MAX_ROW_CHARS}
+ * caracteres: uma linha maior vira erro e o resto dela é descartado enquanto
+ * é lido, então a memória não cresce até o limite do corpo. Um cabeçalho
+ * CSV maior que isso encerra o import com um único erro.
+ */
+public final class ImportRowReader<T> {
+
+    public static final int MAX_ROW_CHARS = 16 * 1024;
+
+    private static final String TOO_LONG = "Row longer than " + MAX_ROW_CHARS + " characters";
+
+    private final BufferedReader reader;
+    private final CatalogImportFormat format;
+    private final Class<T> rowType;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final UnaryOperator<Map<String, Object>> csvShape;
+
+    private CsvRecordReader csv;
+    private List<String> header;
+    private long line;
+    private boolean lineTooLong;
+
+    public ImportRowReader(BufferedReader reader, CatalogImportFormat format, Class<T> rowType,
+                           JsonMapper jsonMapper, Validator validator, UnaryOperator<Map<String, Object>> csvShape) {
+        this.reader = reader;
+        this.format = format;
+        this.rowType = rowType;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.csvShape = csvShape;
+    }
+
+    /**
+     * @param line  linha do corpo onde a linha começa (a partir de 1)
+     * @param value linha convertida e válida, ou {@code null} quando rejeitada
+     * @param error motivo da rejeição, ou {@code null}
+     */
+    public record Row<T>(long line, T value, String error) {
+
+        public boolean isValid() {
+            return error == null;
+        }
+    }
+
+    /** Próxima linha, ou {@code null} no fim do corpo. */
+    public Row<T> next() throws IOException {
+        return format == CatalogImportFormat.NDJSON ? nextJson() : nextCsv();
+    }
+
+    private Row<T> nextJson() throws IOException {
+        String text;
+        do {
+            text = readBoundedLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        if (lineTooLong) {
+            return new Row<>(line, null, TOO_LONG);
+        }
+        try {
+            return validated(line, jsonMapper.readValue(text, rowType));
+        } catch (JacksonException e) {
+            return new Row<>(line, null, e.getOriginalMessage());
+        }
+    }
+
+    private Row<T> nextCsv() throws IOException {
+        if (csv == null) {
+            csv = new CsvRecordReader(reader, MAX_ROW_CHARS);
+            header = csv.next();
+            if (header == null) {
+                return null;
+            }
+            if (csv.overlong()) {
+                header = List.of();
+                return new Row<>(csv.recordLine(), null, "Header longer than " + MAX_ROW_CHARS + " characters");
+            }
+            header = header.stream().map(String::strip).toList();
+        }
+        // Cabeçalho rejeitado: sem nomes de campo não há como ler o resto
+        List<String> record = header.isEmpty() ? null : csv.next();
+        if (record == null) {
+            return null;
+        }
+        long recordLine = csv.recordLine();
+        if (csv.overlong()) {
+            return new Row<>(recordLine, null, TOO_LONG);
+        }
+        if (record.size() > header.size()) {
+            return new Row<>(recordLine, null,
+                    "Expected at most " + header.size() + " columns but found " + record.size());
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < record.size(); i++) {
+            if (!record.get(i).isBlank()) {
+                fields.put(header.get(i), record.get(i));
+            }
+        }
+        try {
+            return validated(recordLine, jsonMapper.convertValue(csvShape.apply(fields), rowType));
+        } catch (JacksonException e) {
+            return new Row<>(recordLine, null, e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Como {@link BufferedReader#readLine()} (termina em LF, CR ou CRLF), mas
+     * guarda no máximo {@value #MAX_ROW_CHARS} caracteres: o resto de uma
+     * linha maior é consumido sem guardar e {@code lineTooLong} fica marcado.
+     */
+    private String readBoundedLine() throws IOException {
+        StringBuilder text = new StringBuilder();
+        lineTooLong = false;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (text.length() < MAX_ROW_CHARS) {
+                text.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return text.toString();
+    }
+
+    private Row<T> validated(long rowLine, T value) {
+        if (value == null) {
+            return new Row<>(rowLine, null, "Row cannot be null");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return new Row<>(rowLine, value, null);
+        }
+        String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+        return new Row<>(rowLine, null, message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.terraria.calamity.application.importer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Carga de linhas numa tabela temporária de staging, dentro da transação do
+ * import; a tabela some no commit/rollback. Depois da carga o
+ * {@code CatalogImportService} aplica o upsert com SQL comum aos dois bancos.
+ *
+ * Implementação escolhida por {@code catalog.import.loader}: {@code copy}
+ * ({@link CopyStagingLoader}, COPY do Postgres) ou {@code batch}
+ * ({@link BatchInsertStagingLoader}, INSERTs em batch, para o H2 dos testes).
+ */
+public interface StagingLoader {
+
+    /** Cria a tabela temporária; {@code columns} é a lista de colunas em DDL portável. */
+    void createTable(Connection connection, String table, String columns) throws SQLException;
+
+    /** Abre a carga em {@code table(columns)}; só uma carga aberta por conexão. */
+    Sink open(Connection connection, String table, List<String> columns) throws SQLException;
+
+    /** Chamado depois da carga e antes do upsert (ex.: estatísticas para o planner). */
+    default void afterLoad(Connection connection, String table) throws SQLException {
+    }
+
+    /** Recebe as linhas na ordem de {@code columns}; enums já como {@code name()}. */
+    interface Sink {
+
+        void add(Object... values) throws SQLException;
+
+        /** Envia o que estiver pendente e devolve o total de linhas carregadas. */
+        long finish() throws SQLException;
+
+        /** Descarta a carga depois de uma falha; não lança. */
+        void abort();
+    }
+}
@@ -0,0 +1,43 @@
+package com.terraria.calamity.application.mapper;
+
+import com.terraria.calamity.domain.entity.EntityType;
+import com.terraria.calamity.domain.entity.Submission;
+
+import java.util.Map;
+
+/**
+ * Converte o payload JSONB de uma {@link Submission} de um {@link EntityType}
+ * no record tipado correspondente, e vice-versa.
+ *
+ * {@link #read} decodifica no máximo uma vez por instância carregada: o
+ * resultado fica memorizado na própria Submission, então montar o response,
+ * aprovar e aplicar na entidade dentro do mesmo request reaproveitam o mesmo
+ * record. {@link #write} já deixa o record memorizado, sem ida e volta.
+ */
+public interface SubmissionPayloadCodec<T> {
+
+    EntityType entityType();
+
+    Class<T> payloadType();
+
+    Map<String, Object> encode(T payload);
+
+    T decode(Map<String, Object> payload);
+
+    default T read(Submission submission) {
+        requireEntityType(submission);
+        return submission.typedPayload(payloadType(), this::decode);
+    }
+
+    default void write(Submission submission, T payload) {
+        requireEntityType(submission);
+        submission.setPayload(encode(payload), payload);
+    }
+
+    private void requireEntityType(Submission submission) {
+        if (submission.getEntityType() != entityType()) {
+            throw new IllegalArgumentException("Submission " + submission.getId() + " is "
+                    + submission.getEntityType() + ", expected " + entityType());
+        }
+    }
+}
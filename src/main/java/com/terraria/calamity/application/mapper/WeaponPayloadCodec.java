@@ -0,0 +1,99 @@
+package com.terraria.calamity.application.mapper;
+
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.EntityType;
+import com.terraria.calamity.domain.entity.Weapon;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Codec do payload de submissões de armas. O record é o próprio
+ * {@link WeaponSubmissionRequestDTO} sem {@code targetWeaponId} (que vai para
+ * a coluna target_entity_id).
+ *
+ * Lê e escreve os campos direto do Map que o Hibernate entrega para a coluna
+ * JSONB, sem passar pelo {@code ObjectMapper.convertValue} (que serializa o
+ * Map para um buffer de tokens e desserializa de novo a cada chamada). Enums
+ * são gravados pelo nome e números aceitam qualquer {@link Number}, que é o
+ * que volta do JSON depois de um reload.
+ */
+@Component
+public class WeaponPayloadCodec implements SubmissionPayloadCodec<WeaponSubmissionRequestDTO> {
+
+    @Override
+    public EntityType entityType() {
+        return EntityType.WEAPON;
+    }
+
+    @Override
+    public Class<WeaponSubmissionRequestDTO> payloadType() {
+        return WeaponSubmissionRequestDTO.class;
+    }
+
+    @Override
+    public Map<String, Object> encode(WeaponSubmissionRequestDTO payload) {
+        Map<String, Object> map = new LinkedHashMap<>(16);
+        map.put("name", payload.name());
+        map.put("weaponClass", payload.weaponClass() != null ? payload.weaponClass().name() : null);
+        map.put("element", payload.element() != null ? payload.element().name() : null);
+        map.put("baseDamage", payload.baseDamage());
+        map.put("criticalChance", payload.criticalChance());
+        map.put("attacksPerTurn", payload.attacksPerTurn());
+        map.put("range", payload.range());
+        map.put("rarity", payload.rarity());
+        map.put("price", payload.price());
+        map.put("quality", payload.quality());
+        map.put("abilities", payload.abilities());
+        map.put("description", payload.description());
+        map.put("imageUrl", payload.imageUrl());
+        return map;
+    }
+
+    @Override
+    public WeaponSubmissionRequestDTO decode(Map<String, Object> payload) {
+        return new WeaponSubmissionRequestDTO(
+            null,
+            string(payload.get("name")),
+            enumValue(Weapon.WeaponClass.class, payload.get("weaponClass")),
+            enumValue(Element.class, payload.get("element")),
+            integer(payload.get("baseDamage")),
+            integer(payload.get("criticalChance")),
+            decimal(payload.get("attacksPerTurn")),
+            integer(payload.get("range")),
+            integer(payload.get("rarity")),
+            integer(payload.get("price")),
+            integer(payload.get("quality")),
+            string(payload.get("abilities")),
+            string(payload.get("description")),
+            string(payload.get("imageUrl"))
+        );
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Integer integer(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? Integer.valueOf(number.intValue()) : Integer.valueOf(value.toString());
+    }
+
+    private static Double decimal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? Double.valueOf(number.doubleValue()) : Double.valueOf(value.toString());
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return type.isInstance(value) ? type.cast(value) : Enum.valueOf(type, value.toString());
+    }
+}
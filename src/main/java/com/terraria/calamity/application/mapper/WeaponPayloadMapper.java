@@ -1,7 +1,5 @@
 package com.terraria.calamity.application.mapper;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionResponseDTO;
 import com.terraria.calamity.domain.entity.EntityType;
@@ -12,25 +10,21 @@ import com.terraria.calamity.domain.entity.Weapon;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
 @Component
 @RequiredArgsConstructor
 public class WeaponPayloadMapper {
 
-    private final ObjectMapper objectMapper;
+    private final WeaponPayloadCodec codec;
 
     public Submission toEntity(WeaponSubmissionRequestDTO dto, User submittedBy, Long targetEntityId, SubmissionType type) {
-        Map<String, Object> payload = objectMapper.convertValue(dto, new TypeReference<Map<String, Object>>() {});
-        payload.remove("targetWeaponId");
-
-        return Submission.builder()
+        Submission submission = Submission.builder()
             .entityType(EntityType.WEAPON)
             .submissionType(type)
             .submittedBy(submittedBy)
             .targetEntityId(targetEntityId)
-            .payload(payload)
             .build();
+        codec.write(submission, withoutTarget(dto));
+        return submission;
     }
 
     public WeaponSubmissionResponseDTO toResponseDTO(Submission submission) {
@@ -96,7 +90,17 @@ public class WeaponPayloadMapper {
         weapon.setImageUrl(payload.imageUrl());
     }
 
+    /** O alvo vai para target_entity_id; o payload guarda só os atributos da arma. */
+    private static WeaponSubmissionRequestDTO withoutTarget(WeaponSubmissionRequestDTO dto) {
+        if (dto.targetWeaponId() == null) {
+            return dto;
+        }
+        return new WeaponSubmissionRequestDTO(null, dto.name(), dto.weaponClass(), dto.element(), dto.baseDamage(),
+            dto.criticalChance(), dto.attacksPerTurn(), dto.range(), dto.rarity(), dto.price(), dto.quality(),
+            dto.abilities(), dto.description(), dto.imageUrl());
+    }
+
     private WeaponSubmissionRequestDTO toPayloadDTO(Submission submission) {
-        return objectMapper.convertValue(submission.getPayload(), WeaponSubmissionRequestDTO.class);
+        return codec.read(submission);
     }
 }
@@ -0,0 +1,193 @@
+package com.terraria.calamity.application.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets compartilhados entre instâncias na tabela rate_limit_buckets (V15).
+ *
+ * Cada instância não vai ao banco por requisição: pega um lote de tokens
+ * ({@link #batchSize}, 1/10 da capacidade do limite, ou o custo da
+ * requisição se for maior) numa transação curta
+ * ({@code SELECT ... FOR UPDATE} + {@code UPDATE}) e o consome localmente por
+ * até {@code rate-limit.jdbc.lease-ttl}. Tokens de um lote que vencem sem uso
+ * são perdidos, nunca devolvidos, então a soma entre instâncias nunca passa
+ * da capacidade do limite (no máximo admite um pouco menos). Uma negativa
+ * também fica em memória até haver tokens para aquele custo no bucket global.
+ *
+ * Se o banco falhar, a instância cai para o {@link LocalRateLimitBackend}
+ * (limite por instância) em vez de bloquear ou liberar todo mundo.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+public class JdbcRateLimitBackend implements RateLimitBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitBackend.class);
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    // Um bucket parado há mais que a janela já está cheio: apagar a linha é equivalente
+    private static final long STALE_AFTER_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long CLEANUP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long leaseTtlNanos;
+    private final Cache<String, Lease> leases;
+    private final LocalRateLimitBackend fallback;
+    private final Counter granted;
+    private final Counter denied;
+    private final Counter failed;
+    private final AtomicLong nextCleanupAt = new AtomicLong();
+
+    @Autowired
+    public JdbcRateLimitBackend(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${rate-limit.jdbc.lease-ttl:5s}") Duration leaseTtl,
+            @Value("${rate-limit.max-clients:100000}") long maxClients,
+            @Value("${rate-limit.idle-timeout:5m}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseTtlNanos = leaseTtl.toNanos();
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.fallback = new LocalRateLimitBackend(maxClients, idleTimeout, meterRegistry);
+        this.granted = acquisitions(meterRegistry, "granted");
+        this.denied = acquisitions(meterRegistry, "denied");
+        this.failed = acquisitions(meterRegistry, "error");
+    }
+
+    private static Counter acquisitions(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ratelimit.jdbc.acquisitions")
+                .description("Token batches requested from the shared rate-limit table")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    static int batchSize(Limit limit) {
+        return Math.max(1, limit.capacityPerMinute() / 10);
+    }
+
+    @Override
+    public Decision tryConsume(Limit limit, String subject, int cost) {
+        String key = limit.name() + ":" + subject;
+        Lease lease = leases.get(key, k -> new Lease());
+        // ReentrantLock e não synchronized: não prende a carrier thread de virtual threads durante o I/O
+        lease.lock.lock();
+        try {
+            long now = System.nanoTime();
+            boolean live = now - lease.expiresAt < 0;
+            if (live) {
+                if (lease.remaining >= cost) {
+                    lease.remaining -= cost;
+                    return Decision.allow();
+                }
+                if (lease.deniedCost > 0 && cost >= lease.deniedCost) {
+                    return Decision.deny(lease.expiresAt - now);
+                }
+            }
+            int carried = live ? lease.remaining : 0;
+
+            Grant grant;
+            try {
+                grant = acquire(key, limit, cost - carried);
+            } catch (DataAccessException e) {
+                failed.increment();
+                log.warn("Shared rate-limit table unavailable, using the local limit: {}", e.getMessage());
+                return fallback.tryConsume(limit, subject, cost);
+            }
+            if (grant.tokens() > 0) {
+                granted.increment();
+                lease.remaining = carried + grant.tokens() - cost;
+                lease.deniedCost = 0;
+                lease.expiresAt = now + leaseTtlNanos;
+                return Decision.allow();
+            }
+            denied.increment();
+            lease.remaining = 0;
+            lease.deniedCost = cost;
+            lease.expiresAt = now + grant.nanosToWait();
+            return Decision.deny(grant.nanosToWait());
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    /** Pega do bucket global um lote com pelo menos {@code needed} tokens, ou nada. */
+    private Grant acquire(String key, Limit limit, int needed) {
+        long nowMillis = System.currentTimeMillis();
+        cleanUpIfDue(nowMillis);
+        return transactionTemplate.execute(status -> {
+            double capacity = limit.capacityPerMinute();
+            double tokensPerMilli = capacity / WINDOW_MILLIS;
+
+            List<double[]> rows = lockRow(key);
+            if (rows.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at_ms) "
+                        + "VALUES (?, ?, ?) ON CONFLICT DO NOTHING", key, capacity, nowMillis);
+                rows = lockRow(key);
+            }
+            double[] row = rows.get(0);
+            double available = Math.min(capacity, row[0] + Math.max(0, nowMillis - (long) row[1]) * tokensPerMilli);
+            int taken = available >= needed
+                    ? (int) Math.min(Math.max(batchSize(limit), needed), Math.floor(available))
+                    : 0;
+
+            jdbcTemplate.update("UPDATE rate_limit_buckets SET tokens = ?, refilled_at_ms = ? WHERE bucket_key = ?",
+                    available - taken, nowMillis, key);
+            long nanosToWait = taken > 0
+                    ? 0
+                    : TimeUnit.MILLISECONDS.toNanos((long) Math.ceil((needed - available) / tokensPerMilli));
+            return new Grant(taken, nanosToWait);
+        });
+    }
+
+    private List<double[]> lockRow(String key) {
+        return jdbcTemplate.query(
+                "SELECT tokens, refilled_at_ms FROM rate_limit_buckets WHERE bucket_key = ? FOR UPDATE",
+                (rs, rowNum) -> new double[] {rs.getDouble(1), rs.getLong(2)},
+                key);
+    }
+
+    private void cleanUpIfDue(long nowMillis) {
+        long due = nextCleanupAt.get();
+        if (nowMillis < due || !nextCleanupAt.compareAndSet(due, nowMillis + CLEANUP_INTERVAL_MILLIS)) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE refilled_at_ms < ?", nowMillis - STALE_AFTER_MILLIS);
+    }
+
+    private record Grant(int tokens, long nanosToWait) {}
+
+    /** Tokens pré-alocados para um cliente nesta instância. */
+    private static final class Lease {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int remaining;
+        // Custo da última negativa: requisições com custo igual ou maior são negadas sem ir ao banco
+        private int deniedCost;
+        private long expiresAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,113 @@
+package com.terraria.calamity.application.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buckets Bucket4j em memória, por instância: com N instâncias o limite
+ * efetivo de um cliente é N vezes o do tier.
+ *
+ * Cada limite nomeado tem seu cache Caffeine (W-TinyLFU), criado no primeiro
+ * uso, limitado a {@code rate-limit.max-clients} subjects e com descarte após
+ * {@code rate-limit.idle-timeout} sem acesso; um bucket ocioso por mais de um
+ * minuto já estaria cheio de novo, então descartá-lo não afrouxa o limite.
+ * Se a capacidade de um limite mudar (recarga das políticas), o bucket do
+ * subject é recriado no próximo acesso.
+ * Métricas: {@code cache.size}/{@code cache.evictions}{cache=ratelimit.<limite>}
+ * e {@code ratelimit.buckets.estimated.bytes}{tier=<limite>}.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    // Estimativa de heap por subject: chave (String IPv4/IPv6), nó do Caffeine e bucket de uma Bandwidth
+    static final long ESTIMATED_BYTES_PER_CLIENT = 400;
+
+    private final long maxClients;
+    private final Duration idleTimeout;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache<String, Slot>> buckets = new ConcurrentHashMap<>();
+
+    public LocalRateLimitBackend() {
+        this(100_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public LocalRateLimitBackend(
+            @Value("${rate-limit.max-clients:100000}") long maxClients,
+            @Value("${rate-limit.idle-timeout:5m}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.maxClients = maxClients;
+        this.idleTimeout = idleTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private Cache<String, Slot> newBucketStore(String limit) {
+        Cache<String, Slot> store = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, store, "ratelimit." + limit);
+        Gauge.builder("ratelimit.buckets.estimated.bytes", store, s -> s.estimatedSize() * ESTIMATED_BYTES_PER_CLIENT)
+                .description("Estimated heap held by rate-limit buckets")
+                .baseUnit("bytes")
+                .tag("tier", limit)
+                .register(meterRegistry);
+        return store;
+    }
+
+    @Override
+    public Decision tryConsume(Limit limit, String subject, int cost) {
+        ConsumptionProbe probe = resolveBucket(limit, subject).tryConsumeAndReturnRemaining(cost);
+        return probe.isConsumed() ? Decision.allow() : Decision.deny(probe.getNanosToWaitForRefill());
+    }
+
+    Bucket resolveBucket(Limit limit, String subject) {
+        Cache<String, Slot> store = buckets.computeIfAbsent(limit.name(), this::newBucketStore);
+        int capacity = limit.capacityPerMinute();
+        Slot slot = store.get(subject, key -> new Slot(capacity));
+        if (slot.capacity() != capacity) {
+            slot = new Slot(capacity);
+            store.put(subject, slot);
+        }
+        return slot.bucket();
+    }
+
+    /** Buckets vivos em todos os limites, depois de aplicar as remoções pendentes. */
+    long bucketCount() {
+        long count = 0;
+        for (Cache<String, Slot> store : buckets.values()) {
+            store.cleanUp();
+            count += store.estimatedSize();
+        }
+        return count;
+    }
+
+    private record Slot(int capacity, Bucket bucket) {
+
+        Slot(int capacity) {
+            this(capacity, Bucket.builder()
+                    .addLimit(Bandwidth.builder()
+                            .capacity(capacity)
+                            .refillGreedy(capacity, Duration.ofMinutes(1))
+                            .build())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.terraria.calamity.application.ratelimit;
+
+/**
+ * Onde ficam os token buckets do RateLimitFilter.
+ *
+ * {@code rate-limit.backend=local} (padrão) mantém os buckets em memória, por
+ * instância; {@code jdbc} compartilha o bucket de cada cliente entre as
+ * instâncias via tabela rate_limit_buckets, com pré-alocação local em lotes.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Tenta consumir {@code cost} tokens do bucket de {@code subject} no limite
+     * informado. Há um bucket por par (nome do limite, subject).
+     */
+    Decision tryConsume(Limit limit, String subject, int cost);
+
+    /** Limite nomeado (ver {@link RateLimitPolicies}) e a capacidade que vale para o subject. */
+    record Limit(String name, int capacityPerMinute) {}
+
+    /** Resultado do consumo; {@code nanosToWait} só tem sentido quando negado. */
+    record Decision(boolean allowed, long nanosToWait) {
+
+        public static Decision allow() {
+            return new Decision(true, 0);
+        }
+
+        public static Decision deny(long nanosToWait) {
+            return new Decision(false, nanosToWait);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.terraria.calamity.application.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Políticas de rate limit por rota: limites nomeados ({@code rate-limit.limits},
+ * com capacidades por minuto para anônimos e autenticados, ou só por IP) e rotas
+ * ({@code rate-limit.routes}) que apontam para um limite com um custo em
+ * tokens. Rotas que dividem um limite dividem o bucket, então uma escrita com
+ * custo 10 gasta o orçamento de dez leituras. Rota sem política cai no limite
+ * {@code default} com custo 1.
+ *
+ * Se {@code rate-limit.policy-file} apontar para um YAML com o mesmo formato
+ * (sob {@code rate-limit:}), ele substitui as políticas do application.yml e
+ * é relido quando muda, verificado a cada {@code rate-limit.policy-reload-interval}
+ * por uma única thread de requisição. Um arquivo inválido é ignorado (fica a
+ * política anterior) e logado.
+ */
+@Component
+public class RateLimitPolicies {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitPolicies.class);
+
+    public static final String DEFAULT_LIMIT = "default";
+
+    /** Usadas quando nada está configurado: as mesmas regras que o filtro tinha fixas. */
+    private static final Properties BUILT_IN = new Properties(
+            Map.of("auth", new LimitProperties(5, null, true), DEFAULT_LIMIT, new LimitProperties(60, 60, null)),
+            List.of(new RouteProperties("/api/v1/auth/register", List.of("POST"), "auth", 1),
+                    new RouteProperties("/api/v1/auth/login", List.of("POST"), "auth", 1)));
+
+    private final Path policyFile;
+    private final long reloadIntervalNanos;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Compiled compiled;
+    private volatile long nextReloadAt;
+    private volatile FileTime loadedModifiedTime;
+
+    @Autowired
+    public RateLimitPolicies(
+            Environment environment,
+            @Value("${rate-limit.policy-file:}") String policyFile,
+            @Value("${rate-limit.policy-reload-interval:10s}") Duration reloadInterval) {
+        this.policyFile = policyFile.isBlank() ? null : Path.of(policyFile);
+        this.reloadIntervalNanos = reloadInterval.toNanos();
+        this.nextReloadAt = System.nanoTime() + reloadIntervalNanos;
+        if (this.policyFile != null) {
+            this.loadedModifiedTime = modifiedTime(this.policyFile);
+            this.compiled = compile(bind(readYaml(this.policyFile)));
+            log.info("Rate-limit policies loaded from {}", this.policyFile);
+        } else {
+            this.compiled = compile(bind(Binder.get(environment)));
+        }
+    }
+
+    private RateLimitPolicies(Properties properties) {
+        this.policyFile = null;
+        this.reloadIntervalNanos = Long.MAX_VALUE;
+        this.compiled = compile(properties);
+    }
+
+    public static RateLimitPolicies of(Properties properties) {
+        return new RateLimitPolicies(properties);
+    }
+
+    public static RateLimitPolicies defaults() {
+        return of(BUILT_IN);
+    }
+
+    /** Política da rota mais específica que casa com o método e o path. */
+    public RoutePolicy resolve(String method, String path) {
+        reloadIfDue();
+        Compiled current = compiled;
+        RoutePolicy policy = current.routes().match(method.toUpperCase(Locale.ROOT), path);
+        return policy != null ? policy : current.fallback();
+    }
+
+    private void reloadIfDue() {
+        if (policyFile == null || System.nanoTime() - nextReloadAt < 0 || !reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            FileTime modified = modifiedTime(policyFile);
+            if (!modified.equals(loadedModifiedTime)) {
+                compiled = compile(bind(readYaml(policyFile)));
+                loadedModifiedTime = modified;
+                log.info("Rate-limit policies reloaded from {}", policyFile);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Keeping the current rate-limit policies, {} could not be loaded: {}", policyFile, e.getMessage());
+        } finally {
+            nextReloadAt = System.nanoTime() + reloadIntervalNanos;
+            reloading.set(false);
+        }
+    }
+
+    private static Properties bind(Binder binder) {
+        Properties bound = binder.bind("rate-limit", Properties.class).orElse(null);
+        if (bound == null || bound.limits() == null || bound.limits().isEmpty()) {
+            return BUILT_IN;
+        }
+        return bound;
+    }
+
+    private static Binder readYaml(Path file) {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                    .load("rate-limit-policies", new FileSystemResource(file));
+            return new Binder(ConfigurationPropertySources.from(sources));
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler " + file, e);
+        }
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler " + file, e);
+        }
+    }
+
+    private static Compiled compile(Properties properties) {
+        Map<String, LimitProperties> limits = properties.limits();
+        if (!limits.containsKey(DEFAULT_LIMIT)) {
+            throw new IllegalArgumentException("rate-limit.limits precisa de um limite '" + DEFAULT_LIMIT + "'");
+        }
+        limits.forEach((name, limit) -> {
+            if (limit.anonymous() < 1 || limit.authenticatedOrAnonymous() < 1) {
+                throw new IllegalArgumentException("Capacidade do limite '" + name + "' precisa ser positiva");
+            }
+            if (limit.perIpOnly() && limit.authenticated() != null) {
+                throw new IllegalArgumentException("Limite '" + name + "' é só por IP e não aceita authenticated");
+            }
+        });
+        Map<String, RoutePolicy> costOnePolicies = new HashMap<>();
+        RoutePolicyTrie routes = new RoutePolicyTrie();
+        for (RouteProperties route : properties.routes() != null ? properties.routes() : List.<RouteProperties>of()) {
+            String limitName = route.limit() != null ? route.limit() : DEFAULT_LIMIT;
+            LimitProperties limit = limits.get(limitName);
+            if (limit == null) {
+                throw new IllegalArgumentException("Limite desconhecido '" + limitName + "' em " + route.pattern());
+            }
+            int cost = route.cost() != null ? route.cost() : 1;
+            if (cost < 1 || cost > Math.min(limit.anonymous(), limit.authenticatedOrAnonymous())) {
+                throw new IllegalArgumentException("Custo " + cost + " fora da capacidade do limite '"
+                        + limitName + "' em " + route.pattern());
+            }
+            Set<String> methods = route.methods() == null ? Set.of() : route.methods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            RoutePolicy policy = cost == 1
+                    ? costOnePolicies.computeIfAbsent(limitName, name -> policy(name, limit, 1))
+                    : policy(limitName, limit, cost);
+            routes.add(route.pattern(), methods, policy);
+        }
+        RoutePolicy fallback = costOnePolicies.computeIfAbsent(DEFAULT_LIMIT,
+                name -> policy(name, limits.get(name), 1));
+        return new Compiled(routes, fallback);
+    }
+
+    private static RoutePolicy policy(String name, LimitProperties limit, int cost) {
+        return new RoutePolicy(
+                new RateLimitBackend.Limit(name, limit.anonymous()),
+                limit.perIpOnly() ? null : new RateLimitBackend.Limit(name, limit.authenticatedOrAnonymous()),
+                cost);
+    }
+
+    private record Compiled(RoutePolicyTrie routes, RoutePolicy fallback) {}
+
+    /** Formato de {@code rate-limit.limits} e {@code rate-limit.routes}. */
+    public record Properties(Map<String, LimitProperties> limits, List<RouteProperties> routes) {}
+
+    /**
+     * Capacidade por minuto por IP ({@code anonymous}) e por usuário
+     * ({@code authenticated}, padrão igual). Com {@code ipOnly} o bucket é
+     * sempre o do IP, mesmo com JWT: é o caso de login e cadastro, em que
+     * tokens de contas descartáveis dariam um bucket novo a cada requisição.
+     */
+    public record LimitProperties(int anonymous, Integer authenticated, Boolean ipOnly) {
+
+        int authenticatedOrAnonymous() {
+            return authenticated != null ? authenticated : anonymous;
+        }
+
+        boolean perIpOnly() {
+            return Boolean.TRUE.equals(ipOnly);
+        }
+    }
+
+    /** {@code methods} vazio vale para todos; {@code limit} e {@code cost} têm padrão default e 1. */
+    public record RouteProperties(String pattern, List<String> methods, String limit, Integer cost) {}
+}
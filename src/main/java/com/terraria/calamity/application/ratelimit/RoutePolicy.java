@@ -0,0 +1,18 @@
+package com.terraria.calamity.application.ratelimit;
+
+/**
+ * Limite e custo em tokens de uma rota. Anônimos (por IP) e autenticados
+ * (por id de usuário) usam buckets separados com capacidades próprias; em
+ * limites só por IP ({@code authenticated} nulo) todo cliente conta pelo IP.
+ */
+public record RoutePolicy(RateLimitBackend.Limit anonymous, RateLimitBackend.Limit authenticated, int cost) {
+
+    /** Se um JWT válido troca o bucket do IP pelo do usuário. */
+    public boolean perUser() {
+        return authenticated != null;
+    }
+
+    public RateLimitBackend.Limit limitFor(boolean authenticatedSubject) {
+        return authenticatedSubject && perUser() ? authenticated : anonymous;
+    }
+}
@@ -0,0 +1,100 @@
+package com.terraria.calamity.application.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trie por segmento de path com as rotas das políticas de rate limit,
+ * montada uma vez a cada carga de {@link RateLimitPolicies}.
+ *
+ * Segmentos de padrão: literal, {@code *} ou {@code {nome}} (um segmento
+ * qualquer) e {@code **} (zero ou mais segmentos, só no fim). Na busca o
+ * literal tem precedência sobre o curinga, que tem precedência sobre
+ * {@code **}; assim a rota mais específica vence sem depender da ordem da
+ * configuração. Imutável depois de montada.
+ */
+final class RoutePolicyTrie {
+
+    private final Node root = new Node();
+
+    void add(String pattern, Set<String> methods, RoutePolicy policy) {
+        Node node = root;
+        String[] segments = split(pattern);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' só pode ser o último segmento: " + pattern);
+                }
+                node.rest.add(new Route(methods, policy));
+                return;
+            }
+            node = isWildcard(segment)
+                    ? (node.wildcard != null ? node.wildcard : (node.wildcard = new Node()))
+                    : node.literals.computeIfAbsent(segment, s -> new Node());
+        }
+        node.here.add(new Route(methods, policy));
+    }
+
+    /** Política da rota mais específica para o método e o path, ou {@code null}. */
+    RoutePolicy match(String method, String path) {
+        return match(root, split(path), 0, method);
+    }
+
+    private static RoutePolicy match(Node node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            RoutePolicy exact = firstFor(node.here, method);
+            if (exact != null) {
+                return exact;
+            }
+        } else {
+            Node literal = node.literals.get(segments[index]);
+            if (literal != null) {
+                RoutePolicy found = match(literal, segments, index + 1, method);
+                if (found != null) {
+                    return found;
+                }
+            }
+            if (node.wildcard != null) {
+                RoutePolicy found = match(node.wildcard, segments, index + 1, method);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return firstFor(node.rest, method);
+    }
+
+    private static RoutePolicy firstFor(List<Route> routes, String method) {
+        for (Route route : routes) {
+            if (route.methods().isEmpty() || route.methods().contains(method)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return "*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"));
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private record Route(Set<String> methods, RoutePolicy policy) {}
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Route> here = new ArrayList<>(1);
+        private final List<Route> rest = new ArrayList<>(1);
+        private Node wildcard;
+    }
+}
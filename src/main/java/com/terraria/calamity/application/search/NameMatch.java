@@ -0,0 +1,9 @@
+package com.terraria.calamity.application.search;
+
+/**
+ * Resultado de uma busca por nome.
+ *
+ * @param score 3 + similaridade para prefixo, 2 + similaridade para
+ *              substring, só a similaridade de trigramas para matches aproximados
+ */
+public record NameMatch(Long id, String name, double score) {}
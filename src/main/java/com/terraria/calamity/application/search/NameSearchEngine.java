@@ -0,0 +1,20 @@
+package com.terraria.calamity.application.search;
+
+import java.util.List;
+
+/**
+ * Busca por nome com ranking (prefixo, depois substring, depois aproximada
+ * por trigramas, tolerante a erros de digitação).
+ *
+ * Implementações escolhidas por {@code catalog.search.engine}:
+ * {@code trigram} (pg_trgm no Postgres, padrão) ou {@code ngram} (índice em
+ * memória, usado no perfil de testes com H2, que não tem pg_trgm). As duas
+ * calculam o mesmo score, então a ordem dos resultados não muda entre elas.
+ */
+public interface NameSearchEngine {
+
+    enum Target { WEAPONS, ARMORS }
+
+    /** Até {@code limit} matches, do mais para o menos relevante. */
+    List<NameMatch> search(Target target, String query, int limit);
+}
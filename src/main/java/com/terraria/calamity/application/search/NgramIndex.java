@@ -0,0 +1,131 @@
+package com.terraria.calamity.application.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice invertido de trigramas sobre nomes, imutável depois de construído.
+ *
+ * Gera os trigramas como o pg_trgm (por palavra, com dois espaços antes e um
+ * depois), então a similaridade é a mesma de {@code similarity()} do Postgres:
+ * trigramas em comum / trigramas na união. Só entram como candidatos os nomes
+ * que compartilham algum trigrama com a consulta; consultas com menos de 3
+ * caracteres varrem todos os nomes, já que seus trigramas não cobrem substrings.
+ */
+public final class NgramIndex {
+
+    /** Mesmo padrão de {@code pg_trgm.similarity_threshold}. */
+    public static final double SIMILARITY_THRESHOLD = 0.3;
+
+    private static final Comparator<NameMatch> RANKING = Comparator
+            .comparingDouble(NameMatch::score).reversed()
+            .thenComparingInt(match -> match.name().length())
+            .thenComparing(NameMatch::name);
+
+    private final Long[] ids;
+    private final String[] names;
+    private final String[] normalized;
+    private final int[] gramCounts;
+    private final Map<String, int[]> postings;
+
+    private NgramIndex(List<Entry> entries) {
+        int size = entries.size();
+        this.ids = new Long[size];
+        this.names = new String[size];
+        this.normalized = new String[size];
+        this.gramCounts = new int[size];
+
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int position = 0; position < size; position++) {
+            Entry entry = entries.get(position);
+            ids[position] = entry.id();
+            names[position] = entry.name();
+            normalized[position] = normalize(entry.name());
+            Set<String> grams = trigrams(normalized[position]);
+            gramCounts[position] = grams.size();
+            for (String gram : grams) {
+                lists.computeIfAbsent(gram, key -> new ArrayList<>()).add(position);
+            }
+        }
+
+        Map<String, int[]> compact = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, positions) ->
+                compact.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+        this.postings = compact;
+    }
+
+    public record Entry(Long id, String name) {}
+
+    public static NgramIndex of(Collection<Entry> entries) {
+        return new NgramIndex(List.copyOf(entries));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public List<NameMatch> search(String query, int limit) {
+        String term = normalize(query).strip();
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Set<String> queryGrams = trigrams(term);
+        int[] shared = new int[ids.length];
+        List<Integer> candidates = new ArrayList<>();
+        for (String gram : queryGrams) {
+            int[] positions = postings.get(gram);
+            if (positions == null) {
+                continue;
+            }
+            for (int position : positions) {
+                if (shared[position]++ == 0) {
+                    candidates.add(position);
+                }
+            }
+        }
+        if (term.length() < 3) {
+            candidates.clear();
+            for (int position = 0; position < ids.length; position++) {
+                candidates.add(position);
+            }
+        }
+
+        List<NameMatch> matches = new ArrayList<>();
+        for (int position : candidates) {
+            int union = queryGrams.size() + gramCounts[position] - shared[position];
+            double similarity = union == 0 ? 0 : (double) shared[position] / union;
+            int rank = normalized[position].startsWith(term) ? 3 : normalized[position].contains(term) ? 2 : 0;
+            if (rank > 0 || similarity >= SIMILARITY_THRESHOLD) {
+                matches.add(new NameMatch(ids[position], names[position], rank + similarity));
+            }
+        }
+        matches.sort(RANKING);
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String normalizedValue) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : normalizedValue.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,67 @@
+package com.terraria.calamity.application.search;
+
+import com.terraria.calamity.application.catalog.ArmorCatalogChangedEvent;
+import com.terraria.calamity.application.catalog.CatalogImportedEvent;
+import com.terraria.calamity.application.catalog.WeaponCatalogChangedEvent;
+import com.terraria.calamity.domain.repository.ArmorRepository;
+import com.terraria.calamity.domain.repository.NameView;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Busca por nome com {@link NgramIndex} em memória, para bancos sem pg_trgm
+ * (H2 no perfil de testes).
+ *
+ * O índice de cada alvo é montado na primeira busca a partir só de id e nome,
+ * e descartado depois do commit de qualquer escrita de armas/armaduras; a
+ * próxima busca remonta com os dados já commitados.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.search.engine", havingValue = "ngram")
+public class NgramNameSearchEngine implements NameSearchEngine {
+
+    private final WeaponRepository weaponRepository;
+    private final ArmorRepository armorRepository;
+    private final Map<Target, NgramIndex> indexes = new ConcurrentHashMap<>();
+
+    public NgramNameSearchEngine(WeaponRepository weaponRepository, ArmorRepository armorRepository) {
+        this.weaponRepository = weaponRepository;
+        this.armorRepository = armorRepository;
+    }
+
+    @Override
+    public List<NameMatch> search(Target target, String query, int limit) {
+        return indexes.computeIfAbsent(target, this::build).search(query, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeaponChanged(WeaponCatalogChangedEvent event) {
+        indexes.remove(Target.WEAPONS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArmorChanged(ArmorCatalogChangedEvent event) {
+        indexes.remove(Target.ARMORS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        indexes.remove(event.kind() == CatalogImportedEvent.Kind.WEAPONS ? Target.WEAPONS : Target.ARMORS);
+    }
+
+    private NgramIndex build(Target target) {
+        List<NameView> names = switch (target) {
+            case WEAPONS -> weaponRepository.findAllNamesBy();
+            case ARMORS -> armorRepository.findAllNamesBy();
+        };
+        return NgramIndex.of(names.stream()
+                .map(view -> new NgramIndex.Entry(view.getId(), view.getName()))
+                .toList());
+    }
+}
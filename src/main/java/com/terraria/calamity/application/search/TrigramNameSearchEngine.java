@@ -0,0 +1,60 @@
+package com.terraria.calamity.application.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Busca por nome no Postgres com pg_trgm (V12).
+ *
+ * Tanto o {@code LIKE '%x%'} quanto o operador de similaridade {@code %}
+ * usam os índices GIN {@code gin_trgm_ops} sobre {@code lower(name)}, então a
+ * consulta não cai em sequential scan como o antigo
+ * {@code findByNameContainingIgnoreCase}.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.search.engine", havingValue = "trigram", matchIfMissing = true)
+public class TrigramNameSearchEngine implements NameSearchEngine {
+
+    private static final String SEARCH_SQL = """
+            SELECT id, name,
+                   CASE WHEN lower(name) LIKE :prefix ESCAPE '\\' THEN 3
+                        WHEN lower(name) LIKE :contains ESCAPE '\\' THEN 2
+                        ELSE 0 END + similarity(lower(name), :query) AS score
+            FROM %s
+            WHERE lower(name) LIKE :contains ESCAPE '\\' OR lower(name) %% :query
+            ORDER BY score DESC, length(name), name
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TrigramNameSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<NameMatch> search(Target target, String query, int limit) {
+        String term = query == null ? "" : query.toLowerCase(Locale.ROOT).strip();
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String table = switch (target) {
+            case WEAPONS -> "weapons";
+            case ARMORS -> "armors";
+        };
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", term)
+                .addValue("prefix", escaped + "%")
+                .addValue("contains", "%" + escaped + "%")
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH_SQL.formatted(table), params, (rs, rowNum) ->
+                new NameMatch(rs.getLong("id"), rs.getString("name"), rs.getDouble("score")));
+    }
+}
@@ -0,0 +1,15 @@
+package com.terraria.calamity.application.security;
+
+import com.terraria.calamity.domain.entity.Role;
+
+/**
+ * Claims de um JWT de acesso já verificado. Tokens antigos (só subject) têm
+ * {@code userId}, {@code role} e {@code tokenVersion} nulos.
+ */
+public record JwtClaims(String email, Long userId, Role role, Integer tokenVersion) {
+
+    /** Se o token carrega tudo o que é preciso para autenticar sem ir ao banco. */
+    public boolean selfContained() {
+        return email != null && userId != null && role != null && tokenVersion != null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.terraria.calamity.application.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.terraria.calamity.application.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Cache dos principals usados pelo JwtAuthenticationFilter, por e-mail.
+ *
+ * Limitado em tamanho e com TTL, para que uma requisição autenticada não
+ * pague um SELECT em users. As entradas não guardam o hash da senha (o
+ * login continua indo ao banco pelo {@link CustomUserDetailsService}).
+ * Uma entrada sai antes do TTL quando chega um {@link UserAccountChangedEvent}
+ * ou quando um admin força a remoção. Métricas em {@code cache.*{cache=auth.principals}}.
+ */
+@Component
+public class PrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+            CustomUserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principals");
+    }
+
+    /**
+     * Principal de {@code email}, carregado do banco só em cache miss.
+     *
+     * @throws UsernameNotFoundException se o usuário não existe (não é cacheado)
+     */
+    public UserDetails load(String email) {
+        return principals.get(email, this::loadWithoutPassword);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evict(event.email());
+    }
+
+    private UserDetails loadWithoutPassword(String email) {
+        UserDetails user = userDetailsService.loadUserByUsername(email);
+        return User.withUsername(user.getUsername())
+                .password("")
+                .authorities(user.getAuthorities())
+                .disabled(!user.isEnabled())
+                .accountLocked(!user.isAccountNonLocked())
+                .build();
+    }
+}
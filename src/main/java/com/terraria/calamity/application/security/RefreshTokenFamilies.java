@@ -0,0 +1,66 @@
+package com.terraria.calamity.application.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.terraria.calamity.domain.entity.Role;
+import com.terraria.calamity.domain.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Índice quente das famílias de refresh token ativas: familyId → dados do
+ * usuário necessários para emitir o access token.
+ *
+ * Com a família aqui, o refresh é só o UPDATE de rotação; sem ela, carrega a
+ * família com o usuário uma vez. Não guarda o hash atual: quem decide se o
+ * token apresentado é o vigente é sempre o banco. Entradas de um usuário
+ * saem no {@link UserAccountChangedEvent}, para que role/enabled/tokenVersion
+ * sejam relidos no próximo refresh.
+ */
+@Component
+public class RefreshTokenFamilies {
+
+    private final Cache<UUID, Family> families;
+
+    public RefreshTokenFamilies(
+            @Value("${jwt.refresh-index.maximum-size:100000}") long maximumSize,
+            @Value("${jwt.refresh-index.ttl:10m}") Duration ttl) {
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Family get(UUID familyId) {
+        return families.getIfPresent(familyId);
+    }
+
+    public void put(UUID familyId, Family family) {
+        families.put(familyId, family);
+    }
+
+    public void remove(UUID familyId) {
+        families.invalidate(familyId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        families.asMap().values().removeIf(family -> family.userId().equals(event.userId()));
+    }
+
+    /** Dados do dono da família, o suficiente para as claims do access token. */
+    public record Family(Long userId, String username, String email, Role role, int tokenVersion) {
+
+        public static Family of(User user) {
+            return new Family(user.getId(), user.getUsername(), user.getEmail(), user.getRole(), user.getTokenVersion());
+        }
+
+        public JwtClaims claims() {
+            return new JwtClaims(email, userId, role, tokenVersion);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.terraria.calamity.application.security;
+
+import com.terraria.calamity.domain.repository.TokenVersionView;
+import com.terraria.calamity.domain.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mapa de revogação dos JWTs com claims: userId → versão mínima aceita.
+ *
+ * Só entram usuários cuja versão já foi incrementada (token_version > 0),
+ * então o mapa fica pequeno. Mudanças locais chegam pelo
+ * {@link UserAccountChangedEvent} depois do commit; as de outras instâncias
+ * chegam no recarregamento periódico ({@code jwt.revocation-refresh}), feito
+ * por uma única thread de requisição quando o intervalo vence.
+ *
+ * Um recarregamento que falha é tentado de novo depois de
+ * {@code retryBackoff}, não do intervalo inteiro. Enquanto nenhum carregamento
+ * deu certo o mapa não diz nada, então cada token é conferido direto no banco
+ * (e, se o banco também falhar, a exceção chega ao filtro e o token não vale).
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    private final UserRepository userRepository;
+    private final long refreshIntervalNanos;
+    private final long retryBackoffNanos;
+    private final Map<Long, Integer> minimumVersions = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long nextRefreshAt = System.nanoTime();
+    private volatile boolean loaded;
+
+    @Autowired
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${jwt.revocation-refresh:30s}") Duration refreshInterval) {
+        this(userRepository, refreshInterval, Duration.ofSeconds(1));
+    }
+
+    TokenVersionRegistry(UserRepository userRepository, Duration refreshInterval, Duration retryBackoff) {
+        this.userRepository = userRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.retryBackoffNanos = Math.min(retryBackoff.toNanos(), refreshIntervalNanos);
+    }
+
+    /** Se um token com versão {@code tokenVersion} ainda vale para o usuário. */
+    public boolean isCurrent(long userId, int tokenVersion) {
+        refreshIfDue();
+        if (!loaded) {
+            return tokenVersion >= lookUp(userId);
+        }
+        return tokenVersion >= minimumVersions.getOrDefault(userId, 0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        minimumVersions.merge(event.userId(), event.tokenVersion(), Math::max);
+    }
+
+    // Usuário que não existe mais não tem versão aceitável
+    private int lookUp(long userId) {
+        int version = userRepository.findTokenVersionById(userId).orElse(Integer.MAX_VALUE);
+        return Math.max(version, minimumVersions.getOrDefault(userId, 0));
+    }
+
+    private void refreshIfDue() {
+        if (System.nanoTime() - nextRefreshAt < 0 || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (TokenVersionView user : userRepository.findRevokedTokenVersions()) {
+                minimumVersions.merge(user.getId(), user.getTokenVersion(), Math::max);
+            }
+            loaded = true;
+            nextRefreshAt = System.nanoTime() + refreshIntervalNanos;
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh revoked token versions, retrying shortly: {}", e.getMessage());
+            nextRefreshAt = System.nanoTime() + retryBackoffNanos;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.terraria.calamity.application.security;
+
+/**
+ * Publicado quando algo que entra no principal autenticado (role, enabled)
+ * muda. Carrega a nova {@code tokenVersion} do usuário; consumido depois do
+ * commit pelo {@link PrincipalCache} e pelo {@link TokenVersionRegistry}.
+ */
+public record UserAccountChangedEvent(Long userId, String email, int tokenVersion) {
+}
@@ -1,28 +1,49 @@
 package com.terraria.calamity.application.service;
 
 import com.terraria.calamity.api.controller.ArmorController.ArmorRequestDTO;
+import com.terraria.calamity.application.catalog.ArmorCatalogChangedEvent;
+import com.terraria.calamity.application.catalog.ArmorCatalogVersion;
+import com.terraria.calamity.application.catalog.SerializedResponse;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
 import com.terraria.calamity.application.mapper.ArmorMapper;
+import com.terraria.calamity.application.search.NameMatch;
+import com.terraria.calamity.application.search.NameSearchEngine;
 import com.terraria.calamity.domain.dto.ArmorResponseDTO;
+import com.terraria.calamity.domain.dto.ArmorSummaryDTO;
 import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.ArmorPiece;
 import com.terraria.calamity.domain.entity.Rarity;
 import com.terraria.calamity.domain.repository.ArmorRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ArmorService {
+    private static final int NAME_SEARCH_LIMIT = 50;
+
     private final ArmorRepository armorRepository;
     private final ArmorMapper armorMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NameSearchEngine nameSearchEngine;
+    private final ArmorCatalogVersion armorCatalogVersion;
+    private final SerializedResponseCache responseCache;
 
     public ArmorResponseDTO create(ArmorRequestDTO requestDTO) {
         Armor armor = armorMapper.toEntity(requestDTO);
         Armor saved = armorRepository.save(armor);
+        eventPublisher.publishEvent(ArmorCatalogChangedEvent.upserted(saved));
         return armorMapper.toResponseDTO(saved);
     }
 
@@ -40,6 +61,18 @@ public class ArmorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista completa (ou resumo) já serializada em JSON, reaproveitada
+     * enquanto nenhuma armadura for escrita. A versão é lida antes da
+     * consulta, para que dados antigos nunca fiquem sob uma versão nova.
+     */
+    @Transactional(readOnly = true)
+    public SerializedResponse findAllSerialized(boolean summary) {
+        long version = armorCatalogVersion.current();
+        return responseCache.get(summary ? "armor:summary" : "armor:full", version,
+                () -> summary ? findAllSummaries() : findAll());
+    }
+
     @Transactional(readOnly = true)
     public List<ArmorResponseDTO> findByClass(Armor.ArmorClass armorClass) {
         return armorRepository.findByArmorClass(armorClass).stream()
@@ -54,6 +87,39 @@ public class ArmorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<ArmorSummaryDTO> findAllSummaries() {
+        return armorRepository.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArmorSummaryDTO> findSummariesByClass(Armor.ArmorClass armorClass) {
+        return armorRepository.findSummariesByArmorClass(armorClass);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ArmorSummaryDTO> findSummariesByRarity(Rarity rarity) {
+        return armorRepository.findSummariesByRarity(rarity);
+    }
+
+    /**
+     * Até {@value #NAME_SEARCH_LIMIT} armaduras por relevância (prefixo,
+     * substring, nomes parecidos), na ordem do {@link NameSearchEngine}.
+     */
+    @Transactional(readOnly = true)
+    public List<ArmorResponseDTO> searchByName(String name) {
+        List<Long> ids = nameSearchEngine.search(NameSearchEngine.Target.ARMORS, name, NAME_SEARCH_LIMIT).stream()
+                .map(NameMatch::id)
+                .toList();
+        Map<Long, Armor> byId = armorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Armor::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(armor -> armor != null)
+                .map(armorMapper::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     public ArmorResponseDTO update(Long id, ArmorRequestDTO requestDTO) {
         Armor armor = armorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Armor not found with ID: " + id));
@@ -68,23 +134,44 @@ public class ArmorService {
         armor.setMarkdownContent(updated.getMarkdownContent());
         armor.setFlavorText(updated.getFlavorText());
 
-        // Flush the orphan-removal deletes for the old pieces before adding the new
-        // ones. Without this, Hibernate orders the re-inserts before the deletes within
-        // a single flush, which collides with uq_armor_pieces_armor_slot whenever the
-        // updated set reuses a slot the armor already had (e.g. resubmitting the same
-        // HELMET/CHEST/LEGS slots on every real edit).
-        armor.getPieces().clear();
-        armorRepository.saveAndFlush(armor);
+        reconcilePieces(armor, updated.getPieces());
 
-        updated.getPieces().forEach(armor::addPiece);
         Armor saved = armorRepository.save(armor);
+        eventPublisher.publishEvent(ArmorCatalogChangedEvent.upserted(saved));
         return armorMapper.toResponseDTO(saved);
     }
 
+    /**
+     * Aplica as peças recebidas por {@link ArmorPiece.Slot}: slots existentes
+     * são atualizados no lugar, slots novos inseridos e slots ausentes
+     * removidos (orphanRemoval). Como nenhum slot é apagado e reinserido, tudo
+     * cabe num único flush sem violar uq_armor_pieces_armor_slot.
+     */
+    private void reconcilePieces(Armor armor, List<ArmorPiece> incoming) {
+        Set<ArmorPiece.Slot> incomingSlots = incoming.stream()
+                .map(ArmorPiece::getSlot)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ArmorPiece.Slot.class)));
+        armor.getPieces().removeIf(piece -> !incomingSlots.contains(piece.getSlot()));
+
+        Map<ArmorPiece.Slot, ArmorPiece> existing = new EnumMap<>(ArmorPiece.Slot.class);
+        armor.getPieces().forEach(piece -> existing.put(piece.getSlot(), piece));
+        for (ArmorPiece piece : incoming) {
+            ArmorPiece current = existing.remove(piece.getSlot());
+            if (current == null) {
+                armor.addPiece(piece);
+                continue;
+            }
+            current.setName(piece.getName());
+            current.setImageUrl(piece.getImageUrl());
+            current.setDefense(piece.getDefense());
+        }
+    }
+
     public void delete(Long id) {
         if (!armorRepository.existsById(id)) {
             throw new RuntimeException("Armor not found with ID: " + id);
         }
         armorRepository.deleteById(id);
+        eventPublisher.publishEvent(ArmorCatalogChangedEvent.deleted(id));
     }
 }
@@ -1,6 +1,7 @@
 package com.terraria.calamity.application.service;
 
 import com.terraria.calamity.api.exception.DuplicateResourceException;
+import com.terraria.calamity.application.security.RefreshTokenFamilies;
 import com.terraria.calamity.domain.dto.AuthResponse;
 import com.terraria.calamity.domain.dto.LoginRequest;
 import com.terraria.calamity.domain.dto.RegisterRequest;
@@ -9,6 +10,8 @@ import com.terraria.calamity.domain.entity.Role;
 import com.terraria.calamity.domain.entity.User;
 import com.terraria.calamity.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
@@ -17,29 +20,31 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.Locale;
+
 /**
  * Orquestra registro e login.
- * - register: valida unicidade, faz hash BCrypt, persiste e emite o JWT.
+ * - register: faz hash BCrypt, persiste com um único INSERT (unicidade pelas
+ *   constraints do banco) e emite o JWT.
  * - login: autentica via AuthenticationManager e emite o JWT.
+ * - refresh: rotaciona o refresh token e emite um novo access token (JWT curto).
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class AuthService {
 
+    // SQLSTATE unique_violation (PostgreSQL e H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.email())) {
-            throw new DuplicateResourceException("Email already registered: " + request.email());
-        }
-        if (userRepository.existsByUsername(request.username())) {
-            throw new DuplicateResourceException("Username already taken: " + request.username());
-        }
-
         User user = User.builder()
                 .username(request.username())
                 .email(request.email())
@@ -48,13 +53,56 @@ public class AuthService {
                 .enabled(true)
                 .build();
 
-        User saved = userRepository.save(user);
-        String token = jwtService.generateToken(saved.getEmail());
+        // Um INSERT só: a unicidade fica com uk_users_email/uk_users_username (V16), sem corrida
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw duplicateUser(ex, request);
+        }
+        String token = jwtService.generateToken(saved);
+        String refreshToken = refreshTokenService.issue(saved);
 
-        return AuthResponse.bearer(token, saved.getUsername(), saved.getEmail(), saved.getRole().name());
+        return AuthResponse.bearer(token, refreshToken, saved.getUsername(), saved.getEmail(), saved.getRole().name());
+    }
+
+    private static RuntimeException duplicateUser(DataIntegrityViolationException ex, RegisterRequest request) {
+        if (!isUniqueViolation(ex)) {
+            return ex;
+        }
+        String violated = violatedConstraint(ex);
+        if (violated.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateResourceException("Email already registered: " + request.email(), "email");
+        }
+        if (violated.contains(User.USERNAME_CONSTRAINT)) {
+            return new DuplicateResourceException("Username already taken: " + request.username(), "username");
+        }
+        return new DuplicateResourceException("User already registered");
+    }
+
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Nome da constraint (Hibernate) ou, sem ele, a mensagem do driver; em minúsculas. */
+    private static String violatedConstraint(Throwable ex) {
+        StringBuilder text = new StringBuilder();
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+            if (cause instanceof SQLException && cause.getMessage() != null) {
+                text.append(cause.getMessage());
+            }
+        }
+        return text.toString().toLowerCase(Locale.ROOT);
     }
 
-    @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         try {
             authenticationManager.authenticate(
@@ -66,8 +114,22 @@ public class AuthService {
         User user = userRepository.findByEmail(request.email())
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-        String token = jwtService.generateToken(user.getEmail());
-        return AuthResponse.bearer(token, user.getUsername(), user.getEmail(), user.getRole().name());
+        String token = jwtService.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user);
+        return AuthResponse.bearer(token, refreshToken, user.getUsername(), user.getEmail(), user.getRole().name());
+    }
+
+    /** Não consulta users quando a família está no índice quente: só o UPDATE de rotação. */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        RefreshTokenFamilies.Family family = rotation.family();
+        String token = jwtService.generateToken(family.claims());
+        return AuthResponse.bearer(token, rotation.refreshToken(), family.username(), family.email(), family.role().name());
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,290 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.catalog.CatalogImportedEvent;
+import com.terraria.calamity.application.catalog.CatalogVersions;
+import com.terraria.calamity.application.importer.CatalogImportFormat;
+import com.terraria.calamity.application.importer.ImportRowReader;
+import com.terraria.calamity.application.importer.StagingLoader;
+import com.terraria.calamity.domain.dto.ArmorImportRowDTO;
+import com.terraria.calamity.domain.dto.CatalogImportResultDTO;
+import com.terraria.calamity.domain.dto.WeaponImportRowDTO;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Import em massa de armas e armaduras a partir de NDJSON ou CSV.
+ *
+ * O corpo é lido linha a linha: cada linha válida vai direto para uma tabela
+ * temporária de staging pelo {@link StagingLoader} (COPY no Postgres) e as
+ * inválidas só entram no relatório, então a memória não depende do tamanho
+ * do arquivo. No fim, na mesma transação, um upsert por nome aplica o
+ * staging no catálogo: nomes que já existem são sobrescritos, os demais
+ * inseridos; se o mesmo nome aparece mais de uma vez no arquivo, a última
+ * linha vence.
+ *
+ * O upsert roda com a linha do catálogo em catalog_versions travada
+ * ({@link CatalogVersions#lock}), a mesma que toda escrita de armas ou
+ * armaduras trava: imports concorrentes, POSTs e aprovações de outras
+ * instâncias esperam o commit, então o "existe com esse nome?" do upsert
+ * não corre contra um INSERT em andamento. A trava só é pega depois do
+ * staging, para não segurar as outras escritas enquanto o corpo chega.
+ *
+ * Os ids novos vêm das mesmas sequences do Hibernate (V18), em blocos como
+ * os do pooled-lo: um {@code nextval} a cada {@value #ID_BLOCK_SIZE} linhas
+ * novas reserva o bloco {@code [base, base + 49]}, e a linha de posição
+ * {@code n} (0, 1, ...) recebe {@code base do bloco n / 50 + n % 50}. Os
+ * ids saem contíguos dentro de cada bloco e nunca colidem com os blocos que
+ * o Hibernate reserva.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogImportService {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    // INCREMENT das sequences (V18) e allocationSize padrão do Hibernate
+    static final int ID_BLOCK_SIZE = 50;
+
+    private static final String WEAPON_STAGING = "import_weapons";
+    private static final List<String> WEAPON_COLUMNS = List.of("row_no", "name", "weapon_class", "element",
+            "base_damage", "critical_chance", "attacks_per_turn", "range", "rarity", "price", "quality",
+            "abilities", "description", "image_url");
+    private static final String WEAPON_DDL = """
+            row_no BIGINT NOT NULL, name VARCHAR(100) NOT NULL, weapon_class VARCHAR(50) NOT NULL,
+            element VARCHAR(50) NOT NULL, base_damage INTEGER NOT NULL, critical_chance INTEGER NOT NULL,
+            attacks_per_turn DOUBLE PRECISION NOT NULL, range INTEGER NOT NULL, rarity INTEGER NOT NULL,
+            price INTEGER NOT NULL, quality INTEGER NOT NULL, abilities TEXT, description TEXT,
+            image_url VARCHAR(500)""";
+    private static final String WEAPON_FIELDS = "weapon_class, element, base_damage, critical_chance, "
+            + "attacks_per_turn, range, rarity, price, quality, abilities, description, image_url";
+
+    // Armaduras em formato longo: uma linha por peça (ou uma sem peça), com a armadura repetida
+    private static final String ARMOR_STAGING = "import_armors";
+    private static final List<String> ARMOR_COLUMNS = List.of("row_no", "name", "armor_class", "rarity",
+            "total_defense", "image_url", "markdown_content", "flavor_text",
+            "slot", "piece_name", "piece_image_url", "piece_defense");
+    private static final String ARMOR_DDL = """
+            row_no BIGINT NOT NULL, name VARCHAR(100) NOT NULL, armor_class VARCHAR(20) NOT NULL,
+            rarity VARCHAR(20) NOT NULL, total_defense INTEGER NOT NULL, image_url VARCHAR(500),
+            markdown_content TEXT, flavor_text VARCHAR(500), slot VARCHAR(10), piece_name VARCHAR(100),
+            piece_image_url VARCHAR(500), piece_defense INTEGER""";
+    private static final String ARMOR_FIELDS = "armor_class, rarity, total_defense, image_url, "
+            + "markdown_content, flavor_text";
+    // A linha mais recente de cada armadura é a que define os campos da armadura
+    private static final String LATEST_ARMOR_ROW =
+            "s.row_no = (SELECT MAX(n.row_no) FROM import_armors n WHERE n.name = s.name)";
+
+    private static final Map<String, String> CSV_PIECE_COLUMNS = Map.of(
+            "pieceSlot", "slot", "pieceName", "name", "pieceImageUrl", "imageUrl", "pieceDefense", "defense");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StagingLoader stagingLoader;
+    private final CatalogVersions catalogVersions;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public CatalogImportResultDTO importWeapons(BufferedReader body, CatalogImportFormat format) {
+        ImportRowReader<WeaponImportRowDTO> rows = new ImportRowReader<>(
+                body, format, WeaponImportRowDTO.class, jsonMapper, validator, UnaryOperator.identity());
+        Staged staged = stage(rows, WEAPON_STAGING, WEAPON_DDL, WEAPON_COLUMNS, (row, sink) ->
+                sink.add(row.name(), row.weaponClass().name(), row.element().name(), row.baseDamage(),
+                        row.criticalChance(), row.attacksPerTurn(), row.range(), row.rarity(), row.price(),
+                        row.quality(), row.abilities(), row.description(), row.imageUrl()));
+
+        jdbcTemplate.execute("CREATE INDEX import_weapons_name ON import_weapons (name, row_no)");
+        catalogVersions.lock(CatalogVersions.Catalog.WEAPONS);
+        jdbcTemplate.update("DELETE FROM import_weapons s WHERE EXISTS "
+                + "(SELECT 1 FROM import_weapons n WHERE n.name = s.name AND n.row_no > s.row_no)");
+        int updated = jdbcTemplate.update("UPDATE weapons w SET (" + WEAPON_FIELDS + ", updated_at) = "
+                + "(SELECT " + prefixed("s.", WEAPON_FIELDS) + ", CURRENT_TIMESTAMP "
+                + "FROM import_weapons s WHERE s.name = w.name) "
+                + "WHERE EXISTS (SELECT 1 FROM import_weapons s WHERE s.name = w.name)");
+        int inserted = insertWithIdBlocks("weapons", "name, " + WEAPON_FIELDS,
+                "s.name, " + prefixed("s.", WEAPON_FIELDS),
+                "FROM import_weapons s WHERE NOT EXISTS (SELECT 1 FROM weapons w WHERE w.name = s.name)");
+
+        if (updated + inserted > 0) {
+            eventPublisher.publishEvent(new CatalogImportedEvent(CatalogImportedEvent.Kind.WEAPONS));
+        }
+        return staged.result(inserted, updated, 0);
+    }
+
+    @Transactional
+    public CatalogImportResultDTO importArmors(BufferedReader body, CatalogImportFormat format) {
+        ImportRowReader<ArmorImportRowDTO> rows = new ImportRowReader<>(
+                body, format, ArmorImportRowDTO.class, jsonMapper, validator, CatalogImportService::nestCsvPiece);
+        Staged staged = stage(rows, ARMOR_STAGING, ARMOR_DDL, ARMOR_COLUMNS, (row, sink) -> {
+            if (row.piecesOrEmpty().isEmpty()) {
+                sink.add(row.name(), row.armorClass().name(), row.rarity().name(), row.totalDefense(),
+                        row.imageUrl(), row.markdownContent(), row.flavorText(), null, null, null, null);
+            }
+            for (ArmorImportRowDTO.Piece piece : row.piecesOrEmpty()) {
+                sink.add(row.name(), row.armorClass().name(), row.rarity().name(), row.totalDefense(),
+                        row.imageUrl(), row.markdownContent(), row.flavorText(),
+                        piece.slot().name(), piece.name(), piece.imageUrl(), piece.defense());
+            }
+        });
+
+        jdbcTemplate.execute("CREATE INDEX import_armors_name ON import_armors (name, row_no)");
+        catalogVersions.lock(CatalogVersions.Catalog.ARMORS);
+        // Peças repetidas (mesma armadura e slot): a última vence
+        jdbcTemplate.update("DELETE FROM import_armors s WHERE s.slot IS NOT NULL AND EXISTS "
+                + "(SELECT 1 FROM import_armors n WHERE n.name = s.name AND n.slot = s.slot AND n.row_no > s.row_no)");
+        int updated = jdbcTemplate.update("UPDATE armors a SET (" + ARMOR_FIELDS + ", updated_at) = "
+                + "(SELECT " + prefixed("s.", ARMOR_FIELDS) + ", CURRENT_TIMESTAMP "
+                + "FROM import_armors s WHERE s.name = a.name AND " + LATEST_ARMOR_ROW + ") "
+                + "WHERE EXISTS (SELECT 1 FROM import_armors s WHERE s.name = a.name)");
+        int inserted = insertWithIdBlocks("armors", "name, " + ARMOR_FIELDS,
+                "s.name, " + prefixed("s.", ARMOR_FIELDS),
+                "FROM import_armors s WHERE " + LATEST_ARMOR_ROW
+                        + " AND NOT EXISTS (SELECT 1 FROM armors a WHERE a.name = s.name)");
+        // Peças importadas substituem as do mesmo slot; slots ausentes no arquivo ficam como estão
+        jdbcTemplate.update("DELETE FROM armor_pieces p WHERE EXISTS (SELECT 1 FROM import_armors s "
+                + "JOIN armors a ON a.name = s.name WHERE a.id = p.armor_id AND s.slot = p.slot)");
+        int pieces = insertWithIdBlocks("armor_pieces", "armor_id, slot, name, image_url, defense",
+                "a.id AS armor_id, s.slot, s.piece_name AS name, s.piece_image_url AS image_url, "
+                        + "s.piece_defense AS defense",
+                "FROM import_armors s JOIN armors a ON a.name = s.name WHERE s.slot IS NOT NULL");
+
+        if (updated + inserted > 0) {
+            eventPublisher.publishEvent(new CatalogImportedEvent(CatalogImportedEvent.Kind.ARMORS));
+        }
+        return staged.result(inserted, updated, pieces);
+    }
+
+    /** Lê o corpo inteiro, carregando as linhas válidas no staging e guardando os erros. */
+    private <T> Staged stage(ImportRowReader<T> rows, String table, String ddl, List<String> columns,
+                             StagingWriter<T> writer) {
+        return jdbcTemplate.execute((ConnectionCallback<Staged>) connection -> {
+            stagingLoader.createTable(connection, table, ddl);
+            StagingLoader.Sink sink = stagingLoader.open(connection, table, columns);
+            Staged staged = new Staged();
+            // row_no numera as linhas do staging na ordem do arquivo (uma linha NDJSON de armadura pode gerar várias)
+            StagingWriter.Target numbered = values -> {
+                Object[] row = new Object[values.length + 1];
+                row[0] = ++staged.rowsStaged;
+                System.arraycopy(values, 0, row, 1, values.length);
+                sink.add(row);
+            };
+            try {
+                for (ImportRowReader.Row<T> row = rows.next(); row != null; row = rows.next()) {
+                    staged.rowsRead++;
+                    if (row.isValid()) {
+                        writer.write(row.value(), numbered);
+                    } else {
+                        staged.reject(row);
+                    }
+                }
+                sink.finish();
+            } catch (IOException e) {
+                sink.abort();
+                throw new UncheckedIOException(e);
+            } catch (SQLException | RuntimeException e) {
+                sink.abort();
+                throw e;
+            }
+            stagingLoader.afterLoad(connection, table);
+            return staged;
+        });
+    }
+
+    /**
+     * {@code INSERT INTO table (id, columns, created_at, updated_at)} com as
+     * linhas de {@code SELECT select from} na ordem de {@code s.row_no}.
+     * {@code select} produz uma coluna por nome de {@code columns}.
+     *
+     * Primeiro reserva um bloco da sequence por {@value #ID_BLOCK_SIZE}
+     * linhas numa tabela temporária {@code (block_no, base)}; depois insere
+     * cada linha com o id da sua posição dentro do bloco.
+     */
+    private int insertWithIdBlocks(String table, String columns, String select, String from) {
+        String blocks = "import_" + table + "_ids";
+        String ranked = "(SELECT " + select + ", ROW_NUMBER() OVER (ORDER BY s.row_no) - 1 AS rn " + from + ") r";
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            stagingLoader.createTable(connection, blocks, "block_no BIGINT NOT NULL, base BIGINT NOT NULL");
+            return null;
+        });
+        jdbcTemplate.update("INSERT INTO " + blocks + " (block_no, base) "
+                + "SELECT r.rn / " + ID_BLOCK_SIZE + ", nextval('" + table + "_id_seq') "
+                + "FROM " + ranked + " WHERE MOD(r.rn, " + ID_BLOCK_SIZE + ") = 0");
+        return jdbcTemplate.update("INSERT INTO " + table + " (id, " + columns + ", created_at, updated_at) "
+                + "SELECT b.base + MOD(r.rn, " + ID_BLOCK_SIZE + "), " + prefixed("r.", columns)
+                + ", CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM " + ranked
+                + " JOIN " + blocks + " b ON b.block_no = r.rn / " + ID_BLOCK_SIZE);
+    }
+
+    /**
+     * CSV de armaduras: as colunas {@code pieceSlot}, {@code pieceName},
+     * {@code pieceImageUrl} e {@code pieceDefense} viram o único item de
+     * {@code pieces}.
+     */
+    static Map<String, Object> nestCsvPiece(Map<String, Object> fields) {
+        Map<String, Object> armor = new LinkedHashMap<>();
+        Map<String, Object> piece = new LinkedHashMap<>();
+        fields.forEach((field, value) -> {
+            String pieceField = CSV_PIECE_COLUMNS.get(field);
+            if (pieceField != null) {
+                piece.put(pieceField, value);
+            } else {
+                armor.put(field, value);
+            }
+        });
+        if (!piece.isEmpty()) {
+            armor.put("pieces", List.of(piece));
+        }
+        return armor;
+    }
+
+    private static String prefixed(String prefix, String fields) {
+        return prefix + fields.replace(", ", ", " + prefix);
+    }
+
+    @FunctionalInterface
+    private interface StagingWriter<T> {
+
+        /** Grava uma linha do arquivo no staging, sem a coluna row_no. */
+        void write(T row, Target target) throws SQLException;
+
+        @FunctionalInterface
+        interface Target {
+            void add(Object... values) throws SQLException;
+        }
+    }
+
+    private static final class Staged {
+
+        private long rowsRead;
+        private long rowsRejected;
+        private long rowsStaged;
+        private final List<CatalogImportResultDTO.RowError> errors = new ArrayList<>();
+
+        private void reject(ImportRowReader.Row<?> row) {
+            rowsRejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CatalogImportResultDTO.RowError(row.line(), row.error()));
+            }
+        }
+
+        private CatalogImportResultDTO result(long inserted, long updated, long pieces) {
+            return new CatalogImportResultDTO(rowsRead, rowsRejected, inserted, updated, pieces, errors);
+        }
+    }
+}
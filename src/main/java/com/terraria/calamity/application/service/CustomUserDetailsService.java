@@ -5,6 +5,7 @@ import com.terraria.calamity.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,10 +16,13 @@ import java.util.List;
 /**
  * Carrega o usuario pelo e-mail (usado como "username" pelo Spring Security)
  * e o adapta para UserDetails com a authority ROLE_<role>.
+ *
+ * Como UserDetailsPasswordService, recebe do DaoAuthenticationProvider o hash
+ * regerado quando o login confere uma senha com força BCrypt desatualizada.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -35,4 +39,13 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .disabled(!user.getEnabled())
                 .build();
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByEmail(user.getUsername()).ifPresent(entity -> entity.setPassword(newPassword));
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 }
@@ -1,41 +1,101 @@
 package com.terraria.calamity.application.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.terraria.calamity.application.security.JwtClaims;
+import com.terraria.calamity.domain.entity.Role;
+import com.terraria.calamity.domain.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 
 /**
  * Geração e validação de JWT de acesso (HS256).
- * O subject do token é o e-mail do usuário.
+ * O subject do token é o e-mail do usuário; tokens emitidos no login/registro
+ * também levam id ({@code uid}), role ({@code role}) e versão de token
+ * ({@code tv}), o suficiente para autenticar sem consultar o banco.
+ *
+ * O parser é único (thread-safe). Tokens já verificados ficam num LRU
+ * limitado, chaveado pelo SHA-256 do token e válido só até o {@code exp}
+ * dele: o mesmo bearer repetido paga a verificação HMAC uma vez.
  */
 @Service
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
     private static final String DEV_DEFAULT_SECRET = "dev-secret-change-me-terraria-calamity-rpg-min-32-chars";
 
     private final SecretKey key;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
+    public JwtService(String secret, long expirationMs) {
+        this(secret, expirationMs, 10_000);
+    }
+
+    /**
+     * @param verifiedCacheSize máximo de tokens verificados em memória; 0 desliga o cache
+     */
+    @Autowired
     public JwtService(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long expirationMs) {
+            @Value("${jwt.expiration}") long expirationMs,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize) {
         if (DEV_DEFAULT_SECRET.equals(secret)) {
             log.warn("JWT is using the built-in development default secret. "
                     + "Set a strong JWT_SECRET (>= 32 bytes) via environment before deploying to production.");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(Expiry.creating((String hash, VerifiedToken token) ->
+                                Duration.ofMillis(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()))))
+                        .build()
+                : null;
+    }
+
+    /** Token com claims completas (uid, role, tv). */
+    public String generateToken(User user) {
+        return generateToken(new JwtClaims(user.getEmail(), user.getId(), user.getRole(), user.getTokenVersion()));
+    }
+
+    public String generateToken(JwtClaims claims) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + expirationMs);
+        return Jwts.builder()
+                .subject(claims.email())
+                .claim(CLAIM_USER_ID, claims.userId())
+                .claim(CLAIM_ROLE, claims.role().name())
+                .claim(CLAIM_TOKEN_VERSION, claims.tokenVersion())
+                .issuedAt(now)
+                .expiration(expiry)
+                .signWith(key)
+                .compact();
     }
 
+    /** Token só com o subject; quem o recebe precisa carregar o usuário do banco. */
     public String generateToken(String email) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
@@ -48,12 +108,28 @@ public class JwtService {
     }
 
     public String extractEmail(String token) {
-        return parse(token).getSubject();
+        return parseClaims(token).email();
+    }
+
+    /** Verifica a assinatura/expiração (ou acha o token já verificado) e devolve as claims de acesso. */
+    public JwtClaims parseClaims(String token) {
+        if (verifiedTokens == null) {
+            return verify(token).claims();
+        }
+        String hash = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        // A expiração do Caffeine é amortizada; confere o exp de novo no hit
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.claims();
+        }
+        VerifiedToken verified = verify(token);
+        verifiedTokens.put(hash, verified);
+        return verified.claims();
     }
 
     public boolean isValid(String token) {
         try {
-            parse(token);
+            parseClaims(token);
             return true;
         } catch (Exception e) {
             log.debug("JWT validation failed: {}", e.getMessage());
@@ -61,11 +137,27 @@ public class JwtService {
         }
     }
 
-    private Claims parse(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private VerifiedToken verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String role = claims.get(CLAIM_ROLE, String.class);
+        JwtClaims accessClaims = new JwtClaims(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, Long.class),
+                role != null ? Role.valueOf(role) : null,
+                claims.get(CLAIM_TOKEN_VERSION, Integer.class));
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        return new VerifiedToken(accessClaims, expiresAt);
     }
+
+    // Guarda o hash, não o token: o cache não vira uma lista de bearers válidos
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(JwtClaims claims, long expiresAtMillis) {}
 }
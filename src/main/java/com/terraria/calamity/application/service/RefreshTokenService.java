@@ -0,0 +1,127 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.security.RefreshTokenFamilies;
+import com.terraria.calamity.application.security.RefreshTokenFamilies.Family;
+import com.terraria.calamity.domain.entity.RefreshToken;
+import com.terraria.calamity.domain.entity.User;
+import com.terraria.calamity.domain.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos ({@code <familyId>.<segredo>}) com rotação a cada uso.
+ *
+ * - issue: cria a família (uma por login/registro).
+ * - rotate: troca o token atual por um novo num único UPDATE condicional;
+ *   se o token apresentado não é o vigente (reuso de um token já rotacionado,
+ *   ou expirado), a família inteira é revogada.
+ * - revoke: logout.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenFamilies families;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            RefreshTokenFamilies families,
+            @Value("${jwt.refresh-expiration:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.families = families;
+        this.ttl = ttl;
+    }
+
+    public String issue(User user) {
+        UUID familyId = UUID.randomUUID();
+        String token = newToken(familyId);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .familyId(familyId)
+                .tokenHash(sha256(token))
+                .expiresAt(LocalDateTime.now().plus(ttl))
+                .build());
+        families.put(familyId, Family.of(user));
+        return token;
+    }
+
+    // A revogação por reuso precisa sobreviver à exceção
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String refreshToken) {
+        UUID familyId = familyOf(refreshToken);
+        Family family = families.get(familyId);
+        if (family == null) {
+            RefreshToken stored = refreshTokenRepository.findActiveFamily(familyId).orElseThrow(RefreshTokenService::invalidToken);
+            if (!stored.getUser().getEnabled()) {
+                throw invalidToken();
+            }
+            family = Family.of(stored.getUser());
+            families.put(familyId, family);
+        }
+
+        String next = newToken(familyId);
+        LocalDateTime now = LocalDateTime.now();
+        int rotated = refreshTokenRepository.rotate(familyId, sha256(refreshToken), sha256(next), now.plus(ttl), now);
+        if (rotated == 0) {
+            refreshTokenRepository.revokeFamily(familyId);
+            families.remove(familyId);
+            throw invalidToken();
+        }
+        return new Rotation(next, family);
+    }
+
+    public void revoke(String refreshToken) {
+        UUID familyId = familyOf(refreshToken);
+        refreshTokenRepository.revokeFamily(familyId);
+        families.remove(familyId);
+    }
+
+    private static UUID familyOf(String refreshToken) {
+        int dot = refreshToken == null ? -1 : refreshToken.indexOf('.');
+        if (dot <= 0) {
+            throw invalidToken();
+        }
+        try {
+            return UUID.fromString(refreshToken.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            throw invalidToken();
+        }
+    }
+
+    private static BadCredentialsException invalidToken() {
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    private String newToken(UUID familyId) {
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        return familyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static String sha256(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Novo refresh token e o dono da família, para emitir o access token. */
+    public record Rotation(String refreshToken, Family family) {}
+}
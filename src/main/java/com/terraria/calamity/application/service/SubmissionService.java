@@ -3,7 +3,11 @@ package com.terraria.calamity.application.service;
 import com.terraria.calamity.api.exception.DuplicateResourceException;
 import com.terraria.calamity.api.exception.ForbiddenActionException;
 import com.terraria.calamity.api.exception.InvalidSubmissionStateException;
+import com.terraria.calamity.application.catalog.WeaponCatalogChangedEvent;
 import com.terraria.calamity.application.mapper.WeaponPayloadMapper;
+import com.terraria.calamity.domain.dto.SubmissionBatchRequestDTO;
+import com.terraria.calamity.domain.dto.SubmissionBatchResponseDTO;
+import com.terraria.calamity.domain.dto.SubmissionPageResponseDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionResponseDTO;
 import com.terraria.calamity.domain.entity.EntityType;
@@ -12,14 +16,26 @@ import com.terraria.calamity.domain.entity.SubmissionStatus;
 import com.terraria.calamity.domain.entity.SubmissionType;
 import com.terraria.calamity.domain.entity.User;
 import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.SubmissionKeyset;
 import com.terraria.calamity.domain.repository.SubmissionRepository;
 import com.terraria.calamity.domain.repository.UserRepository;
 import com.terraria.calamity.domain.repository.WeaponRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +46,8 @@ public class SubmissionService {
     private final WeaponRepository weaponRepository;
     private final UserRepository userRepository;
     private final WeaponPayloadMapper weaponPayloadMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     public WeaponSubmissionResponseDTO create(WeaponSubmissionRequestDTO dto, String submitterEmail) {
         User submitter = userRepository.findByEmail(submitterEmail)
@@ -66,11 +84,43 @@ public class SubmissionService {
                 .toList();
     }
 
+    /**
+     * Fila de moderação paginada por keyset em {@code (createdAt, id)}.
+     * Busca uma linha a mais que o limite só para saber se há próxima página.
+     */
     @Transactional(readOnly = true)
-    public List<WeaponSubmissionResponseDTO> findByStatus(SubmissionStatus status) {
-        return submissionRepository.findByEntityTypeAndStatusOrderByCreatedAtAsc(EntityType.WEAPON, status).stream()
-                .map(weaponPayloadMapper::toResponseDTO)
-                .toList();
+    public SubmissionPageResponseDTO findByStatus(SubmissionStatus status, SubmissionKeyset after, int limit) {
+        List<Submission> rows = submissionRepository.findQueue(EntityType.WEAPON, status, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new SubmissionPageResponseDTO(rows.stream().map(weaponPayloadMapper::toResponseDTO).toList(), null);
+        }
+        List<Submission> page = rows.subList(0, limit);
+        Submission last = page.get(limit - 1);
+        return new SubmissionPageResponseDTO(page.stream().map(weaponPayloadMapper::toResponseDTO).toList(),
+                new SubmissionKeyset(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Percorre a fila inteira em lotes de {@code batchSize}, entregando cada
+     * submissão ao {@code sink} (export NDJSON). Sem transação envolvendo tudo:
+     * cada lote é uma consulta própria, então nenhuma conexão fica presa
+     * enquanto o cliente lê. Se um EntityManager estiver ligado à thread (ex.:
+     * open-in-view), o contexto é limpo a cada lote para a memória não passar
+     * de um lote.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportByStatus(SubmissionStatus status, int batchSize, Consumer<WeaponSubmissionResponseDTO> sink) {
+        SubmissionKeyset after = null;
+        List<Submission> batch;
+        do {
+            batch = submissionRepository.findQueue(EntityType.WEAPON, status, after, batchSize);
+            batch.forEach(submission -> sink.accept(weaponPayloadMapper.toResponseDTO(submission)));
+            if (!batch.isEmpty()) {
+                Submission last = batch.getLast();
+                after = new SubmissionKeyset(last.getCreatedAt(), last.getId());
+            }
+            entityManager.clear();
+        } while (batch.size() == batchSize);
     }
 
     @Transactional(readOnly = true)
@@ -96,15 +146,17 @@ public class SubmissionService {
             throw new InvalidSubmissionStateException("Only PENDING submissions can be approved");
         }
 
+        Weapon approved;
         if (submission.getSubmissionType() == SubmissionType.CREATE) {
-            weaponRepository.save(weaponPayloadMapper.toApprovedWeapon(submission));
+            approved = weaponPayloadMapper.toApprovedWeapon(submission);
         } else {
-            Weapon target = weaponRepository.findById(submission.getTargetEntityId())
+            approved = weaponRepository.findById(submission.getTargetEntityId())
                     .orElseThrow(() -> new RuntimeException(
                             "Weapon not found with ID: " + submission.getTargetEntityId()));
-            weaponPayloadMapper.applyToExistingWeapon(submission, target);
-            weaponRepository.save(target);
+            weaponPayloadMapper.applyToExistingWeapon(submission, approved);
         }
+        weaponRepository.save(approved);
+        eventPublisher.publishEvent(WeaponCatalogChangedEvent.upserted(approved));
 
         submission.setStatus(SubmissionStatus.APPROVED);
         Submission saved = submissionRepository.save(submission);
@@ -122,6 +174,71 @@ public class SubmissionService {
         return weaponPayloadMapper.toResponseDTO(saved);
     }
 
+    /**
+     * Aprova ou rejeita um lote numa só transação: as submissões e as armas
+     * alvo vêm em duas consultas IN, as mudanças ficam nas entidades
+     * gerenciadas e o flush do commit manda os UPDATEs em batch JDBC (o
+     * tamanho do batch da sessão acompanha o do lote). Ids inexistentes, fora
+     * de PENDING ou com arma alvo removida viram falhas no resultado sem
+     * afetar os demais.
+     */
+    public SubmissionBatchResponseDTO decideBatch(List<Long> ids, SubmissionBatchRequestDTO.Decision decision, String reason) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(distinctIds.size());
+
+        Map<Long, Submission> submissions = submissionRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Submission::getId, Function.identity()));
+        Map<Long, Weapon> targets = decision == SubmissionBatchRequestDTO.Decision.APPROVE
+                ? loadTargets(submissions.values())
+                : Map.of();
+
+        List<SubmissionBatchResponseDTO.Result> results = new ArrayList<>(distinctIds.size());
+        List<Weapon> created = new ArrayList<>();
+        List<Weapon> changed = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Submission submission = submissions.get(id);
+            String error = null;
+            if (submission == null || submission.getEntityType() != EntityType.WEAPON) {
+                error = "Submission not found with ID: " + id;
+            } else if (submission.getStatus() != SubmissionStatus.PENDING) {
+                error = "Only PENDING submissions can be " + (decision == SubmissionBatchRequestDTO.Decision.APPROVE
+                        ? "approved" : "rejected");
+            } else if (decision == SubmissionBatchRequestDTO.Decision.REJECT) {
+                submission.setStatus(SubmissionStatus.REJECTED);
+                submission.setRejectionReason(reason);
+            } else if (submission.getSubmissionType() == SubmissionType.CREATE) {
+                created.add(weaponPayloadMapper.toApprovedWeapon(submission));
+                submission.setStatus(SubmissionStatus.APPROVED);
+            } else {
+                Weapon target = targets.get(submission.getTargetEntityId());
+                if (target == null) {
+                    error = "Weapon not found with ID: " + submission.getTargetEntityId();
+                } else {
+                    weaponPayloadMapper.applyToExistingWeapon(submission, target);
+                    changed.add(target);
+                    submission.setStatus(SubmissionStatus.APPROVED);
+                }
+            }
+            results.add(new SubmissionBatchResponseDTO.Result(id, error == null ? submission.getStatus() : null, error));
+        }
+
+        changed.addAll(weaponRepository.saveAll(created));
+        changed.forEach(weapon -> eventPublisher.publishEvent(WeaponCatalogChangedEvent.upserted(weapon)));
+        return SubmissionBatchResponseDTO.of(results);
+    }
+
+    private Map<Long, Weapon> loadTargets(Collection<Submission> submissions) {
+        Set<Long> targetIds = submissions.stream()
+                .filter(submission -> submission.getSubmissionType() == SubmissionType.UPDATE)
+                .map(Submission::getTargetEntityId)
+                .collect(Collectors.toSet());
+        if (targetIds.isEmpty()) {
+            return Map.of();
+        }
+        return weaponRepository.findAllById(targetIds).stream()
+                .collect(Collectors.toMap(Weapon::getId, Function.identity()));
+    }
+
     private Submission getSubmissionOrThrow(Long id) {
         return submissionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Submission not found with ID: " + id));
@@ -0,0 +1,49 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.security.UserAccountChangedEvent;
+import com.terraria.calamity.domain.dto.UserResponse;
+import com.terraria.calamity.domain.entity.Role;
+import com.terraria.calamity.domain.entity.User;
+import com.terraria.calamity.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
+
+/**
+ * Alterações administrativas de acesso (role, enabled). Toda mudança efetiva
+ * incrementa a tokenVersion (revogando os JWTs emitidos) e publica
+ * {@link UserAccountChangedEvent} para derrubar o principal em cache.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class UserAdminService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserResponse updateAccess(Long id, Role role, Boolean enabled) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
+
+        boolean changed = false;
+        if (role != null && role != user.getRole()) {
+            user.setRole(role);
+            changed = true;
+        }
+        if (enabled != null && !Objects.equals(enabled, user.getEnabled())) {
+            user.setEnabled(enabled);
+            changed = true;
+        }
+        if (changed) {
+            // Tokens emitidos antes carregam a role/estado antigos nas claims
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            eventPublisher.publishEvent(
+                    new UserAccountChangedEvent(user.getId(), user.getEmail(), user.getTokenVersion()));
+        }
+        return new UserResponse(user.getUsername(), user.getEmail(), user.getRole().name());
+    }
+}
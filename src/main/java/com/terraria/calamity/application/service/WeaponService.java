@@ -2,74 +2,167 @@ package com.terraria.calamity.application.service;
 
 import com.terraria.calamity.api.controller.WeaponController;
 import com.terraria.calamity.api.exception.ResourceInUseException;
+import com.terraria.calamity.application.catalog.SerializedResponse;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
+import com.terraria.calamity.application.catalog.WeaponCatalog;
+import com.terraria.calamity.application.catalog.WeaponCatalogChangedEvent;
+import com.terraria.calamity.application.catalog.WeaponCatalogIndex;
+import com.terraria.calamity.application.catalog.WeaponCatalogSnapshot;
+import com.terraria.calamity.application.search.NameMatch;
+import com.terraria.calamity.application.search.NameSearchEngine;
+import com.terraria.calamity.domain.dto.WeaponPageResponseDTO;
 import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
 import com.terraria.calamity.domain.entity.Element;
 import com.terraria.calamity.domain.entity.EntityType;
 import com.terraria.calamity.domain.entity.Weapon;
 import com.terraria.calamity.domain.repository.SubmissionRepository;
+import com.terraria.calamity.domain.repository.WeaponKeyset;
 import com.terraria.calamity.domain.repository.WeaponRepository;
+import com.terraria.calamity.domain.repository.WeaponSearchCriteria;
 import com.terraria.calamity.application.mapper.WeaponMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Function;
 
+/**
+ * Leituras vêm do {@link WeaponCatalog} em memória (sem transação nem ida ao
+ * banco), exceto a consulta combinada com filtro por nome, que vai ao banco;
+ * escritas persistem via repositório e publicam um
+ * {@link WeaponCatalogChangedEvent} para o catálogo se atualizar após o commit.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class WeaponService {
+    private static final int NAME_SEARCH_LIMIT = 50;
+
     private final WeaponRepository weaponRepository;
     private final WeaponMapper weaponMapper;
     private final SubmissionRepository submissionRepository;
+    private final WeaponCatalog weaponCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NameSearchEngine nameSearchEngine;
+    private final SerializedResponseCache responseCache;
 
     public WeaponResponseDTO create(WeaponController.WeaponRequestDTO requestDTO) {
         Weapon weapon = weaponMapper.toEntity(requestDTO);
         Weapon saved = weaponRepository.save(weapon);
+        eventPublisher.publishEvent(WeaponCatalogChangedEvent.upserted(saved));
         return weaponMapper.toResponseDTO(saved);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public WeaponResponseDTO findById(Long id) {
-        Weapon weapon = weaponRepository.findById(id)
+        return weaponCatalog.snapshot().findById(id)
             .orElseThrow(() -> new RuntimeException("Weapon not found with ID: " + id));
-        return weaponMapper.toResponseDTO(weapon);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<WeaponResponseDTO> findAll() {
-        return weaponRepository.findAll().stream()
-            .map(weaponMapper::toResponseDTO)
-            .collect(Collectors.toList());
+        return weaponCatalog.snapshot().weapons();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Lista completa (ou resumo) já serializada em JSON, reaproveitada
+     * enquanto a versão do snapshot não muda.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public SerializedResponse findAllSerialized(boolean summary) {
+        WeaponCatalogSnapshot snapshot = weaponCatalog.snapshot();
+        return responseCache.get(summary ? "weapons:summary" : "weapons:full", snapshot.version(), () -> summary
+            ? snapshot.weapons().stream().map(WeaponSummaryDTO::of).toList()
+            : snapshot.weapons());
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<WeaponResponseDTO> findByClass(Weapon.WeaponClass weaponClass) {
-        return weaponRepository.findByWeaponClass(weaponClass).stream()
-            .map(weaponMapper::toResponseDTO)
-            .collect(Collectors.toList());
+        return weaponCatalog.snapshot().index().byClass(weaponClass);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<WeaponResponseDTO> findByElement(Element element) {
-        return weaponRepository.findByElement(element).stream()
-            .map(weaponMapper::toResponseDTO)
-            .collect(Collectors.toList());
+        return weaponCatalog.snapshot().index().byElement(element);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<WeaponResponseDTO> findByRarity(Integer rarity) {
-        return weaponRepository.findByRarity(rarity).stream()
-            .map(weaponMapper::toResponseDTO)
-            .collect(Collectors.toList());
+        return weaponCatalog.snapshot().index().byRarity(rarity);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Até {@value #NAME_SEARCH_LIMIT} armas por relevância: prefixo, substring
+     * e depois nomes parecidos (tolerante a erros de digitação). O
+     * {@link NameSearchEngine} só devolve ids; os DTOs vêm do snapshot.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<WeaponResponseDTO> searchByName(String name) {
-        return weaponRepository.findByNameContainingIgnoreCase(name).stream()
-            .map(weaponMapper::toResponseDTO)
-            .collect(Collectors.toList());
+        WeaponCatalogSnapshot snapshot = weaponCatalog.snapshot();
+        return nameSearchEngine.search(NameSearchEngine.Target.WEAPONS, name, NAME_SEARCH_LIMIT).stream()
+            .map(NameMatch::id)
+            .map(snapshot::findById)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    /**
+     * Consulta combinada com paginação por keyset em {@code (rarity, id)}.
+     * Busca uma linha a mais que o limite só para saber se há próxima página.
+     *
+     * Sem filtro por nome, a página sai do índice do snapshot
+     * ({@link WeaponCatalogIndex.Selection});
+     * o nome fica no banco para manter a semântica do {@code LIKE}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public WeaponPageResponseDTO<WeaponResponseDTO> query(WeaponSearchCriteria criteria, WeaponKeyset after, int limit) {
+        List<WeaponResponseDTO> rows = servedFromSnapshot(criteria)
+            ? selectFromSnapshot(criteria, after, limit + 1)
+            : weaponRepository.search(criteria, after, limit + 1).stream()
+                .map(weaponMapper::toResponseDTO)
+                .toList();
+        return page(rows, limit, weapon -> new WeaponKeyset(weapon.rarity(), weapon.id()));
+    }
+
+    /** Igual a {@link #query}, mas lendo só as colunas do resumo. */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public WeaponPageResponseDTO<WeaponSummaryDTO> querySummaries(
+            WeaponSearchCriteria criteria, WeaponKeyset after, int limit) {
+        List<WeaponSummaryDTO> rows = servedFromSnapshot(criteria)
+            ? selectFromSnapshot(criteria, after, limit + 1).stream().map(WeaponSummaryDTO::of).toList()
+            : weaponRepository.searchSummaries(criteria, after, limit + 1);
+        return page(rows, limit, weapon -> new WeaponKeyset(weapon.rarity(), weapon.id()));
+    }
+
+    private static boolean servedFromSnapshot(WeaponSearchCriteria criteria) {
+        return criteria.name() == null || criteria.name().isBlank();
+    }
+
+    private List<WeaponResponseDTO> selectFromSnapshot(WeaponSearchCriteria criteria, WeaponKeyset after, int limit) {
+        return weaponCatalog.snapshot().index().select()
+            .weaponClass(criteria.weaponClass())
+            .elements(criteria.elements() == null || criteria.elements().isEmpty() ? null : criteria.elements())
+            .rarityBetween(criteria.minRarity(), criteria.maxRarity())
+            .page(after, limit, weapon -> withinDamage(weapon.baseDamage(), criteria));
+    }
+
+    // Como no SQL, dano nulo não passa por nenhum limite informado
+    private static boolean withinDamage(Integer damage, WeaponSearchCriteria criteria) {
+        return (criteria.minDamage() == null || damage != null && damage >= criteria.minDamage())
+            && (criteria.maxDamage() == null || damage != null && damage <= criteria.maxDamage());
+    }
+
+    private static <T> WeaponPageResponseDTO<T> page(List<T> rows, int limit, Function<T, WeaponKeyset> keyset) {
+        if (rows.size() <= limit) {
+            return new WeaponPageResponseDTO<>(rows, null);
+        }
+        List<T> page = rows.subList(0, limit);
+        return new WeaponPageResponseDTO<>(List.copyOf(page), keyset.apply(page.get(limit - 1)).encode());
     }
 
     public WeaponResponseDTO update(Long id, WeaponController.WeaponRequestDTO requestDTO) {
@@ -93,6 +186,7 @@ public class WeaponService {
         weapon.setImageUrl(updatedWeapon.getImageUrl());
 
         Weapon saved = weaponRepository.save(weapon);
+        eventPublisher.publishEvent(WeaponCatalogChangedEvent.upserted(saved));
         return weaponMapper.toResponseDTO(saved);
     }
 
@@ -105,5 +199,6 @@ public class WeaponService {
                     "Não é possível deletar: esta arma possui submissões associadas");
         }
         weaponRepository.deleteById(id);
+        eventPublisher.publishEvent(WeaponCatalogChangedEvent.deleted(id));
     }
 }
@@ -0,0 +1,133 @@
+package com.terraria.calamity.config;
+
+import com.terraria.calamity.application.catalog.ArmorCatalogVersion;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
+import com.terraria.calamity.application.catalog.WeaponCatalog;
+import com.terraria.calamity.application.catalog.WeaponCatalogSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * GET condicional nas rotas públicas do catálogo, resolvido antes do
+ * controller: um 304 não toca no banco nem no Jackson.
+ *
+ * - ETag forte a partir da versão do catálogo ({@link WeaponCatalogSnapshot}
+ *   para armas, {@link ArmorCatalogVersion} para armaduras, as duas para
+ *   /catalog). As versões vêm de catalog_versions no banco, então todas as
+ *   instâncias respondem a mesma ETag para o mesmo conteúdo, também depois
+ *   de restarts.
+ * - Listagens também levam Last-Modified = última escrita no catálogo,
+ *   gravada junto com a versão.
+ * - Em rotas de uma entidade ({@code /{id}}) o Last-Modified é o
+ *   {@code updatedAt} dela, definido pelo controller; aqui só se responde 304
+ *   direto quando o If-Modified-Since já é posterior à última escrita do
+ *   catálogo inteiro.
+ * - GET /weapons e GET /armor sem filtros saem dos bytes pré-serializados e
+ *   podem sair em gzip: a ETag ganha o sufixo {@code -gz} nesse caso e a
+ *   resposta leva {@code Vary: Accept-Encoding}. Armaduras filtradas por
+ *   armorClass/rarity vêm do banco, sempre sem gzip, e não levam o sufixo.
+ * - {@code Cache-Control: no-cache}: caches podem guardar, mas revalidam.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    /** Listagens pré-serializadas → parâmetros que desviam delas (filtros vão ao banco e saem sem gzip). */
+    private static final Map<String, Set<String>> PRE_SERIALIZED_ROUTES = Map.of(
+            "/api/v1/weapons", Set.of(),
+            "/api/v1/armor", Set.of("armorClass", "rarity"));
+    private static final Pattern ENTITY_ROUTE = Pattern.compile("^/api/v1/(weapons|armor)/\\d+$");
+
+    private final WeaponCatalog weaponCatalog;
+    private final ArmorCatalogVersion armorCatalogVersion;
+
+    public ConditionalGetInterceptor(WeaponCatalog weaponCatalog, ArmorCatalogVersion armorCatalogVersion) {
+        this.weaponCatalog = weaponCatalog;
+        this.armorCatalogVersion = armorCatalogVersion;
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+        Validators validators = validatorsFor(pathWithinApplication(request));
+        if (validators == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        String path = pathWithinApplication(request);
+        if (!ENTITY_ROUTE.matcher(path).matches()) {
+            String etag = validators.etag();
+            // As listagens completas saem em gzip conforme o Accept-Encoding; ETag forte precisa diferir por representação
+            if (servedPreSerialized(path, request)) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (SerializedResponseCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                    etag = etag.substring(0, etag.length() - 1) + "-gz\"";
+                }
+            }
+            return !webRequest.checkNotModified(etag, validators.lastModified().toEpochMilli());
+        }
+
+        if (webRequest.checkNotModified(validators.etag())) {
+            return false;
+        }
+        long ifModifiedSince = request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                ? request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE)
+                : -1;
+        // Datas HTTP têm precisão de segundos
+        if (ifModifiedSince >= 0 && ifModifiedSince >= validators.lastModified().toEpochMilli() / 1000 * 1000) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    private Validators validatorsFor(String path) {
+        if (path.equals("/api/v1/weapons") || path.startsWith("/api/v1/weapons/")) {
+            WeaponCatalogSnapshot snapshot = weaponCatalog.snapshot();
+            return new Validators("\"w-" + Long.toHexString(snapshot.version()) + "\"", snapshot.changedAt());
+        }
+        if (path.equals("/api/v1/armor") || path.startsWith("/api/v1/armor/")) {
+            return new Validators("\"a-" + Long.toHexString(armorCatalogVersion.current()) + "\"",
+                    armorCatalogVersion.changedAt());
+        }
+        if (path.startsWith("/api/v1/catalog/")) {
+            WeaponCatalogSnapshot snapshot = weaponCatalog.snapshot();
+            Instant armorsChangedAt = armorCatalogVersion.changedAt();
+            return new Validators("\"c-" + Long.toHexString(snapshot.version())
+                    + "-" + Long.toHexString(armorCatalogVersion.current()) + "\"",
+                    snapshot.changedAt().isAfter(armorsChangedAt) ? snapshot.changedAt() : armorsChangedAt);
+        }
+        return null;
+    }
+
+    private static boolean servedPreSerialized(String path, HttpServletRequest request) {
+        Set<String> filters = PRE_SERIALIZED_ROUTES.get(path);
+        return filters != null && filters.stream()
+                .map(request::getParameter)
+                .allMatch(value -> value == null || value.isBlank());
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record Validators(String etag, Instant lastModified) {}
+}
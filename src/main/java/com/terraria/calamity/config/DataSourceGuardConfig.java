@@ -0,0 +1,51 @@
+package com.terraria.calamity.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o {@link DataSource} num {@link SemaphoreDataSource} quando
+ * {@code datasource.guard.enabled=true} (ligado pelo perfil virtual-threads).
+ * Métricas: {@code datasource.guard.waiting} e {@code datasource.guard.available}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.guard.enabled", havingValue = "true")
+public class DataSourceGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor semaphoreDataSourcePostProcessor(
+            @Value("${datasource.guard.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${datasource.guard.acquire-timeout:30s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SemaphoreDataSource)) {
+                    return new SemaphoreDataSource(dataSource, permits, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder semaphoreDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof SemaphoreDataSource guarded) {
+                Gauge.builder("datasource.guard.waiting", guarded, SemaphoreDataSource::waitingThreads)
+                        .description("Threads queued for a database connection permit")
+                        .register(registry);
+                Gauge.builder("datasource.guard.available", guarded, SemaphoreDataSource::availablePermits)
+                        .description("Free database connection permits")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.terraria.calamity.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Geração de ids por sequence com alocação pooled-lo.
+ *
+ * Com IDENTITY o Hibernate precisa do INSERT para saber o id, então executa
+ * cada INSERT na hora e desliga o batch JDBC. Com sequence (INCREMENT BY 50,
+ * ver V18) ele reserva 50 ids por nextval e deixa os INSERTs para o flush,
+ * agrupados pelo {@code order_inserts}. No pooled-lo o valor da sequence é o
+ * primeiro id do bloco, então um nextval feito por outro cliente (DEFAULT da
+ * coluna) nunca cai dentro de um bloco já reservado.
+ *
+ * Fica em código, e não no application.yml, para valer também nos testes
+ * (o application.yml de teste substitui o principal).
+ */
+@Configuration
+public class HibernateIdConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sequenceIdCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.ID_DB_STRUCTURE_NAMING_STRATEGY, TableSequenceNamingStrategy.class.getName());
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            properties.put(AvailableSettings.ORDER_INSERTS, "true");
+            properties.put(AvailableSettings.ORDER_UPDATES, "true");
+        };
+    }
+}
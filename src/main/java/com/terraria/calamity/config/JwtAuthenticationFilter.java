@@ -1,16 +1,19 @@
 package com.terraria.calamity.config;
 
+import com.terraria.calamity.application.security.JwtClaims;
+import com.terraria.calamity.application.security.PrincipalCache;
+import com.terraria.calamity.application.security.TokenVersionRegistry;
 import com.terraria.calamity.application.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,13 +25,31 @@ import java.io.IOException;
  * SecurityContext. Requisições sem token seguem o fluxo normalmente; cabe à
  * configuração de segurança (SecurityConfig) decidir se a rota exige
  * autenticação ou é pública (ex.: POST /api/v1/auth/register e /login).
+ *
+ * Com {@code jwt.claims-authentication=true} (padrão), tokens com claims
+ * completas (uid, role, tv) viram Authentication direto das claims; a única
+ * checagem extra é a versão do token no {@link TokenVersionRegistry}, em
+ * memória. Tokens só com subject (ou o modo desligado) usam o
+ * {@link PrincipalCache}, que só vai ao banco em cache miss.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final boolean claimsAuthentication;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            PrincipalCache principalCache,
+            TokenVersionRegistry tokenVersions,
+            @Value("${jwt.claims-authentication:true}") boolean claimsAuthentication) {
+        this.jwtService = jwtService;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
+        this.claimsAuthentication = claimsAuthentication;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -47,16 +68,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                String email = jwtService.extractEmail(token);
-                if (email != null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                    if (userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                JwtClaims claims = jwtService.parseClaims(token);
+                UserDetails userDetails = resolvePrincipal(claims);
+                if (userDetails != null && userDetails.isEnabled() && userDetails.isAccountNonLocked()) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
                 // Invalid/expired/malformed token: leave the context unauthenticated.
@@ -65,4 +83,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolvePrincipal(JwtClaims claims) {
+        if (claimsAuthentication && claims.selfContained()) {
+            // Usuário desabilitado ou com role trocada já teve a versão incrementada
+            if (!tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+                return null;
+            }
+            return User.withUsername(claims.email())
+                    .password("")
+                    .roles(claims.role().name())
+                    .build();
+        }
+        return claims.email() != null ? principalCache.load(claims.email()) : null;
+    }
 }
@@ -1,36 +1,64 @@
 package com.terraria.calamity.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import com.terraria.calamity.application.ratelimit.LocalRateLimitBackend;
+import com.terraria.calamity.application.ratelimit.RateLimitBackend;
+import com.terraria.calamity.application.ratelimit.RateLimitPolicies;
+import com.terraria.calamity.application.ratelimit.RoutePolicy;
+import com.terraria.calamity.application.security.JwtClaims;
+import com.terraria.calamity.application.security.TokenVersionRegistry;
+import com.terraria.calamity.application.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Limita requisições por IP: 5/min em POST /api/v1/auth/register e /login,
- * 60/min nas demais rotas /api/v1/**, incluindo GET /api/v1/auth/me. Em
- * memória (single-instance) via Bucket4j. Roda antes do JwtAuthenticationFilter
- * para rejeitar cedo, sem validar token ou tocar no banco.
+ * Limita requisições conforme as {@link RateLimitPolicies}: cada rota aponta
+ * para um limite nomeado e custa um número de tokens (ex.: approve e PUT de
+ * armadura custam mais que um GET do catálogo). O bucket é por usuário quando
+ * o JWT passaria no JwtAuthenticationFilter (claims completas e versão aceita
+ * pelo {@link TokenVersionRegistry}) e por IP caso contrário. Limites só por
+ * IP (login e cadastro) nem olham o token. Roda antes do
+ * JwtAuthenticationFilter para rejeitar cedo; a leitura do token usa o cache
+ * de tokens verificados do JwtService e o registro de versões em memória, sem
+ * tocar no banco.
+ *
+ * Os buckets ficam no {@link RateLimitBackend} escolhido por
+ * {@code rate-limit.backend}: {@code local} (padrão, em memória por
+ * instância) ou {@code jdbc} (compartilhado entre instâncias).
  */
 @Component
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private static final int AUTH_CAPACITY_PER_MINUTE = 5;
-    private static final int DEFAULT_CAPACITY_PER_MINUTE = 60;
+    private final RateLimitBackend backend;
+    private final RateLimitPolicies policies;
+    private final JwtService jwtService;
+    private final TokenVersionRegistry tokenVersions;
 
-    private final ConcurrentHashMap<String, Bucket> authBuckets = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Bucket> defaultBuckets = new ConcurrentHashMap<>();
+    public RateLimitFilter() {
+        this(new LocalRateLimitBackend(), RateLimitPolicies.defaults(), null, null);
+    }
+
+    /** Sem {@code jwtService} e {@code tokenVersions} todo cliente é tratado como anônimo (por IP). */
+    @Autowired
+    public RateLimitFilter(
+            RateLimitBackend backend,
+            RateLimitPolicies policies,
+            JwtService jwtService,
+            TokenVersionRegistry tokenVersions) {
+        this.backend = backend;
+        this.policies = policies;
+        this.jwtService = jwtService;
+        this.tokenVersions = tokenVersions;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -38,21 +66,18 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-        String clientIp = resolveClientIp(request);
-        boolean isAuthRoute = isStrictAuthRoute(request.getMethod(), request.getRequestURI());
-
-        Bucket bucket = isAuthRoute
-                ? authBuckets.computeIfAbsent(clientIp, ip -> newBucket(AUTH_CAPACITY_PER_MINUTE))
-                : defaultBuckets.computeIfAbsent(clientIp, ip -> newBucket(DEFAULT_CAPACITY_PER_MINUTE));
+        RoutePolicy policy = policies.resolve(request.getMethod(), request.getRequestURI());
+        Long userId = policy.perUser() ? resolveUserId(request) : null;
+        String subject = userId != null ? "u:" + userId : "ip:" + resolveClientIp(request);
 
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        RateLimitBackend.Decision decision = backend.tryConsume(policy.limitFor(userId != null), subject, policy.cost());
 
-        if (probe.isConsumed()) {
+        if (decision.allowed()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        long waitSeconds = TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1;
+        long waitSeconds = TimeUnit.NANOSECONDS.toSeconds(decision.nanosToWait()) + 1;
         response.setStatus(429);
         response.setHeader("Retry-After", String.valueOf(waitSeconds));
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -60,12 +85,22 @@ public class RateLimitFilter extends OncePerRequestFilter {
                 "{\"status\":429,\"message\":\"Muitas requisições. Tente novamente em instantes.\"}");
     }
 
-    private Bucket newBucket(int capacityPerMinute) {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(capacityPerMinute)
-                .refillGreedy(capacityPerMinute, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder().addLimit(limit).build();
+    private Long resolveUserId(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (jwtService == null || tokenVersions == null || authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            JwtClaims claims = jwtService.parseClaims(authHeader.substring(7));
+            // Mesma checagem do JwtAuthenticationFilter: token revogado conta pelo IP
+            if (!claims.selfContained() || !tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+                return null;
+            }
+            return claims.userId();
+        } catch (Exception e) {
+            // Token inválido/expirado: conta como anônimo; o JwtAuthenticationFilter decide o resto
+            return null;
+        }
     }
 
     private String resolveClientIp(HttpServletRequest request) {
@@ -76,9 +111,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         // ser feito via configuração explícita de proxy confiável, não aqui).
         return request.getRemoteAddr();
     }
-
-    private boolean isStrictAuthRoute(String method, String uri) {
-        return "POST".equalsIgnoreCase(method)
-                && ("/api/v1/auth/register".equals(uri) || "/api/v1/auth/login".equals(uri));
-    }
 }
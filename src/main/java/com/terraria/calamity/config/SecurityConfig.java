@@ -1,6 +1,10 @@
 package com.terraria.calamity.config;
 
+import com.terraria.calamity.application.security.BoundedPasswordEncoder;
 import com.terraria.calamity.application.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,6 +25,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -36,8 +41,15 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait:5s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        int hashingThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                hashingThreads, queueCapacity, maxWait, meterRegistry);
     }
 
     @Bean
@@ -51,6 +63,8 @@ public class SecurityConfig {
             PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder);
+        // Regrava no login hashes com força menor que security.password-hashing.bcrypt-strength
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -103,9 +117,15 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Dispatch ASYNC só escreve o corpo de um request já autorizado
+                // (export NDJSON); o JWT não é reprocessado nele
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // ========== AUTENTICAÇÃO (público) ==========
                 .requestMatchers(HttpMethod.POST, "/api/v1/auth/register").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/v1/auth/logout").permitAll()
 
                 // ========== ENDPOINTS PÚBLICOS (GET) ==========
                 .requestMatchers(HttpMethod.GET, "/api/v1/weapons").permitAll()
@@ -113,6 +133,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/v1/elements**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/armor").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/armor/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/catalog/**").permitAll()
 
                 // Health checks e actuator
                 .requestMatchers("/actuator/**").permitAll()
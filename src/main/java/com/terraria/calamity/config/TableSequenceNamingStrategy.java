@@ -0,0 +1,43 @@
+package com.terraria.calamity.config;
+
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.QualifiedSequenceName;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.ImplicitDatabaseObjectNamingStrategy;
+import org.hibernate.id.enhanced.StandardNamingStrategy;
+import org.hibernate.service.ServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * Nomeia a sequence implícita de cada entidade como {@code <tabela>_id_seq},
+ * o mesmo nome que o PostgreSQL deu às sequences dos {@code BIGSERIAL} das
+ * migrations. Assim o {@code @GeneratedValue(strategy = SEQUENCE)} do
+ * {@code BaseEntity} reaproveita essas sequences (V18 só muda o INCREMENT) e
+ * o DEFAULT nextval das colunas continua valendo para INSERTs fora do JPA.
+ */
+public class TableSequenceNamingStrategy implements ImplicitDatabaseObjectNamingStrategy {
+
+    private final StandardNamingStrategy standard = new StandardNamingStrategy();
+
+    @Override
+    public QualifiedName determineSequenceName(
+            Identifier catalogName, Identifier schemaName, Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        Object table = configValues.get(PersistentIdentifierGenerator.TABLE);
+        if (table == null) {
+            return standard.determineSequenceName(catalogName, schemaName, configValues, serviceRegistry);
+        }
+        Identifier sequence = serviceRegistry.requireService(JdbcEnvironment.class)
+                .getIdentifierHelper()
+                .toIdentifier(table + "_id_seq");
+        return new QualifiedSequenceName(catalogName, schemaName, sequence);
+    }
+
+    @Override
+    public QualifiedName determineTableName(
+            Identifier catalogName, Identifier schemaName, Map<?, ?> configValues, ServiceRegistry serviceRegistry) {
+        return standard.determineTableName(catalogName, schemaName, configValues, serviceRegistry);
+    }
+}
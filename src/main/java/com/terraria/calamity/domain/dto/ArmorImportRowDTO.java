@@ -0,0 +1,62 @@
+package com.terraria.calamity.domain.dto;
+
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.ArmorPiece;
+import com.terraria.calamity.domain.entity.Rarity;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+/**
+ * Uma linha do import em massa de armaduras. Em NDJSON as peças vêm em
+ * {@code pieces}; em CSV cada linha traz no máximo uma peça (colunas
+ * {@code pieceSlot}, {@code pieceName}, {@code pieceImageUrl},
+ * {@code pieceDefense}) e a armadura se repete nas linhas das outras peças.
+ */
+public record ArmorImportRowDTO(
+    @NotBlank(message = "Name cannot be blank")
+    @Size(max = 100)
+    String name,
+
+    @NotNull(message = "Armor class cannot be null")
+    Armor.ArmorClass armorClass,
+
+    @NotNull(message = "Rarity cannot be null")
+    Rarity rarity,
+
+    @NotNull(message = "Total defense cannot be null")
+    @Min(0)
+    Integer totalDefense,
+
+    @Size(max = 500)
+    String imageUrl,
+
+    String markdownContent,
+
+    @Size(max = 500)
+    String flavorText,
+
+    List<@Valid @NotNull Piece> pieces
+) {
+
+    public List<Piece> piecesOrEmpty() {
+        return pieces != null ? pieces : List.of();
+    }
+
+    public record Piece(
+        @NotNull(message = "Slot cannot be null")
+        ArmorPiece.Slot slot,
+
+        @NotBlank(message = "Name cannot be blank")
+        @Size(max = 100)
+        String name,
+
+        @Size(max = 500)
+        String imageUrl,
+
+        @NotNull(message = "Defense cannot be null")
+        @Min(0)
+        Integer defense
+    ) {}
+}
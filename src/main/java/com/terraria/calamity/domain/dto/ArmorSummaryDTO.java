@@ -0,0 +1,17 @@
+package com.terraria.calamity.domain.dto;
+
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.Rarity;
+
+/**
+ * Visão de lista da armadura ({@code ?view=summary}): sem {@code markdownContent},
+ * {@code flavorText} e sem as peças, então a consulta nem faz join com armor_pieces.
+ */
+public record ArmorSummaryDTO(
+    Long id,
+    String name,
+    Armor.ArmorClass armorClass,
+    Rarity rarity,
+    Integer totalDefense,
+    String imageUrl
+) {}
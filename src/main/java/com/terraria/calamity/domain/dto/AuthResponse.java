@@ -2,12 +2,13 @@ package com.terraria.calamity.domain.dto;
 
 public record AuthResponse(
     String token,
+    String refreshToken,
     String type,
     String username,
     String email,
     String role
 ) {
-    public static AuthResponse bearer(String token, String username, String email, String role) {
-        return new AuthResponse(token, "Bearer", username, email, role);
+    public static AuthResponse bearer(String token, String refreshToken, String username, String email, String role) {
+        return new AuthResponse(token, refreshToken, "Bearer", username, email, role);
     }
 }
@@ -0,0 +1,24 @@
+package com.terraria.calamity.domain.dto;
+
+import java.util.List;
+
+/**
+ * Resumo de um import em massa. Linhas rejeitadas não entram no banco e não
+ * impedem as demais; {@code errors} traz só as primeiras, com o número da
+ * linha no corpo enviado (o cabeçalho do CSV é a linha 1).
+ *
+ * @param inserted registros novos (por nome)
+ * @param updated  registros existentes com o mesmo nome que foram sobrescritos
+ * @param pieces   peças de armadura gravadas (sempre 0 no import de armas)
+ */
+public record CatalogImportResultDTO(
+    long rowsRead,
+    long rowsRejected,
+    long inserted,
+    long updated,
+    long pieces,
+    List<RowError> errors
+) {
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,12 @@
+package com.terraria.calamity.domain.dto;
+
+/**
+ * Item do autocomplete: só o necessário para exibir e navegar até o detalhe.
+ *
+ * @param type "WEAPON" ou "ARMOR"
+ */
+public record CatalogSuggestionDTO(
+    String type,
+    Long id,
+    String name
+) {}
@@ -0,0 +1,8 @@
+package com.terraria.calamity.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+    @NotBlank(message = "Refresh token cannot be blank")
+    String refreshToken
+) {}
@@ -0,0 +1,34 @@
+package com.terraria.calamity.domain.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Aprovação ou rejeição de várias submissões numa só transação.
+ * {@code reason} é obrigatório quando a decisão é REJECT.
+ */
+public record SubmissionBatchRequestDTO(
+    @NotEmpty(message = "Ids cannot be empty")
+    @Size(max = 500, message = "At most 500 submissions per batch")
+    List<@NotNull Long> ids,
+
+    @NotNull(message = "Decision cannot be null")
+    Decision decision,
+
+    String reason
+) {
+
+    public enum Decision {
+        APPROVE,
+        REJECT
+    }
+
+    @AssertTrue(message = "Reason cannot be blank when rejecting")
+    public boolean isReasonPresentWhenRejecting() {
+        return decision != Decision.REJECT || (reason != null && !reason.isBlank());
+    }
+}
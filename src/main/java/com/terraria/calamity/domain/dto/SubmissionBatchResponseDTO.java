@@ -0,0 +1,32 @@
+package com.terraria.calamity.domain.dto;
+
+import com.terraria.calamity.domain.entity.SubmissionStatus;
+
+import java.util.List;
+
+/**
+ * Resultado por id de um lote de decisões, na ordem dos ids enviados (sem
+ * repetições). Ids que falham não impedem os demais.
+ */
+public record SubmissionBatchResponseDTO(
+    int succeeded,
+    int failed,
+    List<Result> results
+) {
+
+    /**
+     * @param status novo status da submissão, ou {@code null} quando falhou
+     * @param error  motivo da falha, ou {@code null} quando aplicada
+     */
+    public record Result(Long id, SubmissionStatus status, String error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    public static SubmissionBatchResponseDTO of(List<Result> results) {
+        int succeeded = (int) results.stream().filter(Result::isSuccess).count();
+        return new SubmissionBatchResponseDTO(succeeded, results.size() - succeeded, results);
+    }
+}
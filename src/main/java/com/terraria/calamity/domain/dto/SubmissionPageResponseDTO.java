@@ -0,0 +1,11 @@
+package com.terraria.calamity.domain.dto;
+
+import java.util.List;
+
+/**
+ * Página da fila de submissões. {@code nextCursor} é nulo na última página.
+ */
+public record SubmissionPageResponseDTO(
+    List<WeaponSubmissionResponseDTO> items,
+    String nextCursor
+) {}
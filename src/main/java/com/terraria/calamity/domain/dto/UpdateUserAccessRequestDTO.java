@@ -0,0 +1,7 @@
+package com.terraria.calamity.domain.dto;
+
+/** Campos nulos ficam como estão. */
+public record UpdateUserAccessRequestDTO(
+    String role,
+    Boolean enabled
+) {}
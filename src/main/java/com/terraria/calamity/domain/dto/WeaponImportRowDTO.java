@@ -0,0 +1,59 @@
+package com.terraria.calamity.domain.dto;
+
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import jakarta.validation.constraints.*;
+
+/**
+ * Uma linha do import em massa de armas (NDJSON ou CSV). As restrições
+ * espelham as colunas NOT NULL, tamanhos e CHECKs da tabela weapons (V1),
+ * para que a carga no banco não falhe no meio por causa de uma linha só.
+ */
+public record WeaponImportRowDTO(
+    @NotBlank(message = "Name cannot be blank")
+    @Size(max = 100)
+    String name,
+
+    @NotNull(message = "Class cannot be null")
+    Weapon.WeaponClass weaponClass,
+
+    @NotNull(message = "Element cannot be null")
+    Element element,
+
+    @NotNull(message = "Base damage cannot be null")
+    @Min(1)
+    Integer baseDamage,
+
+    @NotNull(message = "Critical chance cannot be null")
+    @Min(1)
+    @Max(20)
+    Integer criticalChance,
+
+    @NotNull(message = "Attack speed cannot be null")
+    @Min(1)
+    Double attacksPerTurn,
+
+    @NotNull(message = "Range cannot be null")
+    @Min(0)
+    Integer range,
+
+    @NotNull(message = "Rarity cannot be null")
+    @Min(-1)
+    @Max(17)
+    Integer rarity,
+
+    @NotNull(message = "Price cannot be null")
+    @Min(0)
+    Integer price,
+
+    @NotNull(message = "Quality cannot be null")
+    @Min(0)
+    @Max(10)
+    Integer quality,
+
+    String abilities,
+    String description,
+
+    @Size(max = 500)
+    String imageUrl
+) {}
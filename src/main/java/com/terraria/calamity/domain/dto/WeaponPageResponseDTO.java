@@ -0,0 +1,13 @@
+package com.terraria.calamity.domain.dto;
+
+import java.util.List;
+
+/**
+ * Página da consulta combinada de armas. {@code nextCursor} é nulo na última página.
+ *
+ * @param <T> {@link WeaponResponseDTO} ou {@link WeaponSummaryDTO}, conforme o view
+ */
+public record WeaponPageResponseDTO<T>(
+    List<T> items,
+    String nextCursor
+) {}
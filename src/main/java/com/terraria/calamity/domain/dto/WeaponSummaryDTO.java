@@ -0,0 +1,30 @@
+package com.terraria.calamity.domain.dto;
+
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+
+/**
+ * Visão de lista da arma ({@code ?view=summary}): atributos e imagem, sem os
+ * campos TEXT {@code abilities}/{@code description} nem timestamps.
+ */
+public record WeaponSummaryDTO(
+    Long id,
+    String name,
+    Weapon.WeaponClass weaponClass,
+    Element element,
+    Integer baseDamage,
+    Integer criticalChance,
+    Double attacksPerTurn,
+    Integer range,
+    Integer rarity,
+    Integer price,
+    Integer quality,
+    String imageUrl
+) {
+
+    public static WeaponSummaryDTO of(WeaponResponseDTO weapon) {
+        return new WeaponSummaryDTO(weapon.id(), weapon.name(), weapon.weaponClass(), weapon.element(),
+                weapon.baseDamage(), weapon.criticalChance(), weapon.attacksPerTurn(), weapon.range(),
+                weapon.rarity(), weapon.price(), weapon.quality(), weapon.imageUrl());
+    }
+}
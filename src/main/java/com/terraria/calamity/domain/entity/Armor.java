@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -45,8 +46,12 @@ public class Armor extends BaseEntity {
     @Column(name = "flavor_text", length = 500)
     private String flavorText;
 
+    // LAZY: as listagens buscam as peças via @EntityGraph no ArmorRepository;
+    // o @BatchSize cobre quem navegar pelas peças fora desses métodos
     @Builder.Default
-    @OneToMany(mappedBy = "armor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "armor", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @ToString.Exclude
     private List<ArmorPiece> pieces = new ArrayList<>();
 
     public void addPiece(ArmorPiece piece) {
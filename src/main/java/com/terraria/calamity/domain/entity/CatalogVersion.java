@@ -0,0 +1,32 @@
+package com.terraria.calamity.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de catalog_versions (V19). Mapeada para que o schema seja validado
+ * (e criado no H2 dos testes); leituras e incrementos vão por SQL no
+ * {@code CatalogVersions}, dentro da transação de quem escreve.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+
+    @Id
+    @Column(length = 20)
+    private String name;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
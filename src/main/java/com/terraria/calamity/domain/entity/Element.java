@@ -1,5 +1,9 @@
 package com.terraria.calamity.domain.entity;
 
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
 /**
  * Enum de Elementos de Armas - Terraria + Terraria Calamity Mod
  *
@@ -274,6 +278,28 @@ public enum Element {
         return this == COSMIC || this == OMNI || this == GOD_SLAYER;
     }
 
+    /**
+     * Elementos de um grupo: "vanilla", "calamity" ou "supreme" (case-insensitive)
+     *
+     * @throws IllegalArgumentException se o grupo não existir
+     */
+    public static Set<Element> ofGroup(String group) {
+        EnumSet<Element> elements = EnumSet.noneOf(Element.class);
+        String normalized = group.toLowerCase(Locale.ROOT);
+        for (Element element : values()) {
+            boolean member = switch (normalized) {
+                case "vanilla" -> element.isVanilla();
+                case "calamity" -> element.isCalamity();
+                case "supreme" -> element.isSupreme();
+                default -> throw new IllegalArgumentException("Grupo de elementos inválido: " + group);
+            };
+            if (member) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
     /**
      * Retorna a cor do elemento para UI (CSS)
      */
@@ -0,0 +1,46 @@
+package com.terraria.calamity.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Família de refresh tokens de um login. Só o SHA-256 do token atual é
+ * guardado; cada rotação substitui {@code tokenHash}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken extends BaseEntity {
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    @NotNull
+    @Column(name = "family_id", nullable = false, unique = true)
+    private UUID familyId;
+
+    @NotNull
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @NotNull
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean revoked = false;
+}
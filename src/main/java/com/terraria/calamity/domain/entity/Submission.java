@@ -5,18 +5,28 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Proposta de criação/edição de uma entidade de jogo (hoje só Weapon) feita
  * por um USER, aguardando aprovação ou rejeição de um ADMIN. Mapeia para a
  * tabela 'submissions'. O shape do payload depende de entityType.
+ *
+ * O payload tipado (ver SubmissionPayloadCodec) fica memorizado em
+ * {@code decodedPayload}, que não é persistido e é descartado sempre que o
+ * Map do payload é trocado. O getter devolve uma visão somente leitura para
+ * que o Map só mude por troca, nunca por baixo da memória.
  */
 @Data
 @EqualsAndHashCode(callSuper = true)
@@ -59,4 +69,33 @@ public class Submission extends BaseEntity {
 
     @Column(columnDefinition = "TEXT")
     private String rejectionReason;
+
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Object decodedPayload;
+
+    /** Visão somente leitura; para mudar o payload, troque o Map por {@link #setPayload}. */
+    public Map<String, Object> getPayload() {
+        return payload == null ? null : Collections.unmodifiableMap(payload);
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = payload;
+        this.decodedPayload = null;
+    }
+
+    /** Troca o payload já informando a versão tipada correspondente. */
+    public void setPayload(Map<String, Object> payload, Object decoded) {
+        this.payload = payload;
+        this.decodedPayload = decoded;
+    }
+
+    /** Payload tipado; o decoder roda só na primeira chamada para esta instância. */
+    public <T> T typedPayload(Class<T> type, Function<Map<String, Object>, T> decoder) {
+        if (!type.isInstance(decodedPayload)) {
+            decodedPayload = decoder.apply(payload);
+        }
+        return type.cast(decodedPayload);
+    }
 }
@@ -18,17 +18,24 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 public class User extends BaseEntity {
 
+    // Nomes das constraints da V16; o AuthService traduz a violação para o campo certo
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @NotBlank
     @Size(min = 3, max = 50)
-    @Column(nullable = false, unique = true, length = 50)
+    @Column(nullable = false, length = 50)
     private String username;
 
     @NotBlank
     @Email
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
     @NotBlank
@@ -45,4 +52,10 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     @Builder.Default
     private Boolean enabled = true;
+
+    // Claim "tv" dos JWTs; incrementar revoga os tokens já emitidos
+    @NotNull
+    @Column(name = "token_version", nullable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
 }
@@ -1,15 +1,47 @@
 package com.terraria.calamity.domain.repository;
 
+import com.terraria.calamity.domain.dto.ArmorSummaryDTO;
 import com.terraria.calamity.domain.entity.Armor;
 import com.terraria.calamity.domain.entity.Rarity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ArmorRepository extends JpaRepository<Armor, Long> {
+    // Armor.pieces é LAZY; quem devolve a armadura completa carrega as peças no mesmo SELECT (LEFT JOIN)
+    @Override
+    @EntityGraph(attributePaths = "pieces")
+    List<Armor> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "pieces")
+    Optional<Armor> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "pieces")
+    List<Armor> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "pieces")
     List<Armor> findByArmorClass(Armor.ArmorClass armorClass);
 
+    @EntityGraph(attributePaths = "pieces")
     List<Armor> findByRarity(Rarity rarity);
+
+    List<NameView> findAllNamesBy();
+
+    // Projeções para ?view=summary: só as colunas estreitas, sem markdown_content nem join com armor_pieces
+    @Query("SELECT new com.terraria.calamity.domain.dto.ArmorSummaryDTO(a.id, a.name, a.armorClass, a.rarity, a.totalDefense, a.imageUrl) FROM Armor a ORDER BY a.id")
+    List<ArmorSummaryDTO> findAllSummaries();
+
+    @Query("SELECT new com.terraria.calamity.domain.dto.ArmorSummaryDTO(a.id, a.name, a.armorClass, a.rarity, a.totalDefense, a.imageUrl) FROM Armor a WHERE a.armorClass = :armorClass ORDER BY a.id")
+    List<ArmorSummaryDTO> findSummariesByArmorClass(@Param("armorClass") Armor.ArmorClass armorClass);
+
+    @Query("SELECT new com.terraria.calamity.domain.dto.ArmorSummaryDTO(a.id, a.name, a.armorClass, a.rarity, a.totalDefense, a.imageUrl) FROM Armor a WHERE a.rarity = :rarity ORDER BY a.id")
+    List<ArmorSummaryDTO> findSummariesByRarity(@Param("rarity") Rarity rarity);
 }
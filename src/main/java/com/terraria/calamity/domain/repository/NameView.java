@@ -0,0 +1,11 @@
+package com.terraria.calamity.domain.repository;
+
+/**
+ * Projeção só com id e nome, para índices de busca que não precisam do
+ * restante das colunas (principalmente os TEXT).
+ */
+public interface NameView {
+    Long getId();
+
+    String getName();
+}
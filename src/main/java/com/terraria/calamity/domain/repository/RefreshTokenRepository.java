@@ -0,0 +1,33 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /** Rotação atômica: só troca o hash se o token apresentado ainda é o atual da família. */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.tokenHash = :newHash, t.expiresAt = :expiresAt "
+            + "WHERE t.familyId = :familyId AND t.tokenHash = :currentHash AND t.revoked = false AND t.expiresAt > :now")
+    int rotate(@Param("familyId") UUID familyId,
+               @Param("currentHash") String currentHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.familyId = :familyId AND t.revoked = false")
+    Optional<RefreshToken> findActiveFamily(@Param("familyId") UUID familyId);
+}
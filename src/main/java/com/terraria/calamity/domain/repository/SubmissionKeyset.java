@@ -0,0 +1,39 @@
+package com.terraria.calamity.domain.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da última submissão de uma página na ordenação {@code (created_at, id)}.
+ *
+ * Vai para o cliente como cursor opaco (Base64 URL-safe de "createdAt:id",
+ * com a data em ISO-8601); a próxima página começa estritamente depois dessa
+ * posição.
+ */
+public record SubmissionKeyset(LocalDateTime createdAt, long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor não foi gerado por {@link #encode()}
+     */
+    public static SubmissionKeyset decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        // A data ISO também tem ':', então o separador é o último
+        int separator = raw.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        try {
+            return new SubmissionKeyset(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
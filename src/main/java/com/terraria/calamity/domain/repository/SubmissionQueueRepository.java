@@ -0,0 +1,21 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.entity.EntityType;
+import com.terraria.calamity.domain.entity.Submission;
+import com.terraria.calamity.domain.entity.SubmissionStatus;
+
+import java.util.List;
+
+/**
+ * Fragmento do {@link SubmissionRepository} para a fila de moderação
+ * paginada por keyset.
+ */
+public interface SubmissionQueueRepository {
+
+    /**
+     * Submissões do tipo e status informados, ordenadas por {@code (createdAt, id)}
+     * e começando logo após {@code after} (ou do início, se nulo). O autor vem
+     * na mesma consulta (join fetch), sem um SELECT em users por linha.
+     */
+    List<Submission> findQueue(EntityType entityType, SubmissionStatus status, SubmissionKeyset after, int limit);
+}
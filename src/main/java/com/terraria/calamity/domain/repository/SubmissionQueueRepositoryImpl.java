@@ -0,0 +1,57 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.entity.EntityType;
+import com.terraria.calamity.domain.entity.Submission;
+import com.terraria.calamity.domain.entity.SubmissionStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mesma estratégia do {@link WeaponQueryRepositoryImpl}: a próxima página
+ * filtra {@code created_at > :c OR (created_at = :c AND id > :id)}, com o
+ * {@code created_at >= :c} redundante para o Postgres fazer o seek no índice
+ * {@code (entity_type, status, created_at, id)} (V17).
+ */
+class SubmissionQueueRepositoryImpl implements SubmissionQueueRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Submission> findQueue(EntityType entityType, SubmissionStatus status, SubmissionKeyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Submission> query = cb.createQuery(Submission.class);
+        Root<Submission> submission = query.from(Submission.class);
+        submission.fetch("submittedBy");
+
+        Path<LocalDateTime> createdAt = submission.get("createdAt");
+        Path<Long> id = submission.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(submission.get("entityType"), entityType));
+        predicates.add(cb.equal(submission.get("status"), status));
+        if (after != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, after.createdAt()));
+            predicates.add(cb.or(
+                    cb.greaterThan(createdAt, after.createdAt()),
+                    cb.and(cb.equal(createdAt, after.createdAt()), cb.greaterThan(id, after.id()))));
+        }
+
+        query.select(submission)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(createdAt), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
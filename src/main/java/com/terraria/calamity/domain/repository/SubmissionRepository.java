@@ -10,11 +10,9 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface SubmissionRepository extends JpaRepository<Submission, Long> {
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, SubmissionQueueRepository {
     List<Submission> findBySubmittedByAndEntityTypeOrderByCreatedAtDesc(User submittedBy, EntityType entityType);
 
-    List<Submission> findByEntityTypeAndStatusOrderByCreatedAtAsc(EntityType entityType, SubmissionStatus status);
-
     boolean existsByTargetEntityIdAndEntityTypeAndStatus(Long targetEntityId, EntityType entityType, SubmissionStatus status);
 
     boolean existsByTargetEntityIdAndEntityType(Long targetEntityId, EntityType entityType);
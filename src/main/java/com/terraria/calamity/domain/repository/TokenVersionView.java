@@ -0,0 +1,8 @@
+package com.terraria.calamity.domain.repository;
+
+/** Projeção (id, tokenVersion) dos usuários com tokens revogados. */
+public interface TokenVersionView {
+    Long getId();
+
+    Integer getTokenVersion();
+}
@@ -0,0 +1,31 @@
+package com.terraria.calamity.domain.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição da última arma de uma página na ordenação {@code (rarity, id)}.
+ *
+ * Vai para o cliente como cursor opaco (Base64 URL-safe de "rarity:id");
+ * a próxima página começa estritamente depois dessa posição.
+ */
+public record WeaponKeyset(int rarity, long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((rarity + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o cursor não foi gerado por {@link #encode()}
+     */
+    public static WeaponKeyset decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        return new WeaponKeyset(Integer.parseInt(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+    }
+}
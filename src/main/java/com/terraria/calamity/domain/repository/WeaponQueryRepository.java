@@ -0,0 +1,22 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
+import com.terraria.calamity.domain.entity.Weapon;
+
+import java.util.List;
+
+/**
+ * Fragmento do {@link WeaponRepository} para a consulta combinada de armas,
+ * que não cabe em derived queries (filtros opcionais + paginação por keyset).
+ */
+public interface WeaponQueryRepository {
+
+    /**
+     * Armas que atendem a todos os filtros, ordenadas por {@code (rarity, id)}
+     * e começando logo após {@code after} (ou do início, se nulo).
+     */
+    List<Weapon> search(WeaponSearchCriteria criteria, WeaponKeyset after, int limit);
+
+    /** Mesma consulta de {@link #search}, projetada só nas colunas do resumo (sem TEXT). */
+    List<WeaponSummaryDTO> searchSummaries(WeaponSearchCriteria criteria, WeaponKeyset after, int limit);
+}
@@ -0,0 +1,106 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
+import com.terraria.calamity.domain.entity.Weapon;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Monta a consulta com Criteria API só com os filtros informados.
+ *
+ * A paginação é por keyset: em vez de OFFSET, a próxima página filtra
+ * {@code rarity > :r OR (rarity = :r AND id > :id)}, então o custo de cada
+ * página não cresce com a profundidade. O {@code rarity >= :r} redundante
+ * deixa o Postgres fazer o seek direto no índice {@code (rarity, id)} (V11).
+ */
+@Transactional(readOnly = true)
+class WeaponQueryRepositoryImpl implements WeaponQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Weapon> search(WeaponSearchCriteria criteria, WeaponKeyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Weapon> query = cb.createQuery(Weapon.class);
+        Root<Weapon> weapon = query.from(Weapon.class);
+
+        query.select(weapon)
+                .where(predicates(cb, weapon, criteria, after))
+                .orderBy(cb.asc(weapon.get("rarity")), cb.asc(weapon.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<WeaponSummaryDTO> searchSummaries(WeaponSearchCriteria criteria, WeaponKeyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WeaponSummaryDTO> query = cb.createQuery(WeaponSummaryDTO.class);
+        Root<Weapon> weapon = query.from(Weapon.class);
+
+        query.select(cb.construct(WeaponSummaryDTO.class,
+                        weapon.get("id"), weapon.get("name"), weapon.get("weaponClass"), weapon.get("element"),
+                        weapon.get("baseDamage"), weapon.get("criticalChance"), weapon.get("attacksPerTurn"),
+                        weapon.get("range"), weapon.get("rarity"), weapon.get("price"), weapon.get("quality"),
+                        weapon.get("imageUrl")))
+                .where(predicates(cb, weapon, criteria, after))
+                .orderBy(cb.asc(weapon.get("rarity")), cb.asc(weapon.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static Predicate[] predicates(
+            CriteriaBuilder cb, Root<Weapon> weapon, WeaponSearchCriteria criteria, WeaponKeyset after) {
+        Path<Integer> rarity = weapon.get("rarity");
+        Path<Long> id = weapon.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.weaponClass() != null) {
+            predicates.add(cb.equal(weapon.get("weaponClass"), criteria.weaponClass()));
+        }
+        if (criteria.elements() != null && !criteria.elements().isEmpty()) {
+            predicates.add(weapon.get("element").in(criteria.elements()));
+        }
+        if (criteria.minRarity() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(rarity, criteria.minRarity()));
+        }
+        if (criteria.maxRarity() != null) {
+            predicates.add(cb.lessThanOrEqualTo(rarity, criteria.maxRarity()));
+        }
+        if (criteria.minDamage() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(weapon.get("baseDamage"), criteria.minDamage()));
+        }
+        if (criteria.maxDamage() != null) {
+            predicates.add(cb.lessThanOrEqualTo(weapon.get("baseDamage"), criteria.maxDamage()));
+        }
+        if (criteria.name() != null && !criteria.name().isBlank()) {
+            predicates.add(cb.like(cb.lower(weapon.get("name")),
+                    "%" + escapeLike(criteria.name().toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+        if (after != null) {
+            predicates.add(cb.greaterThanOrEqualTo(rarity, after.rarity()));
+            predicates.add(cb.or(
+                    cb.greaterThan(rarity, after.rarity()),
+                    cb.and(cb.equal(rarity, after.rarity()), cb.greaterThan(id, after.id()))));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
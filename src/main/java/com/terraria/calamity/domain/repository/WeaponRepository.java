@@ -10,7 +10,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface WeaponRepository extends JpaRepository<Weapon, Long> {
+public interface WeaponRepository extends JpaRepository<Weapon, Long>, WeaponQueryRepository {
     List<Weapon> findByWeaponClass(Weapon.WeaponClass weaponClass);
 
     List<Weapon> findByElement(Element element);
@@ -19,6 +19,8 @@ public interface WeaponRepository extends JpaRepository<Weapon, Long> {
 
     List<Weapon> findByNameContainingIgnoreCase(String name);
 
+    List<NameView> findAllNamesBy();
+
     @Query("SELECT w FROM Weapon w WHERE w.weaponClass = :class AND w.rarity >= :minRarity ORDER BY w.rarity ASC")
     List<Weapon> findWeaponsByClassAndMinimumRarity(@Param("class") Weapon.WeaponClass weaponClass, @Param("minRarity") Integer minRarity);
 }
@@ -0,0 +1,20 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+
+import java.util.Set;
+
+/**
+ * Filtros combináveis da consulta de armas. Campos nulos (ou conjunto de
+ * elementos vazio) não restringem nada; os intervalos são fechados.
+ */
+public record WeaponSearchCriteria(
+    Weapon.WeaponClass weaponClass,
+    Set<Element> elements,
+    Integer minRarity,
+    Integer maxRarity,
+    Integer minDamage,
+    Integer maxDamage,
+    String name
+) {}
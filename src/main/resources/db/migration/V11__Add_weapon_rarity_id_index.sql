@@ -0,0 +1,3 @@
+-- Índice composto para a paginação por keyset de /api/v1/weapons/query,
+-- que ordena por (rarity, id) e busca a partir da última posição vista.
+CREATE INDEX IF NOT EXISTS idx_weapon_rarity_id ON weapons(rarity, id);
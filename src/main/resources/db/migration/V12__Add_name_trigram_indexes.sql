@@ -0,0 +1,6 @@
+-- Busca por nome com pg_trgm: os índices GIN atendem tanto LIKE '%x%'
+-- quanto o operador de similaridade (%), que o btree idx_weapon_name não cobre.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_weapon_name_trgm ON weapons USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_armors_name_trgm ON armors USING gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Versão dos tokens do usuário (claim "tv" do JWT). Incrementada quando role
+-- ou enabled mudam; tokens com versão menor deixam de ser aceitos.
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Só usuários com tokens revogados entram no mapa em memória (TokenVersionRegistry)
+CREATE INDEX idx_users_token_version ON users(token_version) WHERE token_version > 0;
@@ -0,0 +1,16 @@
+-- Uma linha por família de refresh tokens (uma por login). A rotação troca
+-- token_hash no lugar; apresentar um hash antigo de uma família ativa é
+-- reuso e revoga a família inteira.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    family_id UUID NOT NULL,
+    token_hash VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_refresh_tokens_family UNIQUE (family_id)
+);
+
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens(user_id);
@@ -0,0 +1,9 @@
+-- Token buckets compartilhados entre instâncias (rate-limit.backend=jdbc).
+-- tokens é o saldo em refilled_at_ms; o refill é calculado na leitura.
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(100) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at_ms BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at_ms);
@@ -0,0 +1,11 @@
+-- Nomes estáveis para as constraints de unicidade da V4 (antes users_*_key,
+-- gerados pelo PostgreSQL): o registro faz só o INSERT e traduz a violação
+-- pelo nome da constraint.
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_username_key;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+
+-- Redundantes com os índices únicos acima; só custavam escrita no INSERT
+DROP INDEX IF EXISTS idx_users_email;
+DROP INDEX IF EXISTS idx_users_username;
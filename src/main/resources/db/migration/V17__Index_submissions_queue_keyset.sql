@@ -0,0 +1,5 @@
+-- Fila de moderação paginada por keyset em (created_at, id) dentro de
+-- (entity_type, status). O índice da V9 em (entity_type, status) é prefixo
+-- deste, então sai.
+CREATE INDEX idx_submissions_queue ON submissions(entity_type, status, created_at, id);
+DROP INDEX IF EXISTS idx_submissions_entity_type_status;
@@ -0,0 +1,9 @@
+-- Ids das entidades passam de IDENTITY para sequence com pooled-lo: o
+-- Hibernate reserva 50 ids por nextval e consegue mandar os INSERTs em batch.
+-- As sequences são as dos BIGSERIAL; o DEFAULT nextval das colunas continua.
+ALTER SEQUENCE weapons_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE armors_id_seq INCREMENT BY 50;
+ALTER SEQUENCE armor_pieces_id_seq INCREMENT BY 50;
+ALTER SEQUENCE submissions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_tokens_id_seq INCREMENT BY 50;
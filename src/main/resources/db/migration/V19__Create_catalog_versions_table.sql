@@ -0,0 +1,12 @@
+-- Versão compartilhada de cada catálogo (armas, armaduras): toda transação
+-- que escreve no catálogo incrementa a linha antes do commit. As instâncias
+-- comparam com a versão do snapshot em memória para saber quando remontar,
+-- e a usam nas ETags, então todas respondem a mesma ETag para o mesmo conteúdo.
+CREATE TABLE IF NOT EXISTS catalog_versions (
+    name VARCHAR(20) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO catalog_versions (name, version) VALUES ('weapons', 0), ('armors', 0)
+ON CONFLICT (name) DO NOTHING;
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,7 +16,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -68,4 +71,58 @@ class AdminControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalAdmins").isNumber())
                 .andExpect(jsonPath("$.totalWeapons").isNumber());
     }
+
+    @Test
+    void updateUserAccess_promotion_takesEffectOnTheNextRequest() throws Exception {
+        String userToken = tokenFor("promoted@terraria.com", Role.USER);
+        String adminToken = tokenFor("promoter@terraria.com", Role.ADMIN);
+        Long userId = userRepository.findByEmail("promoted@terraria.com").orElseThrow().getId();
+
+        // Primeira requisição deixa o principal (ROLE_USER) em cache
+        mockMvc.perform(get("/api/v1/admin/dashboard").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(patch("/api/v1/admin/users/" + userId + "/access")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.role").value("ADMIN"));
+
+        mockMvc.perform(get("/api/v1/admin/dashboard").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void evictPrincipal_asAdmin_returnsNoContent() throws Exception {
+        String adminToken = tokenFor("evicter@terraria.com", Role.ADMIN);
+
+        mockMvc.perform(delete("/api/v1/admin/principal-cache/someone@terraria.com")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void updateUserAccess_revokesClaimsTokensIssuedBefore() throws Exception {
+        String adminToken = tokenFor("revoker@terraria.com", Role.ADMIN);
+        tokenFor("revoked@terraria.com", Role.USER);
+        User user = userRepository.findByEmail("revoked@terraria.com").orElseThrow();
+        String claimsToken = jwtService.generateToken(user);
+
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + claimsToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/v1/admin/users/" + user.getId() + "/access")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ADMIN\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/auth/me").header("Authorization", "Bearer " + claimsToken))
+                .andExpect(status().is4xxClientError());
+
+        String reissued = jwtService.generateToken(userRepository.findByEmail("revoked@terraria.com").orElseThrow());
+        mockMvc.perform(get("/api/v1/admin/dashboard").header("Authorization", "Bearer " + reissued))
+                .andExpect(status().isOk());
+    }
 }
@@ -86,6 +86,26 @@ class ArmorControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllArmors_summaryView_omitsTextColumnsAndPieces() throws Exception {
+        String token = registerAndGetToken("armorlister", "armorlister@terraria.com");
+        mockMvc.perform(post("/api/v1/armor")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(armorPayload("Conjunto Resumido")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/armor").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].totalDefense").exists())
+                .andExpect(jsonPath("$[0].markdownContent").doesNotExist())
+                .andExpect(jsonPath("$[0].pieces").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/armor").param("view", "compact"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createArmor_withoutToken_isRejected() throws Exception {
         mockMvc.perform(post("/api/v1/armor")
@@ -114,6 +134,20 @@ class ArmorControllerIntegrationTest {
                 .andExpect(jsonPath("$.pieces.length()").value(3));
     }
 
+    @Test
+    void searchByName_isPublic_andFindsArmorDespiteTypo() throws Exception {
+        String token = registerAndGetToken("armorseeker", "armorseeker@terraria.com");
+        mockMvc.perform(post("/api/v1/armor")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(armorPayload("Conjunto Procurado")))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/armor/search").param("name", "procurdo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Conjunto Procurado"));
+    }
+
     @Test
     void getArmorById_notFound_returns404() throws Exception {
         mockMvc.perform(get("/api/v1/armor/999999"))
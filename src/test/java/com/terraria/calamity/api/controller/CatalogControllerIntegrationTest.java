@@ -0,0 +1,52 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.Rarity;
+import com.terraria.calamity.application.catalog.CatalogSuggestIndex;
+import com.terraria.calamity.domain.repository.ArmorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CatalogControllerIntegrationTest {
+
+    @Autowired private WebApplicationContext wac;
+    @Autowired private ArmorRepository armorRepository;
+    @Autowired private CatalogSuggestIndex suggestIndex;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void suggest_isPublic_andReturnsCompactItems() throws Exception {
+        Armor armor = armorRepository.save(Armor.builder()
+                .name("Conjunto Sugerido").armorClass(Armor.ArmorClass.UNIVERSAL)
+                .rarity(Rarity.COMMON).totalDefense(10).imageUrl("").build());
+        suggestIndex.rebuild();
+
+        mockMvc.perform(get("/api/v1/catalog/suggest").param("q", "suger"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].type").value("ARMOR"))
+                .andExpect(jsonPath("$[0].id").value(armor.getId()))
+                .andExpect(jsonPath("$[0].name").value("Conjunto Sugerido"));
+    }
+}
@@ -0,0 +1,289 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.application.catalog.ArmorCatalogVersion;
+import com.terraria.calamity.application.catalog.WeaponCatalog;
+import com.terraria.calamity.application.importer.ImportRowReader;
+import com.terraria.calamity.application.service.JwtService;
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Role;
+import com.terraria.calamity.domain.entity.User;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.UserRepository;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "catalog.import.max-body-size=32KB")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CatalogImportControllerIntegrationTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired private WebApplicationContext wac;
+    @Autowired private UserRepository userRepository;
+    @Autowired private WeaponRepository weaponRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private JwtService jwtService;
+    @Autowired private WeaponCatalog weaponCatalog;
+    @Autowired private ArmorCatalogVersion armorCatalogVersion;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private String tokenFor(String email, Role role) {
+        userRepository.save(User.builder()
+                .username(email.substring(0, email.indexOf('@')))
+                .email(email)
+                .password(passwordEncoder.encode("secret123"))
+                .role(role)
+                .enabled(true)
+                .build());
+        return jwtService.generateToken(email);
+    }
+
+    private static String weaponJson(String name, int criticalChance) {
+        return """
+                {"name":"%s","weaponClass":"MELEE","element":"FIRE","baseDamage":40,"criticalChance":%d,\
+                "attacksPerTurn":1.5,"range":10,"rarity":3,"price":500,"quality":4}"""
+                .formatted(name, criticalChance);
+    }
+
+    @Test
+    void importWeapons_ndjson_insertsValidRowsAndReportsInvalidOnes() throws Exception {
+        String adminToken = tokenFor("import-ndjson@terraria.com", Role.ADMIN);
+        String body = weaponJson("Ndjson Blade", 5) + "\n"
+                + "\n"
+                + weaponJson("Ndjson Broken", 30) + "\n"
+                + "{not json\n"
+                + weaponJson("Ndjson Spear", 7) + "\n";
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(4))
+                .andExpect(jsonPath("$.rowsRejected").value(2))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value(org.hamcrest.Matchers.startsWith("criticalChance:")))
+                .andExpect(jsonPath("$.errors[1].line").value(4));
+
+        assertThat(weaponRepository.findByNameContainingIgnoreCase("Ndjson"))
+                .extracting(Weapon::getName)
+                .containsExactlyInAnyOrder("Ndjson Blade", "Ndjson Spear");
+        // O catálogo em memória remonta depois do commit
+        assertThat(weaponCatalog.snapshot().weapons())
+                .extracting(WeaponResponseDTO::name)
+                .contains("Ndjson Blade", "Ndjson Spear");
+    }
+
+    @Test
+    void importWeapons_rowsOverTheLengthCap_areRejectedAndTheRestIsImported() throws Exception {
+        String adminToken = tokenFor("import-long@terraria.com", Role.ADMIN);
+        String longDescription = "x".repeat(ImportRowReader.MAX_ROW_CHARS);
+        String ndjson = weaponJson("Long Blade", 5) + "\n"
+                + "{\"name\":\"Long Broken\",\"description\":\"" + longDescription + "\"}\r\n"
+                + weaponJson("Long Spear", 5) + "\n";
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value(org.hamcrest.Matchers.startsWith("Row longer than")));
+
+        // Aspas que nunca fecham: o registro vai até o fim do corpo, mas sem ser guardado
+        String csv = "name,weaponClass,element,baseDamage,criticalChance,attacksPerTurn,range,rarity,price,quality\n"
+                + "Long Csv,MAGE,ASTRAL,20,3,1.0,5,2,100,1\n"
+                + "Long Csv Broken,MAGE,ASTRAL,20,3,1.0,5,2,100,\"" + longDescription + "\n";
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(2))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value(org.hamcrest.Matchers.startsWith("Row longer than")));
+    }
+
+    @Test
+    void importWeapons_assignsIdsFromOneSequenceBlockPerFiftyRows() throws Exception {
+        String adminToken = tokenFor("import-ids@terraria.com", Role.ADMIN);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            body.append(weaponJson("Block Blade " + i, 5)).append('\n');
+        }
+        Long sequenceBefore = jdbcTemplate.queryForObject("SELECT nextval('weapons_id_seq')", Long.class);
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(60));
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM weapons WHERE name LIKE 'Block Blade %' ORDER BY id", Long.class);
+        // Dois blocos: 50 ids contíguos e mais 10 contíguos no bloco seguinte
+        assertThat(ids).hasSize(60);
+        assertThat(ids.get(49) - ids.get(0)).isEqualTo(49);
+        assertThat(ids.get(59) - ids.get(50)).isEqualTo(9);
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('weapons_id_seq')", Long.class))
+                .isEqualTo(sequenceBefore + 3 * 50);
+
+        Weapon saved = weaponRepository.save(Weapon.builder().name("After Import").weaponClass(Weapon.WeaponClass.MELEE)
+                .element(Element.HOLY).baseDamage(10).criticalChance(8).attacksPerTurn(1.3).range(65).rarity(5)
+                .price(8000).quality(6).build());
+        assertThat(ids).doesNotContain(saved.getId());
+    }
+
+    @Test
+    void importWeapons_csv_upsertsByNameAndLastDuplicateWins() throws Exception {
+        String adminToken = tokenFor("import-csv@terraria.com", Role.ADMIN);
+        weaponRepository.save(Weapon.builder().name("Csv Existing").weaponClass(Weapon.WeaponClass.MELEE)
+                .element(Element.HOLY).baseDamage(10).criticalChance(8).attacksPerTurn(1.3).range(65).rarity(5)
+                .price(8000).quality(6).build());
+        String body = """
+                name,weaponClass,element,baseDamage,criticalChance,attacksPerTurn,range,rarity,price,quality,description
+                Csv Existing,RANGED,ICE,99,10,2.0,40,7,900,8,"Frio, muito frio"
+                Csv New,MAGE,ASTRAL,20,3,1.0,5,2,100,1,first
+                Csv New,MAGE,ASTRAL,21,3,1.0,5,2,100,1,"segunda
+                linha"
+                """;
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(TEXT_CSV)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(3))
+                .andExpect(jsonPath("$.rowsRejected").value(0))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        List<Weapon> existing = weaponRepository.findByNameContainingIgnoreCase("Csv Existing");
+        assertThat(existing).singleElement().satisfies(weapon -> {
+            assertThat(weapon.getWeaponClass()).isEqualTo(Weapon.WeaponClass.RANGED);
+            assertThat(weapon.getBaseDamage()).isEqualTo(99);
+            assertThat(weapon.getDescription()).isEqualTo("Frio, muito frio");
+        });
+        assertThat(weaponRepository.findByNameContainingIgnoreCase("Csv New")).singleElement().satisfies(weapon -> {
+            assertThat(weapon.getBaseDamage()).isEqualTo(21);
+            assertThat(weapon.getDescription()).isEqualTo("segunda\nlinha");
+        });
+    }
+
+    @Test
+    void importArmors_csvAndNdjson_upsertArmorsAndPiecesBySlot() throws Exception {
+        String adminToken = tokenFor("import-armors@terraria.com", Role.ADMIN);
+        long versionBefore = armorCatalogVersion.current();
+        String csv = """
+                name,armorClass,rarity,totalDefense,pieceSlot,pieceName,pieceDefense
+                Import Plate,MELEE,RARE,30,HELMET,Import Helm,8
+                Import Plate,MELEE,RARE,30,CHEST,Import Mail,14
+                Import Plate,MELEE,RARE,30,HELMET,Import Helm II,9
+                Import Robe,MAGE,COMMON,5,,,
+                """;
+
+        mockMvc.perform(post("/api/v1/admin/import/armors")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(4))
+                .andExpect(jsonPath("$.inserted").value(2))
+                .andExpect(jsonPath("$.pieces").value(2));
+
+        String ndjson = """
+                {"name":"Import Plate","armorClass":"MELEE","rarity":"EPIC","totalDefense":40,\
+                "pieces":[{"slot":"LEGS","name":"Import Greaves","defense":10}]}
+                """;
+        mockMvc.perform(post("/api/v1/admin/import/armors")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.pieces").value(1));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT rarity FROM armors WHERE name = 'Import Plate'", String.class)).isEqualTo("EPIC");
+        List<Map<String, Object>> pieces = jdbcTemplate.queryForList("SELECT p.slot, p.name FROM armor_pieces p "
+                + "JOIN armors a ON a.id = p.armor_id WHERE a.name = 'Import Plate' ORDER BY p.slot");
+        assertThat(pieces).extracting(piece -> piece.get("SLOT") + "=" + piece.get("NAME"))
+                .containsExactly("CHEST=Import Mail", "HELMET=Import Helm II", "LEGS=Import Greaves");
+        assertThat(armorCatalogVersion.current()).isGreaterThan(versionBefore);
+    }
+
+    @Test
+    void importWeapons_overTheBodySizeLimit_isRejectedWithoutWriting() throws Exception {
+        String adminToken = tokenFor("import-large@terraria.com", Role.ADMIN);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; body.length() <= 32 * 1024; i++) {
+            body.append(weaponJson("Oversized Blade " + i, 5)).append('\n');
+        }
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.toString()))
+                .andExpect(status().isContentTooLarge());
+
+        assertThat(weaponRepository.findByNameContainingIgnoreCase("Oversized Blade")).isEmpty();
+    }
+
+    @Test
+    void importWeapons_asUser_isForbidden() throws Exception {
+        String userToken = tokenFor("import-user@terraria.com", Role.USER);
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(weaponJson("Forbidden Blade", 5)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void importWeapons_withJsonBody_isUnsupportedMediaType() throws Exception {
+        String adminToken = tokenFor("import-json@terraria.com", Role.ADMIN);
+
+        mockMvc.perform(post("/api/v1/admin/import/weapons")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + weaponJson("Array Blade", 5) + "]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,101 @@
+package com.terraria.calamity.api.controller;
+
+import com.terraria.calamity.api.exception.PayloadTooLargeException;
+import com.terraria.calamity.api.exception.ServiceOverloadedException;
+import com.terraria.calamity.application.importer.CatalogImportFormat;
+import com.terraria.calamity.application.service.CatalogImportService;
+import com.terraria.calamity.domain.dto.CatalogImportResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogImportControllerTest {
+
+    private static final CatalogImportResultDTO EMPTY = new CatalogImportResultDTO(0, 0, 0, 0, 0, List.of());
+
+    private final CatalogImportService importService = mock(CatalogImportService.class);
+    private final CatalogImportController controller =
+            new CatalogImportController(importService, 1, DataSize.ofBytes(64));
+
+    /** Corpo sem Content-Length, como numa requisição chunked. */
+    private static MockHttpServletRequest chunked(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String drain(BufferedReader reader) {
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int c = reader.read(); c >= 0; c = reader.read()) {
+                text.append((char) c);
+            }
+            return text.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void importWhileAnotherIsRunning_isRefusedBeforeCallingTheService() throws Exception {
+        CountDownLatch inFirst = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(importService.importWeapons(any(), any())).thenAnswer(invocation -> {
+            inFirst.countDown();
+            releaseFirst.await(10, TimeUnit.SECONDS);
+            return EMPTY;
+        });
+        CompletableFuture<?> first = CompletableFuture.runAsync(() -> {
+            try {
+                controller.importWeapons(chunked("{}"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(inFirst.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> controller.importArmors(chunked("{}")))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        releaseFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        when(importService.importArmors(any(), any())).thenReturn(EMPTY);
+        assertThat(controller.importArmors(chunked("{}")).getBody()).isEqualTo(EMPTY);
+    }
+
+    @Test
+    void chunkedBodyOverTheLimit_failsWhileTheServiceReadsIt() throws IOException {
+        when(importService.importWeapons(any(), any(CatalogImportFormat.class)))
+                .thenAnswer(invocation -> {
+                    drain(invocation.getArgument(0));
+                    return EMPTY;
+                });
+
+        assertThatThrownBy(() -> controller.importWeapons(chunked("x".repeat(65))))
+                .isInstanceOf(PayloadTooLargeException.class);
+        // A permissão volta mesmo depois da falha
+        assertThat(controller.importWeapons(chunked("x".repeat(64))).getBody()).isEqualTo(EMPTY);
+    }
+}
@@ -1,5 +1,6 @@
 package com.terraria.calamity.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.terraria.calamity.application.service.JwtService;
 import com.terraria.calamity.domain.dto.RejectSubmissionRequestDTO;
@@ -16,9 +17,13 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -151,4 +156,110 @@ class SubmissionAdminControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value(submissionId))
                 .andExpect(jsonPath("$.status").value("PENDING"));
     }
+
+    @Test
+    void listPending_pagesWithCursorInCreationOrder() throws Exception {
+        String authorToken = tokenFor("author-page@terraria.com", Role.USER);
+        String adminToken = tokenFor("admin-page@terraria.com", Role.ADMIN);
+        List<Long> created = List.of(createPendingSubmission(authorToken),
+                createPendingSubmission(authorToken), createPendingSubmission(authorToken));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/v1/submissions").param("entityType", "WEAPON").param("limit", "2")
+                    .header("Authorization", "Bearer " + adminToken);
+            if (cursor != null) {
+                request.param("after", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(org.hamcrest.Matchers.lessThanOrEqualTo(2)))
+                    .andReturn().getResponse().getContentAsString());
+            page.get("items").forEach(item -> seen.add(item.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        Assertions.assertThat(seen).doesNotHaveDuplicates().containsSubsequence(created);
+    }
+
+    @Test
+    void listPending_withInvalidCursor_isBadRequest() throws Exception {
+        String adminToken = tokenFor("admin-badcursor@terraria.com", Role.ADMIN);
+
+        mockMvc.perform(get("/api/v1/submissions").param("entityType", "WEAPON").param("after", "bm9wZQ")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportPending_asNdjson_streamsOneSubmissionPerLine() throws Exception {
+        String authorToken = tokenFor("author-export@terraria.com", Role.USER);
+        String adminToken = tokenFor("admin-export@terraria.com", Role.ADMIN);
+        Long submissionId = createPendingSubmission(authorToken);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/submissions").param("entityType", "WEAPON")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        Assertions.assertThat(lines).isNotEmpty()
+                .allSatisfy(line -> Assertions.assertThat(line.get("status").asText()).isEqualTo("PENDING"))
+                .anySatisfy(line -> Assertions.assertThat(line.get("id").asLong()).isEqualTo(submissionId));
+    }
+
+    @Test
+    void batchApprove_appliesPendingAndReportsFailuresPerId() throws Exception {
+        String authorToken = tokenFor("author-batch@terraria.com", Role.USER);
+        String adminToken = tokenFor("admin-batch@terraria.com", Role.ADMIN);
+        Long first = createPendingSubmission(authorToken);
+        Long second = createPendingSubmission(authorToken);
+        long weaponCountBefore = weaponRepository.count();
+
+        mockMvc.perform(post("/api/v1/submissions/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + first + "," + second + ",999999],\"decision\":\"APPROVE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.results[2].id").value(999999))
+                .andExpect(jsonPath("$.results[2].error").exists());
+
+        Assertions.assertThat(weaponRepository.count()).isEqualTo(weaponCountBefore + 2);
+    }
+
+    @Test
+    void batchReject_withoutReason_isBadRequest() throws Exception {
+        String authorToken = tokenFor("author-batchreject@terraria.com", Role.USER);
+        String adminToken = tokenFor("admin-batchreject@terraria.com", Role.ADMIN);
+        Long submissionId = createPendingSubmission(authorToken);
+
+        mockMvc.perform(post("/api/v1/submissions/batch")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + submissionId + "],\"decision\":\"REJECT\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_asUser_isForbidden() throws Exception {
+        String userToken = tokenFor("user-batch@terraria.com", Role.USER);
+
+        mockMvc.perform(post("/api/v1/submissions/batch")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1],\"decision\":\"APPROVE\"}"))
+                .andExpect(status().isForbidden());
+    }
 }
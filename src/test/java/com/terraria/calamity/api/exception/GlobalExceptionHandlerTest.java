@@ -39,4 +39,14 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
         assertThat(response.getBody()).containsEntry("message", "Only PENDING submissions can be approved");
     }
+
+    @Test
+    void handleServiceOverloaded_returns503WithRetryAfter() {
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleServiceOverloaded(new ServiceOverloadedException("Servidor ocupado"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        assertThat(response.getBody()).containsEntry("status", 503);
+    }
 }
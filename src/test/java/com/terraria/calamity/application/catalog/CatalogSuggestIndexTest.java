@@ -0,0 +1,65 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.CatalogSuggestionDTO;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.ArmorRepository;
+import com.terraria.calamity.domain.repository.NameView;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSuggestIndexTest {
+
+    private final WeaponRepository weaponRepository = mock(WeaponRepository.class);
+    private final ArmorRepository armorRepository = mock(ArmorRepository.class);
+    private final CatalogSuggestIndex index = new CatalogSuggestIndex(weaponRepository, armorRepository);
+
+    private static NameView name(Long id, String name) {
+        return new NameView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+        };
+    }
+
+    private static Weapon weapon(Long id, String name) {
+        Weapon weapon = Weapon.builder().name(name).build();
+        weapon.setId(id);
+        return weapon;
+    }
+
+    @Test
+    void suggest_matchesNameAndWordPrefixes_forWeaponsAndArmors() {
+        when(weaponRepository.findAllNamesBy()).thenReturn(List.of(name(1L, "Terra Blade"), name(2L, "Excalibur")));
+        when(armorRepository.findAllNamesBy()).thenReturn(List.of(name(1L, "Terrarium Armor")));
+
+        assertThat(index.suggest("TER", 10)).containsExactly(
+                new CatalogSuggestionDTO(CatalogSuggestIndex.WEAPON, 1L, "Terra Blade"),
+                new CatalogSuggestionDTO(CatalogSuggestIndex.ARMOR, 1L, "Terrarium Armor"));
+        assertThat(index.suggest("blad", 10)).extracting(CatalogSuggestionDTO::name).containsExactly("Terra Blade");
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void changeEvents_updateTrieIncrementally_withoutReloading() {
+        when(weaponRepository.findAllNamesBy()).thenReturn(List.of(name(1L, "Terra Blade")));
+        when(armorRepository.findAllNamesBy()).thenReturn(List.of(name(5L, "Victide")));
+        index.rebuild();
+
+        index.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon(1L, "True Terra Blade")));
+        index.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon(2L, "Terrarian")));
+        index.onArmorChanged(ArmorCatalogChangedEvent.deleted(5L));
+
+        assertThat(index.suggest("terra", 10)).extracting(CatalogSuggestionDTO::name)
+                .containsExactly("Terrarian", "True Terra Blade");
+        assertThat(index.suggest("true", 10)).hasSize(1);
+        assertThat(index.suggest("vic", 10)).isEmpty();
+        verify(weaponRepository, times(1)).findAllNamesBy();
+    }
+}
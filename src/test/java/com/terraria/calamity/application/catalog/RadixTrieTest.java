@@ -0,0 +1,51 @@
+package com.terraria.calamity.application.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RadixTrieTest {
+
+    @Test
+    void collect_returnsShortestKeysFirst_acrossSplitEdges() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("terrarian", "Terrarian");
+        trie.put("terra blade", "Terra Blade");
+        trie.put("terra", "Terra");
+        trie.put("tesla", "Tesla");
+
+        assertThat(trie.collect("ter", 10)).containsExactly("Terra", "Terrarian", "Terra Blade");
+        assertThat(trie.collect("terrab", 10)).isEmpty();
+        assertThat(trie.collect("te", 2)).containsExactly("Terra", "Tesla");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void collect_deduplicatesValueIndexedUnderSeveralKeys() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("blade", "Terra Blade");
+        trie.put("blade of grass", "Terra Blade");
+
+        assertThat(trie.collect("bla", 10)).containsExactly("Terra Blade");
+    }
+
+    @Test
+    void remove_prunesAndMergesNodes_keepingOtherKeysReachable() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.put("blade", "Blade");
+        trie.put("blast", "Blast");
+        trie.put("blasphemy", "Blasphemy");
+
+        assertThat(trie.remove("blast", "Blast")).isTrue();
+        assertThat(trie.remove("blast", "Blast")).isFalse();
+        assertThat(trie.remove("bla", "Blade")).isFalse();
+
+        assertThat(trie.collect("blas", 10)).containsExactly("Blasphemy");
+        assertThat(trie.collect("bl", 10)).containsExactly("Blade", "Blasphemy");
+
+        trie.remove("blade", "Blade");
+        trie.remove("blasphemy", "Blasphemy");
+        assertThat(trie.size()).isZero();
+        assertThat(trie.collect("b", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,51 @@
+package com.terraria.calamity.application.catalog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SerializedResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SerializedResponseCache cache = new SerializedResponseCache(JsonMapper.builder().build(), meterRegistry);
+
+    @Test
+    void get_serializesOncePerVersion() {
+        AtomicInteger calls = new AtomicInteger();
+
+        SerializedResponse first = cache.get("weapons:full", 1, () -> List.of("Terra Blade", calls.incrementAndGet()));
+        SerializedResponse second = cache.get("weapons:full", 1, () -> List.of("Terra Blade", calls.incrementAndGet()));
+        SerializedResponse third = cache.get("weapons:full", 2, () -> List.of("Terra Blade", calls.incrementAndGet()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json())).isEqualTo("[\"Terra Blade\",1]");
+        assertThat(new String(third.json())).isEqualTo("[\"Terra Blade\",2]");
+        assertThat(meterRegistry.get("catalog.responses.serialized").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_gzipDecodesToTheSameJson() throws IOException {
+        SerializedResponse response = cache.get("armor:full", 7, () -> List.of("Victide", "Aerospec"));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(response.json());
+        }
+    }
+
+    @Test
+    void acceptsGzip_honorsQZero() {
+        assertThat(SerializedResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(SerializedResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(SerializedResponseCache.acceptsGzip("gzip;q=0, identity")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip("br")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip(null)).isFalse();
+    }
+}
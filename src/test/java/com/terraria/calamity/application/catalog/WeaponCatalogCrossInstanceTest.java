@@ -0,0 +1,76 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simula uma segunda instância escrevendo direto no banco (linha em weapons
+ * e incremento em catalog_versions, na mesma transação), sem nenhum evento
+ * nesta instância.
+ */
+@SpringBootTest(properties = "catalog.version-check-interval=0s")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class WeaponCatalogCrossInstanceTest {
+
+    @Autowired private WeaponCatalog weaponCatalog;
+    @Autowired private WeaponRepository weaponRepository;
+    @Autowired private CatalogVersions catalogVersions;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private void writeFromAnotherInstance(String name) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO weapons (id, name, weapon_class, element, base_damage, critical_chance, "
+                    + "attacks_per_turn, range, rarity, price, quality, created_at, updated_at) "
+                    + "VALUES (nextval('weapons_id_seq'), ?, 'MELEE', 'FIRE', 10, 5, 1.0, 10, 1, 100, 1, "
+                    + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", name);
+            long next = catalogVersions.read(CatalogVersions.Catalog.WEAPONS).value() + 1;
+            jdbcTemplate.update("DELETE FROM catalog_versions WHERE name = 'weapons'");
+            jdbcTemplate.update("INSERT INTO catalog_versions (name, version, changed_at) "
+                    + "VALUES ('weapons', ?, CURRENT_TIMESTAMP)", next);
+        });
+    }
+
+    @Test
+    void snapshot_afterWriteOnAnotherInstance_isRebuiltFromDatabase() {
+        WeaponCatalogSnapshot before = weaponCatalog.snapshot();
+        assertThat(before.weapons()).extracting(WeaponResponseDTO::name).doesNotContain("Remote Blade");
+
+        writeFromAnotherInstance("Remote Blade");
+
+        WeaponCatalogSnapshot after = weaponCatalog.snapshot();
+        assertThat(after.weapons()).extracting(WeaponResponseDTO::name).contains("Remote Blade");
+        assertThat(after.version()).isEqualTo(catalogVersions.read(CatalogVersions.Catalog.WEAPONS).value());
+    }
+
+    @Test
+    void localWrite_bumpsSharedVersionOnceAndSnapshotFollowsIt() {
+        weaponCatalog.snapshot();
+        long before = catalogVersions.read(CatalogVersions.Catalog.WEAPONS).value();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                Weapon weapon = weaponRepository.save(Weapon.builder().name("Local Blade " + i)
+                        .weaponClass(Weapon.WeaponClass.MELEE).element(Element.HOLY).baseDamage(50)
+                        .criticalChance(8).attacksPerTurn(1.3).range(65).rarity(5).price(8000).quality(6).build());
+                weaponCatalog.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon));
+            }
+        });
+
+        long after = catalogVersions.read(CatalogVersions.Catalog.WEAPONS).value();
+        assertThat(after).isEqualTo(before + 1);
+        assertThat(weaponCatalog.snapshot().version()).isEqualTo(after);
+        assertThat(weaponCatalog.snapshot().weapons()).extracting(WeaponResponseDTO::name)
+                .contains("Local Blade 0", "Local Blade 1", "Local Blade 2");
+    }
+}
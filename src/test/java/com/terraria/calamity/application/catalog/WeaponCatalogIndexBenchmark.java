@@ -0,0 +1,181 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara as consultas por classe/elemento/raridade em três caminhos:
+ * - {@code index*}: posting lists do {@link WeaponCatalogIndex};
+ * - {@code scan*}: varredura linear da lista do snapshot;
+ * - {@code repository*}: o SQL que as derived queries do WeaponRepository
+ *   geram, contra H2 em memória com os mesmos índices da V1 (sem o custo de
+ *   rede de um Postgres real, então é um limite inferior para o banco).
+ *
+ * Rodar: {@code mvn test-compile} e executar {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:<classpath de teste> org.openjdk.jmh.Main WeaponCatalogIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeaponCatalogIndexBenchmark {
+
+    private static final String COLUMNS = "id, name, weapon_class, element, base_damage, critical_chance, "
+            + "attacks_per_turn, range, rarity, price, quality, abilities, description, image_url";
+
+    @Param({"1000", "10000"})
+    private int weapons;
+
+    private WeaponCatalogSnapshot snapshot;
+    private Connection connection;
+    private PreparedStatement byClassStatement;
+    private PreparedStatement combinedStatement;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Random random = new Random(42);
+        Weapon.WeaponClass[] classes = Weapon.WeaponClass.values();
+        Element[] elements = Element.values();
+        List<WeaponResponseDTO> catalog = new ArrayList<>(weapons);
+        for (long id = 1; id <= weapons; id++) {
+            catalog.add(new WeaponResponseDTO(id, "Weapon " + id,
+                    classes[random.nextInt(classes.length)], elements[random.nextInt(elements.length)],
+                    1 + random.nextInt(300), 1 + random.nextInt(20), 1.0 + random.nextInt(3), random.nextInt(100),
+                    random.nextInt(19) - 1, random.nextInt(100_000), random.nextInt(11),
+                    "abilities", "description", "", null, null));
+        }
+        snapshot = WeaponCatalogSnapshot.of(1, catalog);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:weapon_bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS weapons");
+            ddl.execute("CREATE TABLE weapons (id BIGINT PRIMARY KEY, name VARCHAR(100), weapon_class VARCHAR(50), "
+                    + "element VARCHAR(50), base_damage INT, critical_chance INT, attacks_per_turn DOUBLE PRECISION, "
+                    + "range INT, rarity INT, price INT, quality INT, abilities TEXT, description TEXT, "
+                    + "image_url VARCHAR(500))");
+            ddl.execute("CREATE INDEX idx_weapon_class ON weapons(weapon_class)");
+            ddl.execute("CREATE INDEX idx_weapon_element ON weapons(element)");
+            ddl.execute("CREATE INDEX idx_weapon_rarity ON weapons(rarity)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO weapons (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (WeaponResponseDTO weapon : catalog) {
+                insert.setLong(1, weapon.id());
+                insert.setString(2, weapon.name());
+                insert.setString(3, weapon.weaponClass().name());
+                insert.setString(4, weapon.element().name());
+                insert.setInt(5, weapon.baseDamage());
+                insert.setInt(6, weapon.criticalChance());
+                insert.setDouble(7, weapon.attacksPerTurn());
+                insert.setInt(8, weapon.range());
+                insert.setInt(9, weapon.rarity());
+                insert.setInt(10, weapon.price());
+                insert.setInt(11, weapon.quality());
+                insert.setString(12, weapon.abilities());
+                insert.setString(13, weapon.description());
+                insert.setString(14, weapon.imageUrl());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        byClassStatement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM weapons WHERE weapon_class = ?");
+        combinedStatement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM weapons WHERE weapon_class = ? AND element = ? AND rarity BETWEEN ? AND ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> indexByClass() {
+        return snapshot.index().byClass(Weapon.WeaponClass.MELEE);
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> scanByClass() {
+        return snapshot.filter(weapon -> weapon.weaponClass() == Weapon.WeaponClass.MELEE);
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> repositoryByClass() throws SQLException {
+        byClassStatement.setString(1, Weapon.WeaponClass.MELEE.name());
+        return readAll(byClassStatement);
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> indexClassElementRarity() {
+        return snapshot.index().select()
+                .weaponClass(Weapon.WeaponClass.MELEE)
+                .element(Element.FIRE)
+                .rarityBetween(5, 10)
+                .toList();
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> scanClassElementRarity() {
+        return snapshot.filter(weapon -> weapon.weaponClass() == Weapon.WeaponClass.MELEE
+                && weapon.element() == Element.FIRE
+                && weapon.rarity() >= 5 && weapon.rarity() <= 10);
+    }
+
+    @Benchmark
+    public List<WeaponResponseDTO> repositoryClassElementRarity() throws SQLException {
+        combinedStatement.setString(1, Weapon.WeaponClass.MELEE.name());
+        combinedStatement.setString(2, Element.FIRE.name());
+        combinedStatement.setInt(3, 5);
+        combinedStatement.setInt(4, 10);
+        return readAll(combinedStatement);
+    }
+
+    private List<WeaponResponseDTO> readAll(PreparedStatement statement) throws SQLException {
+        List<WeaponResponseDTO> result = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                result.add(new WeaponResponseDTO(rs.getLong(1), rs.getString(2),
+                        Weapon.WeaponClass.valueOf(rs.getString(3)), Element.valueOf(rs.getString(4)),
+                        rs.getInt(5), rs.getInt(6), rs.getDouble(7), rs.getInt(8), rs.getInt(9), rs.getInt(10),
+                        rs.getInt(11), rs.getString(12), rs.getString(13), rs.getString(14), null, null));
+            }
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WeaponCatalogIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeaponCatalogIndexTest {
+
+    private final WeaponCatalogSnapshot snapshot = WeaponCatalogSnapshot.of(1, List.of(
+            weapon(4L, Weapon.WeaponClass.MAGE, Element.ASTRAL, 9),
+            weapon(1L, Weapon.WeaponClass.MELEE, Element.FIRE, -1),
+            weapon(3L, Weapon.WeaponClass.MELEE, Element.FIRE, 17),
+            weapon(2L, Weapon.WeaponClass.MELEE, Element.ICE, 5)
+    ));
+
+    private static WeaponResponseDTO weapon(Long id, Weapon.WeaponClass weaponClass, Element element, int rarity) {
+        return new WeaponResponseDTO(id, "Weapon " + id, weaponClass, element, 10, 4, 1.0, 10, rarity, 100, 5,
+                null, null, null, null, null);
+    }
+
+    @Test
+    void singleAttributeLookups_returnPostingListInIdOrder() {
+        WeaponCatalogIndex index = snapshot.index();
+
+        assertThat(index.byClass(Weapon.WeaponClass.MELEE)).extracting(WeaponResponseDTO::id).containsExactly(1L, 2L, 3L);
+        assertThat(index.byElement(Element.ASTRAL)).extracting(WeaponResponseDTO::id).containsExactly(4L);
+        assertThat(index.byRarity(-1)).extracting(WeaponResponseDTO::id).containsExactly(1L);
+        assertThat(index.byRarity(17)).extracting(WeaponResponseDTO::id).containsExactly(3L);
+    }
+
+    @Test
+    void byRarity_outsideCheckConstraintRange_isEmpty() {
+        assertThat(snapshot.index().byRarity(18)).isEmpty();
+        assertThat(snapshot.index().byRarity(-2)).isEmpty();
+    }
+
+    @Test
+    void select_intersectsClassElementAndRarityRange() {
+        List<WeaponResponseDTO> result = snapshot.index().select()
+                .weaponClass(Weapon.WeaponClass.MELEE)
+                .element(Element.FIRE)
+                .rarityBetween(0, null)
+                .toList();
+
+        assertThat(result).extracting(WeaponResponseDTO::id).containsExactly(3L);
+    }
+
+    @Test
+    void select_withElementUnion_matchesAnyOfTheElements() {
+        assertThat(snapshot.index().select().elements(List.of(Element.ICE, Element.ASTRAL)).toList())
+                .extracting(WeaponResponseDTO::id)
+                .containsExactly(2L, 4L);
+    }
+}
@@ -0,0 +1,146 @@
+package com.terraria.calamity.application.catalog;
+
+import com.terraria.calamity.application.mapper.WeaponMapper;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WeaponCatalogTest {
+
+    private final WeaponRepository weaponRepository = mock(WeaponRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogVersions catalogVersions = mock(CatalogVersions.class);
+    // Versão das armas em catalog_versions, como o banco a veria
+    private final AtomicLong databaseVersion = new AtomicLong(1);
+
+    private WeaponCatalog catalog;
+
+    @BeforeEach
+    void setup() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(catalogVersions.read(CatalogVersions.Catalog.WEAPONS)).thenAnswer(invocation -> version(databaseVersion.get()));
+        when(catalogVersions.readIfDue(CatalogVersions.Catalog.WEAPONS)).thenReturn(Optional.empty());
+        // Sem transação: o incremento e o callback acontecem na hora
+        doAnswer(invocation -> {
+            BiConsumer<CatalogVersions.Version, List<Object>> onCommit = invocation.getArgument(2);
+            onCommit.accept(version(databaseVersion.incrementAndGet()), List.of(invocation.<Object>getArgument(1)));
+            return null;
+        }).when(catalogVersions).changed(eq(CatalogVersions.Catalog.WEAPONS), any(), any());
+        catalog = new WeaponCatalog(weaponRepository, new WeaponMapper(), catalogVersions, transactionManager,
+                meterRegistry);
+    }
+
+    private static CatalogVersions.Version version(long value) {
+        return new CatalogVersions.Version(value, Instant.ofEpochSecond(value));
+    }
+
+    private Weapon weapon(Long id, String name) {
+        Weapon weapon = Weapon.builder().name(name).weaponClass(Weapon.WeaponClass.MELEE).element(Element.HOLY)
+                .baseDamage(50).criticalChance(8).attacksPerTurn(1.3).range(65).rarity(5).price(8000).quality(6)
+                .build();
+        weapon.setId(id);
+        return weapon;
+    }
+
+    @Test
+    void snapshot_isBuiltOnceAndServedFromMemory() {
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(2L, "Terra Blade"), weapon(1L, "Excalibur")));
+
+        WeaponCatalogSnapshot first = catalog.snapshot();
+        WeaponCatalogSnapshot second = catalog.snapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.weapons()).extracting("name").containsExactly("Excalibur", "Terra Blade");
+        verify(weaponRepository, times(1)).findAll();
+        assertThat(meterRegistry.get("catalog.weapons.snapshot.rebuild").tag("kind", "full").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void changeEvents_swapInNewerSnapshotWithoutReloading() {
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(1L, "Excalibur")));
+        WeaponCatalogSnapshot initial = catalog.snapshot();
+
+        catalog.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon(3L, "Ark of the Cosmos")));
+        catalog.onWeaponChanged(WeaponCatalogChangedEvent.deleted(1L));
+
+        WeaponCatalogSnapshot current = catalog.snapshot();
+        assertThat(current.version()).isEqualTo(initial.version() + 2).isEqualTo(databaseVersion.get());
+        assertThat(current.weapons()).extracting("name").containsExactly("Ark of the Cosmos");
+        assertThat(initial.weapons()).extracting("name").containsExactly("Excalibur");
+        verify(weaponRepository, times(1)).findAll();
+    }
+
+    @Test
+    void changeEvents_beforeFirstBuild_areIgnored() {
+        catalog.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon(3L, "Ark of the Cosmos")));
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(3L, "Ark of the Cosmos")));
+
+        assertThat(catalog.snapshot().size()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshot_whenDatabaseVersionMoved_rebuildsFromDatabase() {
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(1L, "Excalibur")));
+        WeaponCatalogSnapshot initial = catalog.snapshot();
+
+        // Outra instância escreveu: a tabela e a versão mudaram sem evento local
+        databaseVersion.set(7);
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(1L, "Excalibur"), weapon(2L, "Murasama")));
+        when(catalogVersions.readIfDue(CatalogVersions.Catalog.WEAPONS)).thenReturn(Optional.of(version(7)));
+
+        WeaponCatalogSnapshot current = catalog.snapshot();
+        assertThat(current).isNotSameAs(initial);
+        assertThat(current.version()).isEqualTo(7);
+        assertThat(current.changedAt()).isEqualTo(Instant.ofEpochSecond(7));
+        assertThat(current.weapons()).extracting("name").containsExactly("Excalibur", "Murasama");
+    }
+
+    @Test
+    void snapshot_whenDatabaseVersionUnchanged_servesFromMemory() {
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(1L, "Excalibur")));
+        WeaponCatalogSnapshot initial = catalog.snapshot();
+        when(catalogVersions.readIfDue(CatalogVersions.Catalog.WEAPONS)).thenReturn(Optional.of(version(1)));
+
+        assertThat(catalog.snapshot()).isSameAs(initial);
+        verify(weaponRepository, times(1)).findAll();
+    }
+
+    @Test
+    void changeEvent_afterAVersionGap_rebuildsInsteadOfApplyingDelta() {
+        when(weaponRepository.findAll()).thenReturn(List.of(weapon(1L, "Excalibur")));
+        catalog.snapshot();
+
+        // Outra instância escreveu a versão 2; a escrita local vira a 3
+        databaseVersion.set(2);
+        when(weaponRepository.findAll()).thenReturn(
+                List.of(weapon(1L, "Excalibur"), weapon(2L, "Murasama"), weapon(3L, "Ark of the Cosmos")));
+        catalog.onWeaponChanged(WeaponCatalogChangedEvent.upserted(weapon(3L, "Ark of the Cosmos")));
+
+        assertThat(catalog.snapshot().version()).isEqualTo(3);
+        assertThat(catalog.snapshot().weapons()).extracting("name")
+                .containsExactly("Excalibur", "Murasama", "Ark of the Cosmos");
+        verify(weaponRepository, times(2)).findAll();
+    }
+}
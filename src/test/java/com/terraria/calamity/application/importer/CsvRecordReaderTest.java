@@ -0,0 +1,100 @@
+package com.terraria.calamity.application.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void next_splitsFieldsAndKeepsEmptyOnes() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,c\n1,,3\n"), 1024);
+
+        assertThat(readAll(reader)).containsExactly(List.of("a", "b", "c"), List.of("1", "", "3"));
+    }
+
+    @Test
+    void next_quotedFieldsKeepCommasLineBreaksAndDoubledQuotes() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "name,description\r\n\"Terra, Blade\",\"diz \"\"oi\"\"\nem duas linhas\"\r\nLast,x"), 1024);
+
+        assertThat(reader.next()).containsExactly("name", "description");
+        assertThat(reader.next()).containsExactly("Terra, Blade", "diz \"oi\"\nem duas linhas");
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Last", "x");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_skipsBlankLinesButCountsThemInRecordLine() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("h\n\n\r\nvalue\n\n"), 1024);
+
+        assertThat(reader.next()).containsExactly("h");
+        assertThat(reader.next()).containsExactly("value");
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_recordOverTheCap_comesBackEmptyAndTheNextRecordIsIntact() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "short,ok\n" + "a".repeat(20) + ",\"quoted\nbreak\"\nafter,\"x\"\"y\"\n"), 10);
+
+        assertThat(reader.next()).containsExactly("short", "ok");
+        assertThat(reader.overlong()).isFalse();
+        assertThat(reader.next()).isEmpty();
+        assertThat(reader.overlong()).isTrue();
+        assertThat(reader.recordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("after", "x\"y");
+        assertThat(reader.overlong()).isFalse();
+        assertThat(reader.recordLine()).isEqualTo(4);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_unterminatedQuoteOverTheCap_readsToTheEndWithoutKeepingIt() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "h\n\"never closed\n" + "b".repeat(100) + "\nstill,inside\n"), 10);
+
+        assertThat(reader.next()).containsExactly("h");
+        assertThat(reader.next()).isEmpty();
+        assertThat(reader.overlong()).isTrue();
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void next_recordExactlyAtTheCap_isKept() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("abcd,efgh\r\n"), 9);
+
+        assertThat(reader.next()).containsExactly("abcd", "efgh");
+        assertThat(reader.overlong()).isFalse();
+    }
+
+    @Test
+    void copyField_quotesTextAndLeavesNullUnquoted() {
+        StringBuilder out = new StringBuilder();
+        CopyStagingLoader.appendField(out, "Terra \"Blade\", v2");
+        out.append(',');
+        CopyStagingLoader.appendField(out, null);
+        out.append(',');
+        CopyStagingLoader.appendField(out, "");
+        out.append(',');
+        CopyStagingLoader.appendField(out, 1.5);
+
+        assertThat(out).hasToString("\"Terra \"\"Blade\"\", v2\",,\"\",1.5");
+    }
+}
@@ -0,0 +1,112 @@
+package com.terraria.calamity.application.mapper;
+
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
+import com.terraria.calamity.domain.entity.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeaponPayloadCodecTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    private final WeaponPayloadCodec codec = new WeaponPayloadCodec() {
+        @Override
+        public WeaponSubmissionRequestDTO decode(Map<String, Object> payload) {
+            decodes.incrementAndGet();
+            return super.decode(payload);
+        }
+    };
+
+    private final WeaponSubmissionRequestDTO payload = new WeaponSubmissionRequestDTO(
+            null, "Terra Blade", Weapon.WeaponClass.MELEE, Element.HOLY,
+            50, 8, 1.3, 65, 5, 8000, 6, "Slash", "Uma espada lendária", null);
+
+    private Submission loadedSubmission(Map<String, Object> json) {
+        Submission submission = Submission.builder()
+                .entityType(EntityType.WEAPON)
+                .submissionType(SubmissionType.CREATE)
+                .build();
+        submission.setPayload(json);
+        return submission;
+    }
+
+    @Test
+    void encode_writesEnumsByNameAndKeepsNulls() {
+        Map<String, Object> json = codec.encode(payload);
+
+        assertThat(json).containsEntry("weaponClass", "MELEE")
+                .containsEntry("element", "HOLY")
+                .containsEntry("baseDamage", 50)
+                .containsEntry("imageUrl", null)
+                .doesNotContainKey("targetWeaponId");
+    }
+
+    @Test
+    void decode_acceptsNumberTypesReturnedByJsonReload() {
+        Map<String, Object> json = new HashMap<>(codec.encode(payload));
+        json.put("baseDamage", 50L);
+        json.put("attacksPerTurn", new java.math.BigDecimal("1.3"));
+        json.put("price", 8000.0);
+
+        assertThat(codec.decode(json)).isEqualTo(payload);
+    }
+
+    @Test
+    void read_decodesOncePerLoadedSubmission() {
+        Submission submission = loadedSubmission(codec.encode(payload));
+
+        WeaponSubmissionRequestDTO first = codec.read(submission);
+        WeaponSubmissionRequestDTO second = codec.read(submission);
+
+        assertThat(second).isSameAs(first).isEqualTo(payload);
+        assertThat(decodes).hasValue(1);
+    }
+
+    @Test
+    void setPayload_discardsMemoizedRecord() {
+        Submission submission = loadedSubmission(codec.encode(payload));
+        codec.read(submission);
+
+        Map<String, Object> renamed = new HashMap<>(submission.getPayload());
+        renamed.put("name", "True Terra Blade");
+        submission.setPayload(renamed);
+
+        assertThat(codec.read(submission).name()).isEqualTo("True Terra Blade");
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void getPayload_isReadOnly_soTheMemoizedRecordCannotGoStale() {
+        Submission submission = loadedSubmission(codec.encode(payload));
+        codec.read(submission);
+
+        assertThatThrownBy(() -> submission.getPayload().put("name", "True Terra Blade"))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(codec.read(submission).name()).isEqualTo("Terra Blade");
+    }
+
+    @Test
+    void write_memoizesRecordWithoutDecoding() {
+        Submission submission = loadedSubmission(Map.of());
+
+        codec.write(submission, payload);
+
+        assertThat(codec.read(submission)).isSameAs(payload);
+        assertThat(submission.getPayload()).containsEntry("name", "Terra Blade");
+        assertThat(decodes).hasValue(0);
+    }
+
+    @Test
+    void read_rejectsSubmissionOfAnotherEntityType() {
+        Submission submission = loadedSubmission(codec.encode(payload));
+        submission.setEntityType(null);
+
+        assertThatThrownBy(() -> codec.read(submission)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.terraria.calamity.application.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
+import com.terraria.calamity.domain.dto.WeaponSubmissionResponseDTO;
+import com.terraria.calamity.domain.entity.*;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão do mapeamento da fila do admin (GET /api/v1/submissions?status=PENDING):
+ * - {@code convertValue*}: o caminho antigo, {@code ObjectMapper.convertValue}
+ *   do Map do JSONB para o DTO a cada uso;
+ * - {@code codec*}: {@link WeaponPayloadCodec} com o record memorizado na
+ *   Submission.
+ *
+ * Os Maps têm o formato que o Hibernate devolve depois de ler a coluna
+ * (enums como String, números como Integer/Double). Cada invocação descarta
+ * o payload memorizado antes de mapear, como acontece com entidades recém
+ * carregadas em um request novo. {@code *Approve} mapeia o payload duas vezes
+ * (entidade + response), como o approve faz.
+ *
+ * Rodar: {@code mvn test-compile} e executar {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:<classpath de teste> org.openjdk.jmh.Main WeaponPayloadMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeaponPayloadMapperBenchmark {
+
+    @Param({"50", "500"})
+    private int queueSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WeaponPayloadCodec codec = new WeaponPayloadCodec();
+    private final WeaponPayloadMapper mapper = new WeaponPayloadMapper(codec);
+
+    private List<Submission> queue;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        Weapon.WeaponClass[] classes = Weapon.WeaponClass.values();
+        Element[] elements = Element.values();
+        User author = User.builder().username("calamitas").email("calamitas@terraria.com")
+                .password("hashed").role(Role.USER).enabled(true).build();
+
+        queue = new ArrayList<>(queueSize);
+        for (long id = 1; id <= queueSize; id++) {
+            WeaponSubmissionRequestDTO payload = new WeaponSubmissionRequestDTO(null, "Weapon " + id,
+                    classes[random.nextInt(classes.length)], elements[random.nextInt(elements.length)],
+                    1 + random.nextInt(300), 1 + random.nextInt(20), 1.0 + random.nextInt(3), random.nextInt(100),
+                    random.nextInt(19) - 1, random.nextInt(100_000), random.nextInt(11),
+                    "abilities", "description", "https://example.com/" + id + ".png");
+            Submission submission = Submission.builder()
+                    .entityType(EntityType.WEAPON)
+                    .submissionType(SubmissionType.CREATE)
+                    .submittedBy(author)
+                    .build();
+            submission.setId(id);
+            submission.setPayload(codec.encode(payload));
+            queue.add(submission);
+        }
+    }
+
+    @Benchmark
+    public List<WeaponSubmissionResponseDTO> convertValueListing() {
+        List<WeaponSubmissionResponseDTO> result = new ArrayList<>(queue.size());
+        for (Submission submission : queue) {
+            result.add(toResponse(submission, objectMapper.convertValue(submission.getPayload(),
+                    WeaponSubmissionRequestDTO.class)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<WeaponSubmissionResponseDTO> codecListing() {
+        List<WeaponSubmissionResponseDTO> result = new ArrayList<>(queue.size());
+        for (Submission submission : queue) {
+            submission.setPayload(submission.getPayload());
+            result.add(mapper.toResponseDTO(submission));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public WeaponSubmissionResponseDTO convertValueApprove() {
+        Submission submission = queue.get(0);
+        Map<String, Object> payload = submission.getPayload();
+        objectMapper.convertValue(payload, WeaponSubmissionRequestDTO.class);
+        return toResponse(submission, objectMapper.convertValue(payload, WeaponSubmissionRequestDTO.class));
+    }
+
+    @Benchmark
+    public WeaponSubmissionResponseDTO codecApprove() {
+        Submission submission = queue.get(0);
+        submission.setPayload(submission.getPayload());
+        mapper.toApprovedWeapon(submission);
+        return mapper.toResponseDTO(submission);
+    }
+
+    private static WeaponSubmissionResponseDTO toResponse(Submission submission, WeaponSubmissionRequestDTO payload) {
+        return new WeaponSubmissionResponseDTO(submission.getId(), submission.getSubmissionType(),
+                submission.getStatus(), submission.getSubmittedBy().getUsername(), submission.getTargetEntityId(),
+                payload.name(), payload.weaponClass(), payload.element(), payload.baseDamage(),
+                payload.criticalChance(), payload.attacksPerTurn(), payload.range(), payload.rarity(),
+                payload.price(), payload.quality(), payload.abilities(), payload.description(), payload.imageUrl(),
+                submission.getRejectionReason(), submission.getCreatedAt(), submission.getUpdatedAt());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WeaponPayloadMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
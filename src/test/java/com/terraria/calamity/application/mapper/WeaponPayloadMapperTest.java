@@ -1,6 +1,5 @@
 package com.terraria.calamity.application.mapper;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.entity.*;
 import org.junit.jupiter.api.Test;
@@ -9,7 +8,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class WeaponPayloadMapperTest {
 
-    private final WeaponPayloadMapper mapper = new WeaponPayloadMapper(new ObjectMapper());
+    private final WeaponPayloadMapper mapper = new WeaponPayloadMapper(new WeaponPayloadCodec());
 
     private WeaponSubmissionRequestDTO sampleRequest(Long targetWeaponId) {
         return new WeaponSubmissionRequestDTO(
@@ -0,0 +1,130 @@
+package com.terraria.calamity.application.ratelimit;
+
+import com.terraria.calamity.application.ratelimit.RateLimitBackend.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simula várias instâncias da API: cada {@link JdbcRateLimitBackend} tem seus
+ * próprios leases em memória, mas todas compartilham o mesmo banco (H2 em
+ * modo PostgreSQL, com a tabela criada pela própria migration V15).
+ */
+class JdbcRateLimitBackendTest {
+
+    private static final int NODES = 3;
+    private static final Limit AUTH = new Limit("auth", 5);
+    private static final Limit DEFAULT = new Limit("default", 60);
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void createSchema() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ratelimit_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V15__Create_rate_limit_buckets_table.sql")).execute(dataSource);
+    }
+
+    private JdbcRateLimitBackend node(DataSource dataSource, SimpleMeterRegistry meterRegistry) {
+        return new JdbcRateLimitBackend(dataSource, new DataSourceTransactionManager(dataSource),
+                Duration.ofSeconds(5), 10_000, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void severalNodes_shareOneBucketPerClient() {
+        List<SimpleMeterRegistry> registries = new ArrayList<>();
+        List<RateLimitBackend> nodes = new ArrayList<>();
+        List<RateLimitBackend> localNodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            registries.add(meterRegistry);
+            nodes.add(node(dataSource, meterRegistry));
+            localNodes.add(new LocalRateLimitBackend());
+        }
+
+        int requests = 300;
+        int allowed = 0;
+        int allowedLocally = 0;
+        for (int i = 0; i < requests; i++) {
+            if (nodes.get(i % NODES).tryConsume(DEFAULT, "10.0.0.1", 1).allowed()) {
+                allowed++;
+            }
+            if (localNodes.get(i % NODES).tryConsume(DEFAULT, "10.0.0.1", 1).allowed()) {
+                allowedLocally++;
+            }
+        }
+
+        // Cada instância local admite o tier inteiro; compartilhado, o cliente recebe o tier uma vez
+        // (mais o refill de 1 token/s enquanto o teste roda)
+        assertThat(allowedLocally).isGreaterThanOrEqualTo(NODES * DEFAULT.capacityPerMinute());
+        assertThat(allowed).isBetween(DEFAULT.capacityPerMinute() - JdbcRateLimitBackend.batchSize(DEFAULT),
+                DEFAULT.capacityPerMinute() + 2);
+
+        double roundTrips = registries.stream()
+                .mapToDouble(registry -> registry.find("ratelimit.jdbc.acquisitions").counters().stream()
+                        .mapToDouble(counter -> counter.count()).sum())
+                .sum();
+        assertThat(roundTrips).isLessThan(requests / 10.0);
+    }
+
+    @Test
+    void clientsAndTiers_haveIndependentSharedBuckets() {
+        JdbcRateLimitBackend first = node(dataSource, new SimpleMeterRegistry());
+        JdbcRateLimitBackend second = node(dataSource, new SimpleMeterRegistry());
+
+        for (int i = 0; i < AUTH.capacityPerMinute(); i++) {
+            assertThat((i % 2 == 0 ? first : second).tryConsume(AUTH, "10.0.0.2", 1).allowed()).isTrue();
+        }
+        RateLimitBackend.Decision denied = second.tryConsume(AUTH, "10.0.0.2", 1);
+
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.nanosToWait()).isPositive();
+        assertThat(first.tryConsume(AUTH, "10.0.0.3", 1).allowed()).isTrue();
+        assertThat(first.tryConsume(DEFAULT, "10.0.0.2", 1).allowed()).isTrue();
+    }
+
+    @Test
+    void costlyRequests_drawTheirCostFromTheSharedBucket() {
+        JdbcRateLimitBackend first = node(dataSource, new SimpleMeterRegistry());
+        JdbcRateLimitBackend second = node(dataSource, new SimpleMeterRegistry());
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if ((i % 2 == 0 ? first : second).tryConsume(DEFAULT, "u:1", 10).allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isBetween(5, 6);
+        assertThat(first.tryConsume(DEFAULT, "u:1", 10).allowed()).isFalse();
+    }
+
+    @Test
+    void databaseFailure_fallsBackToTheLocalLimit() {
+        DataSource withoutTable = new DriverManagerDataSource(
+                "jdbc:h2:mem:ratelimit_empty_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JdbcRateLimitBackend backend = node(withoutTable, meterRegistry);
+
+        for (int i = 0; i < AUTH.capacityPerMinute(); i++) {
+            assertThat(backend.tryConsume(AUTH, "10.0.0.4", 1).allowed()).isTrue();
+        }
+
+        assertThat(backend.tryConsume(AUTH, "10.0.0.4", 1).allowed()).isFalse();
+        assertThat(meterRegistry.get("ratelimit.jdbc.acquisitions").tag("result", "error").counter().count())
+                .isEqualTo(AUTH.capacityPerMinute() + 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.terraria.calamity.application.ratelimit;
+
+import com.terraria.calamity.application.ratelimit.RateLimitBackend.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimitBackendTest {
+
+    private static final Limit AUTH = new Limit("auth", 5);
+    private static final Limit DEFAULT = new Limit("default", 60);
+
+    @Test
+    void soak_millionsOfDistinctIps_keepBucketCountAtTheConfiguredBound() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalRateLimitBackend backend = new LocalRateLimitBackend(10_000, Duration.ofMinutes(5), meterRegistry);
+
+        for (int i = 0; i < 2_000_000; i++) {
+            String ip = "10." + ((i >> 16) & 0xFF) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF) + "/" + (i >> 24);
+            backend.resolveBucket((i & 7) == 0 ? AUTH : DEFAULT, ip).tryConsume(1);
+        }
+
+        assertThat(backend.bucketCount()).isLessThanOrEqualTo(20_000);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "ratelimit.default").functionCounter().count())
+                .isGreaterThan(1_000_000);
+        assertThat(meterRegistry.get("ratelimit.buckets.estimated.bytes").tag("tier", "default").gauge().value())
+                .isLessThanOrEqualTo(10_000 * LocalRateLimitBackend.ESTIMATED_BYTES_PER_CLIENT);
+    }
+
+    @Test
+    void tryConsume_deniesAfterTierCapacityWithTimeToWait() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend();
+
+        for (int i = 0; i < AUTH.capacityPerMinute(); i++) {
+            assertThat(backend.tryConsume(AUTH, "10.0.0.1", 1).allowed()).isTrue();
+        }
+        RateLimitBackend.Decision denied = backend.tryConsume(AUTH, "10.0.0.1", 1);
+
+        assertThat(denied.allowed()).isFalse();
+        assertThat(denied.nanosToWait()).isPositive();
+        assertThat(backend.tryConsume(DEFAULT, "10.0.0.1", 1).allowed()).isTrue();
+    }
+
+    @Test
+    void tryConsume_chargesTheCostAgainstTheSharedBucket() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(backend.tryConsume(DEFAULT, "u:1", 10).allowed()).isTrue();
+        }
+
+        assertThat(backend.tryConsume(DEFAULT, "u:1", 20).allowed()).isFalse();
+        assertThat(backend.tryConsume(DEFAULT, "u:1", 1).allowed()).isTrue();
+    }
+
+    @Test
+    void capacityChange_recreatesTheSubjectBucket() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend();
+        for (int i = 0; i < AUTH.capacityPerMinute(); i++) {
+            backend.tryConsume(AUTH, "10.0.0.2", 1);
+        }
+        assertThat(backend.tryConsume(AUTH, "10.0.0.2", 1).allowed()).isFalse();
+
+        assertThat(backend.tryConsume(new Limit("auth", 20), "10.0.0.2", 1).allowed()).isTrue();
+    }
+}
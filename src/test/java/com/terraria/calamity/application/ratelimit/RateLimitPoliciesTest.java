@@ -0,0 +1,137 @@
+package com.terraria.calamity.application.ratelimit;
+
+import com.terraria.calamity.application.ratelimit.RateLimitPolicies.LimitProperties;
+import com.terraria.calamity.application.ratelimit.RateLimitPolicies.Properties;
+import com.terraria.calamity.application.ratelimit.RateLimitPolicies.RouteProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitPoliciesTest {
+
+    private static final Map<String, LimitProperties> LIMITS = Map.of(
+            "auth", new LimitProperties(5, null, true),
+            "default", new LimitProperties(60, 120, null));
+
+    @Test
+    void resolve_prefersLiteralOverVariableOverCatchAll() {
+        RateLimitPolicies policies = RateLimitPolicies.of(new Properties(LIMITS, List.of(
+                new RouteProperties("/api/v1/submissions/**", null, null, 2),
+                new RouteProperties("/api/v1/submissions/{id}/approve", List.of("post"), null, 10),
+                new RouteProperties("/api/v1/submissions/mine/approve", List.of("POST"), null, 3))));
+
+        assertThat(policies.resolve("POST", "/api/v1/submissions/42/approve").cost()).isEqualTo(10);
+        assertThat(policies.resolve("POST", "/api/v1/submissions/mine/approve").cost()).isEqualTo(3);
+        assertThat(policies.resolve("GET", "/api/v1/submissions/42/approve").cost()).isEqualTo(2);
+        assertThat(policies.resolve("GET", "/api/v1/submissions").cost()).isEqualTo(2);
+    }
+
+    @Test
+    void resolve_unmatchedRoute_usesTheDefaultLimitWithCostOne() {
+        RoutePolicy policy = RateLimitPolicies.of(new Properties(LIMITS, List.of(
+                new RouteProperties("/api/v1/auth/login", List.of("POST"), "auth", null))))
+                .resolve("GET", "/api/v1/weapons/7");
+
+        assertThat(policy.cost()).isEqualTo(1);
+        assertThat(policy.limitFor(false)).isEqualTo(new RateLimitBackend.Limit("default", 60));
+        assertThat(policy.limitFor(true)).isEqualTo(new RateLimitBackend.Limit("default", 120));
+    }
+
+    @Test
+    void resolve_authenticatedCapacityDefaultsToAnonymous() {
+        RoutePolicy policy = RateLimitPolicies.of(new Properties(
+                Map.of("default", new LimitProperties(60, null, null)), null)).resolve("GET", "/api/v1/weapons");
+
+        assertThat(policy.perUser()).isTrue();
+        assertThat(policy.limitFor(true)).isEqualTo(new RateLimitBackend.Limit("default", 60));
+    }
+
+    @Test
+    void resolve_ipOnlyLimit_hasNoPerUserBucket() {
+        RoutePolicy policy = RateLimitPolicies.defaults().resolve("POST", "/api/v1/auth/login");
+
+        assertThat(policy.perUser()).isFalse();
+        assertThat(policy.limitFor(true)).isEqualTo(new RateLimitBackend.Limit("auth", 5));
+        assertThat(RateLimitPolicies.defaults().resolve("GET", "/api/v1/auth/login").limitFor(false).name())
+                .isEqualTo("default");
+    }
+
+    @Test
+    void invalidPolicies_areRejected() {
+        assertThatThrownBy(() -> RateLimitPolicies.of(new Properties(Map.of("auth", new LimitProperties(5, 5, null)), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitPolicies.of(new Properties(Map.of(
+                "auth", new LimitProperties(5, 5, true), "default", new LimitProperties(60, null, null)), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitPolicies.of(new Properties(LIMITS, List.of(
+                new RouteProperties("/api/v1/auth/login", null, "missing", null)))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitPolicies.of(new Properties(LIMITS, List.of(
+                new RouteProperties("/api/v1/auth/login", null, "auth", 6)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void environment_bindsLimitsAndRoutes() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("rate-limit.limits.default.anonymous", "30")
+                .withProperty("rate-limit.routes[0].pattern", "/api/v1/armor/{id}")
+                .withProperty("rate-limit.routes[0].methods", "PUT,DELETE")
+                .withProperty("rate-limit.routes[0].cost", "5");
+
+        RateLimitPolicies policies = new RateLimitPolicies(environment, "", Duration.ofSeconds(10));
+
+        assertThat(policies.resolve("PUT", "/api/v1/armor/3").cost()).isEqualTo(5);
+        assertThat(policies.resolve("GET", "/api/v1/armor/3").limitFor(true).capacityPerMinute()).isEqualTo(30);
+    }
+
+    @Test
+    void policyFile_isReloadedWhenItChanges_andBrokenEditsAreIgnored(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("rate-limit.yml");
+        write(file, 1, """
+                rate-limit:
+                  limits:
+                    default: {anonymous: 60}
+                  routes:
+                    - {pattern: /api/v1/armor/*, methods: [PUT], cost: 5}
+                """);
+        RateLimitPolicies policies = new RateLimitPolicies(new MockEnvironment(), file.toString(), Duration.ZERO);
+        assertThat(policies.resolve("PUT", "/api/v1/armor/1").cost()).isEqualTo(5);
+
+        write(file, 2, """
+                rate-limit:
+                  limits:
+                    default: {anonymous: 60}
+                  routes:
+                    - {pattern: /api/v1/armor/*, methods: [PUT], cost: 20}
+                """);
+        assertThat(policies.resolve("PUT", "/api/v1/armor/1").cost()).isEqualTo(20);
+
+        write(file, 3, """
+                rate-limit:
+                  limits:
+                    default: {anonymous: 60}
+                  routes:
+                    - {pattern: /api/v1/armor/*, methods: [PUT], cost: 500}
+                """);
+        assertThat(policies.resolve("PUT", "/api/v1/armor/1").cost()).isEqualTo(20);
+    }
+
+    private static void write(Path file, int generation, String content) throws IOException {
+        Files.writeString(file, content);
+        // mtime explícito: gravações no mesmo instante teriam o mesmo mtime
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(generation)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.terraria.calamity.application.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramIndexTest {
+
+    private final NgramIndex index = NgramIndex.of(List.of(
+            new NgramIndex.Entry(1L, "Terra Blade"),
+            new NgramIndex.Entry(2L, "Excalibur"),
+            new NgramIndex.Entry(3L, "True Excalibur"),
+            new NgramIndex.Entry(4L, "Ark of the Cosmos"),
+            new NgramIndex.Entry(5L, "Terrarian")
+    ));
+
+    @Test
+    void search_ranksPrefixBeforeSubstring() {
+        assertThat(index.search("excal", 10))
+                .extracting(NameMatch::name)
+                .containsExactly("Excalibur", "True Excalibur");
+    }
+
+    @Test
+    void search_toleratesTypos() {
+        assertThat(index.search("excalbur", 10))
+                .extracting(NameMatch::name)
+                .startsWith("Excalibur");
+    }
+
+    @Test
+    void search_findsShortSubstringsAndRespectsLimit() {
+        assertThat(index.search("os", 10)).extracting(NameMatch::name).containsExactly("Ark of the Cosmos");
+        assertThat(index.search("terra", 1)).extracting(NameMatch::id).containsExactly(1L);
+    }
+
+    @Test
+    void search_withBlankQuery_isEmpty() {
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+}
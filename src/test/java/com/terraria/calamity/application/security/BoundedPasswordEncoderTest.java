@@ -0,0 +1,104 @@
+package com.terraria.calamity.application.security;
+
+import com.terraria.calamity.api.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    /** Delegate que segura cada hash até o teste liberar. */
+    private PasswordEncoder blockingDelegate() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+
+            private void await() {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    @Test
+    void fullQueue_failsFastWithServiceOverloaded() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingDelegate(), 1, 1, Duration.ofSeconds(10), meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        awaitQueueDepth(0, running);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitQueueDepth(1, queued);
+
+        assertThatThrownBy(() -> encoder.encode("c")).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void waitingLongerThanMaxWait_failsWithServiceOverloaded() {
+        encoder = new BoundedPasswordEncoder(blockingDelegate(), 1, 10, Duration.ofMillis(50), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("a", "hash:a")).isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void bcrypt_matchesAndFlagsWeakerHashesForUpgrade() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 2, 4, Duration.ofSeconds(5), meterRegistry);
+        String weak = new BCryptPasswordEncoder(4).encode("secret123");
+
+        assertThat(encoder.matches("secret123", weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(weak)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret123"))).isFalse();
+        assertThat(meterRegistry.get("auth.password.queue.depth").gauge().value()).isZero();
+    }
+
+    private void awaitQueueDepth(int depth, CompletableFuture<?> submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // O primeiro hash sai da fila para a thread; o segundo fica esperando nela
+        while (System.nanoTime() < deadline && !submitted.isDone()) {
+            double queued = meterRegistry.get("auth.password.queue.depth").gauge().value();
+            double waited = meterRegistry.get("auth.password.wait").timer().count();
+            if (queued == depth && waited >= 1) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+}
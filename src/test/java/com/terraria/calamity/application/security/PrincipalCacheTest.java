@@ -0,0 +1,74 @@
+package com.terraria.calamity.application.security;
+
+import com.terraria.calamity.application.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "player@terraria.com";
+
+    @Mock private CustomUserDetailsService userDetailsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new PrincipalCache(userDetailsService, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    private void stubUser(String role) {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(
+                User.withUsername(EMAIL).password("$2a$10$hash").roles(role).build());
+    }
+
+    @Test
+    void load_hitsTheDatabaseOnlyOnce_andDropsThePasswordHash() {
+        stubUser("USER");
+
+        cache.load(EMAIL);
+        var principal = cache.load(EMAIL);
+
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        assertThat(principal.getPassword()).isEmpty();
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "auth.principals").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void accountChangedEvent_evictsTheEntry() {
+        stubUser("USER");
+        cache.load(EMAIL);
+
+        cache.onUserAccountChanged(new UserAccountChangedEvent(1L, EMAIL, 1));
+        cache.load(EMAIL);
+
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void load_unknownUser_propagatesAndIsNotCached() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenThrow(new UsernameNotFoundException(EMAIL));
+
+        assertThatThrownBy(() -> cache.load(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cache.load(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+}
@@ -0,0 +1,89 @@
+package com.terraria.calamity.application.security;
+
+import com.terraria.calamity.domain.repository.TokenVersionView;
+import com.terraria.calamity.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock private UserRepository userRepository;
+
+    private static TokenVersionView revoked(long id, int tokenVersion) {
+        return new TokenVersionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+
+    @Test
+    void loadedRegistry_answersFromMemory() {
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(revoked(7L, 2)));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, Duration.ofHours(1), Duration.ZERO);
+
+        assertThat(registry.isCurrent(7L, 1)).isFalse();
+        assertThat(registry.isCurrent(7L, 2)).isTrue();
+        assertThat(registry.isCurrent(8L, 0)).isTrue();
+        verify(userRepository, times(1)).findRevokedTokenVersions();
+        verify(userRepository, never()).findTokenVersionById(7L);
+    }
+
+    @Test
+    void firstLoadFailing_checksEachTokenDirectlyInsteadOfAcceptingIt() {
+        when(userRepository.findRevokedTokenVersions()).thenThrow(new DataAccessResourceFailureException("down"));
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(2));
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, Duration.ofHours(1), Duration.ofHours(1));
+
+        assertThat(registry.isCurrent(7L, 1)).isFalse();
+        assertThat(registry.isCurrent(7L, 2)).isTrue();
+        // Usuário removido: nenhum token dele vale
+        assertThat(registry.isCurrent(9L, 0)).isFalse();
+    }
+
+    @Test
+    void firstLoadFailing_andDirectLookupFailing_propagatesSoTheTokenIsRejected() {
+        when(userRepository.findRevokedTokenVersions()).thenThrow(new DataAccessResourceFailureException("down"));
+        when(userRepository.findTokenVersionById(7L)).thenThrow(new DataAccessResourceFailureException("down"));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, Duration.ofHours(1), Duration.ofHours(1));
+
+        assertThatThrownBy(() -> registry.isCurrent(7L, 5)).isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void failedRefresh_isRetriedAfterTheBackoff_notTheFullInterval() {
+        when(userRepository.findRevokedTokenVersions())
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(revoked(7L, 3)));
+        TokenVersionRegistry registry = new TokenVersionRegistry(userRepository, Duration.ofHours(1), Duration.ZERO);
+        when(userRepository.findTokenVersionById(7L)).thenReturn(Optional.of(3));
+
+        assertThat(registry.isCurrent(7L, 2)).isFalse();
+        assertThat(registry.isCurrent(7L, 2)).isFalse();
+
+        verify(userRepository, times(2)).findRevokedTokenVersions();
+        verify(userRepository, times(1)).findTokenVersionById(7L);
+    }
+}
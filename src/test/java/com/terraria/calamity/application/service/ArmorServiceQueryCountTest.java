@@ -0,0 +1,114 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.api.controller.ArmorController.ArmorPieceRequestDTO;
+import com.terraria.calamity.api.controller.ArmorController.ArmorRequestDTO;
+import com.terraria.calamity.domain.dto.ArmorPieceResponseDTO;
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.ArmorPiece;
+import com.terraria.calamity.domain.entity.Rarity;
+import com.terraria.calamity.domain.repository.ArmorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Regressão do N+1 das peças: o número de SELECTs não pode crescer com o número de armaduras.
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ArmorServiceQueryCountTest {
+
+    @Autowired private ArmorService armorService;
+    @Autowired private ArmorRepository armorRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        armorRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private void seed(int armors) {
+        for (int i = 0; i < armors; i++) {
+            Armor armor = Armor.builder().name("Armor " + i).armorClass(Armor.ArmorClass.MELEE)
+                    .rarity(Rarity.RARE).totalDefense(20).imageUrl("").build();
+            armor.addPiece(ArmorPiece.builder().slot(ArmorPiece.Slot.HELMET).name("Helmet " + i).defense(5).build());
+            armor.addPiece(ArmorPiece.builder().slot(ArmorPiece.Slot.CHEST).name("Chest " + i).defense(8).build());
+            armorRepository.save(armor);
+        }
+        // Força a leitura do banco: sem isso as coleções já estariam no contexto de persistência
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long statementsFor(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void findAll_issuesASingleSelect_regardlessOfArmorCount() {
+        seed(2);
+        long few = statementsFor(() -> assertThat(armorService.findAll()).hasSize(2)
+                .allSatisfy(armor -> assertThat(armor.pieces()).hasSize(2)));
+
+        seed(10);
+        long many = statementsFor(() -> assertThat(armorService.findAll()).hasSize(12)
+                .allSatisfy(armor -> assertThat(armor.pieces()).hasSize(2)));
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void findByClassAndRarity_issueASingleSelect() {
+        seed(5);
+
+        assertThat(statementsFor(() -> armorService.findByClass(Armor.ArmorClass.MELEE))).isEqualTo(1);
+        entityManager.clear();
+        assertThat(statementsFor(() -> armorService.findByRarity(Rarity.RARE))).isEqualTo(1);
+    }
+
+    @Test
+    void update_reconcilesPiecesBySlot_withoutDeletingAndReinserting() {
+        seed(1);
+        Long id = armorRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        armorService.update(id, ArmorRequestDTO.builder()
+                .name("Armor 0").armorClass("MELEE").rarity("RARE").totalDefense(21).imageUrl("")
+                .pieces(List.of(
+                        ArmorPieceRequestDTO.builder().slot("HELMET").name("Helmet 0").imageUrl("").defense(6).build(),
+                        ArmorPieceRequestDTO.builder().slot("LEGS").name("Legs 0").imageUrl("").defense(4).build()))
+                .build());
+        entityManager.flush();
+
+        // HELMET atualizado no lugar, CHEST removido, LEGS inserido; nenhum slot apagado e reinserido
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+
+        entityManager.clear();
+        assertThat(armorService.findById(id).pieces())
+                .extracting(ArmorPieceResponseDTO::slot, ArmorPieceResponseDTO::defense)
+                .containsExactlyInAnyOrder(
+                        tuple("HELMET", 6),
+                        tuple("LEGS", 4));
+    }
+}
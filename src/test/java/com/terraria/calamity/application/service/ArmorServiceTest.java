@@ -1,7 +1,12 @@
 package com.terraria.calamity.application.service;
 
 import com.terraria.calamity.api.controller.ArmorController.ArmorRequestDTO;
+import com.terraria.calamity.application.catalog.ArmorCatalogChangedEvent;
+import com.terraria.calamity.application.catalog.ArmorCatalogVersion;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
 import com.terraria.calamity.application.mapper.ArmorMapper;
+import com.terraria.calamity.application.search.NameMatch;
+import com.terraria.calamity.application.search.NameSearchEngine;
 import com.terraria.calamity.domain.dto.ArmorResponseDTO;
 import com.terraria.calamity.domain.entity.Armor;
 import com.terraria.calamity.domain.entity.Rarity;
@@ -11,12 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +31,10 @@ class ArmorServiceTest {
 
     @Mock private ArmorRepository armorRepository;
     @Mock private ArmorMapper armorMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private NameSearchEngine nameSearchEngine;
+    @Mock private ArmorCatalogVersion armorCatalogVersion;
+    @Mock private SerializedResponseCache responseCache;
 
     @InjectMocks private ArmorService armorService;
 
@@ -68,6 +79,26 @@ class ArmorServiceTest {
         ArmorResponseDTO result = armorService.create(request);
 
         assertThat(result).isEqualTo(dto);
+        verify(eventPublisher).publishEvent(ArmorCatalogChangedEvent.upserted(saved));
+    }
+
+    @Test
+    void searchByName_returnsArmorsInEngineRankingOrder() {
+        Armor victide = Armor.builder().name("Victide").build();
+        victide.setId(1L);
+        Armor auric = Armor.builder().name("Auric Tesla").build();
+        auric.setId(2L);
+        ArmorResponseDTO victideDto = new ArmorResponseDTO(
+                1L, "Victide", null, null, 12, "", "", "", List.of(), null, null);
+        ArmorResponseDTO auricDto = new ArmorResponseDTO(
+                2L, "Auric Tesla", null, null, 50, "", "", "", List.of(), null, null);
+        when(nameSearchEngine.search(NameSearchEngine.Target.ARMORS, "vic", 50))
+                .thenReturn(List.of(new NameMatch(2L, "Auric Tesla", 0.4), new NameMatch(1L, "Victide", 3.2)));
+        when(armorRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(victide, auric));
+        when(armorMapper.toResponseDTO(victide)).thenReturn(victideDto);
+        when(armorMapper.toResponseDTO(auric)).thenReturn(auricDto);
+
+        assertThat(armorService.searchByName("vic")).containsExactly(auricDto, victideDto);
     }
 
     @Test
@@ -8,21 +8,23 @@ import com.terraria.calamity.domain.dto.UserResponse;
 import com.terraria.calamity.domain.entity.Role;
 import com.terraria.calamity.domain.entity.User;
 import com.terraria.calamity.domain.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,22 +36,21 @@ class AuthServiceTest {
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private AuthenticationManager authenticationManager;
     @Mock private JwtService jwtService;
+    @Mock private RefreshTokenService refreshTokenService;
 
     @InjectMocks private AuthService authService;
 
     @Test
     void register_savesUserAndReturnsToken() {
         RegisterRequest request = new RegisterRequest("calamitas", "calamitas@terraria.com", "secret123");
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(passwordEncoder.encode("secret123")).thenReturn("hashed");
-        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(jwtService.generateToken("calamitas@terraria.com")).thenReturn("jwt-token");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(jwtService.generateToken(any(User.class))).thenReturn("jwt-token");
 
         AuthResponse response = authService.register(request);
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         assertThat(userCaptor.getValue().getPassword()).isEqualTo("hashed");
         assertThat(userCaptor.getValue().getRole()).isEqualTo(Role.USER);
 
@@ -63,20 +64,39 @@ class AuthServiceTest {
     @Test
     void register_throwsWhenEmailAlreadyExists() {
         RegisterRequest request = new RegisterRequest("calamitas", "calamitas@terraria.com", "secret123");
-        when(userRepository.existsByEmail("calamitas@terraria.com")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_email"));
 
         assertThatThrownBy(() -> authService.register(request))
-                .isInstanceOf(DuplicateResourceException.class);
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Email")
+                .extracting("field").isEqualTo("email");
     }
 
     @Test
     void register_throwsWhenUsernameAlreadyTaken() {
         RegisterRequest request = new RegisterRequest("calamitas", "calamitas@terraria.com", "secret123");
-        when(userRepository.existsByEmail("calamitas@terraria.com")).thenReturn(false);
-        when(userRepository.existsByUsername("calamitas")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(uniqueViolation("uk_users_username"));
 
         assertThatThrownBy(() -> authService.register(request))
-                .isInstanceOf(DuplicateResourceException.class);
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("Username")
+                .extracting("field").isEqualTo("username");
+    }
+
+    @Test
+    void register_otherIntegrityViolation_isNotReportedAsDuplicate() {
+        RegisterRequest request = new RegisterRequest("calamitas", "calamitas@terraria.com", "secret123");
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+                new SQLException("NULL not allowed for column \"ROLE\"", "23502"));
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(notNull);
+
+        assertThatThrownBy(() -> authService.register(request)).isSameAs(notNull);
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraint) {
+        SQLException duplicate = new SQLException("duplicate key value violates unique constraint", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", duplicate, constraint));
     }
 
     @Test
@@ -86,7 +106,7 @@ class AuthServiceTest {
                 .username("calamitas").email("calamitas@terraria.com")
                 .password("hashed").role(Role.USER).enabled(true).build();
         when(userRepository.findByEmail("calamitas@terraria.com")).thenReturn(Optional.of(user));
-        when(jwtService.generateToken("calamitas@terraria.com")).thenReturn("jwt-token");
+        when(jwtService.generateToken(any(User.class))).thenReturn("jwt-token");
 
         AuthResponse response = authService.login(request);
 
@@ -0,0 +1,173 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.TerrariaCalamityApplication;
+import com.terraria.calamity.application.importer.CatalogImportFormat;
+import com.terraria.calamity.domain.dto.CatalogImportResultDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Import de {@code rows} armas numa transação (desfeita no fim), com o
+ * contexto Spring completo sobre H2 em memória:
+ * - {@code stagedImport}: {@link CatalogImportService} lendo NDJSON gerado
+ *   sob demanda (o corpo nunca existe inteiro em memória), staging com o
+ *   loader {@code batch} e upsert em SQL;
+ * - {@code repositorySaveAll}: o caminho JPA, com batch de 50 e
+ *   flush/clear a cada 1000 entidades.
+ *
+ * O H2 não tem COPY, então isto mede o loader {@code batch}; no Postgres o
+ * {@code copy} ainda elimina os round trips dos batches.
+ *
+ * Rodar: {@code mvn test-compile} e executar {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:<classpath de teste> org.openjdk.jmh.Main CatalogImportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CatalogImportBenchmark {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private CatalogImportService importService;
+    private WeaponRepository weaponRepository;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TerrariaCalamityApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:import_bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "logging.level.root=WARN")
+                .run();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        importService = context.getBean(CatalogImportService.class);
+        weaponRepository = context.getBean(WeaponRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long stagedImport() {
+        return inRolledBackTransaction(() -> {
+            CatalogImportResultDTO result = importService.importWeapons(
+                    new BufferedReader(new GeneratedNdjson(rows)), CatalogImportFormat.NDJSON);
+            return result.inserted();
+        });
+    }
+
+    @Benchmark
+    public long repositorySaveAll() {
+        return inRolledBackTransaction(() -> {
+            List<Weapon> chunk = new ArrayList<>(FLUSH_EVERY);
+            for (int i = 0; i < rows; i++) {
+                chunk.add(Weapon.builder()
+                        .name("Bulk " + i).weaponClass(Weapon.WeaponClass.MELEE).element(Element.FIRE)
+                        .baseDamage(10 + i % 90).criticalChance(5).attacksPerTurn(1.0).range(10)
+                        .rarity(i % 17).price(100).quality(1).build());
+                if (chunk.size() == FLUSH_EVERY) {
+                    weaponRepository.saveAll(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                    chunk.clear();
+                }
+            }
+            weaponRepository.saveAll(chunk);
+            entityManager.flush();
+            return rows;
+        });
+    }
+
+    private long inRolledBackTransaction(LongSupplier work) {
+        return transactionTemplate.execute(status -> {
+            long result = work.getAsLong();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    /** NDJSON de armas gerado linha a linha conforme é lido. */
+    private static final class GeneratedNdjson extends Reader {
+
+        private final int rows;
+        private int next;
+        private String line = "";
+        private int position;
+
+        private GeneratedNdjson(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == line.length()) {
+                if (next == rows) {
+                    return -1;
+                }
+                line = """
+                        {"name":"Bulk %d","weaponClass":"MELEE","element":"FIRE","baseDamage":%d,"criticalChance":5,\
+                        "attacksPerTurn":1.0,"range":10,"rarity":%d,"price":100,"quality":1}
+                        """.formatted(next, 10 + next % 90, next % 17);
+                next++;
+                position = 0;
+            }
+            int count = Math.min(length, line.length() - position);
+            line.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
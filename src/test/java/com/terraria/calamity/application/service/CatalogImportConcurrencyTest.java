@@ -0,0 +1,69 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.importer.CatalogImportFormat;
+import com.terraria.calamity.domain.dto.CatalogImportResultDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CatalogImportConcurrencyTest {
+
+    @Autowired private CatalogImportService importService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private CatalogImportResultDTO importWeapon(String name, int baseDamage) {
+        String line = """
+                {"name":"%s","weaponClass":"MELEE","element":"FIRE","baseDamage":%d,"criticalChance":5,\
+                "attacksPerTurn":1.5,"range":10,"rarity":3,"price":500,"quality":4}""".formatted(name, baseDamage);
+        return importService.importWeapons(new BufferedReader(new StringReader(line)), CatalogImportFormat.NDJSON);
+    }
+
+    @Test
+    void concurrentImportsOfTheSameNewName_areSerialized_andTheSecondUpdates() throws Exception {
+        CountDownLatch firstImported = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<CatalogImportResultDTO> first = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    CatalogImportResultDTO result = importWeapon("Race Blade", 10);
+                    firstImported.countDown();
+                    await(releaseFirst);
+                    return result;
+                }));
+        assertThat(firstImported.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<CatalogImportResultDTO> second = CompletableFuture.supplyAsync(() -> importWeapon("Race Blade", 20));
+        Thread.sleep(300);
+        // O segundo espera a trava do catálogo enquanto o primeiro não faz commit
+        assertThat(second).isNotDone();
+
+        releaseFirst.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS).inserted()).isEqualTo(1);
+        CatalogImportResultDTO secondResult = second.get(10, TimeUnit.SECONDS);
+        assertThat(secondResult.inserted()).isZero();
+        assertThat(secondResult.updated()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT base_damage FROM weapons WHERE name = 'Race Blade'", Integer.class))
+                .containsExactly(20);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.terraria.calamity.application.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verificados por segundo, com o mesmo bearer repetido (o caso de um
+ * cliente fazendo muitas requisições com um token só):
+ * - {@code parserPerCall}: o comportamento antigo, um parser novo por chamada;
+ * - {@code sharedParser}: parser único, sem cache de tokens verificados;
+ * - {@code verifiedCache}: parser único + LRU de tokens verificados (padrão).
+ *
+ * Rodar: {@code mvn test-compile} e executar {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:<classpath de teste> org.openjdk.jmh.Main JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-terraria-calamity-rpg-123456";
+
+    private SecretKey key;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        uncached = new JwtService(SECRET, 3_600_000L, 0);
+        cached = new JwtService(SECRET, 3_600_000L, 10_000);
+        token = cached.generateToken("player@terraria.com");
+    }
+
+    @Benchmark
+    public String parserPerCall() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return uncached.extractEmail(token);
+    }
+
+    @Benchmark
+    public String verifiedCache() {
+        return cached.extractEmail(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
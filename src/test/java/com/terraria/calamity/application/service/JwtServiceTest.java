@@ -1,8 +1,13 @@
 package com.terraria.calamity.application.service;
 
+import com.terraria.calamity.application.security.JwtClaims;
+import com.terraria.calamity.domain.entity.Role;
+import com.terraria.calamity.domain.entity.User;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtServiceTest {
 
@@ -24,4 +29,35 @@ class JwtServiceTest {
 
         assertThat(jwtService.isValid(token + "tampered")).isFalse();
     }
+
+    @Test
+    void generateToken_forUser_carriesIdRoleAndTokenVersion() {
+        User user = User.builder().username("yharon").email("yharon@terraria.com").password("hashed")
+                .role(Role.ADMIN).tokenVersion(3).build();
+        user.setId(42L);
+
+        JwtClaims claims = jwtService.parseClaims(jwtService.generateToken(user));
+
+        assertThat(claims).isEqualTo(new JwtClaims("yharon@terraria.com", 42L, Role.ADMIN, 3));
+        assertThat(claims.selfContained()).isTrue();
+    }
+
+    @Test
+    void parseClaims_subjectOnlyToken_isNotSelfContained() {
+        JwtClaims claims = jwtService.parseClaims(jwtService.generateToken("player@terraria.com"));
+
+        assertThat(claims.email()).isEqualTo("player@terraria.com");
+        assertThat(claims.selfContained()).isFalse();
+    }
+
+    @Test
+    void parseClaims_cachedToken_stillExpiresAtItsExp() throws InterruptedException {
+        JwtService shortLived = new JwtService("test-secret-key-for-terraria-calamity-rpg-1234567890", 1000L);
+        String token = shortLived.generateToken("player@terraria.com");
+        assertThat(shortLived.parseClaims(token).email()).isEqualTo("player@terraria.com");
+
+        Thread.sleep(2000);
+
+        assertThatThrownBy(() -> shortLived.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
 }
@@ -0,0 +1,109 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.mapper.WeaponPayloadCodec;
+import com.terraria.calamity.domain.dto.SubmissionBatchRequestDTO.Decision;
+import com.terraria.calamity.domain.dto.SubmissionBatchResponseDTO;
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
+import com.terraria.calamity.domain.entity.*;
+import com.terraria.calamity.domain.repository.SubmissionRepository;
+import com.terraria.calamity.domain.repository.UserRepository;
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Lote de 500 decisões: 2 SELECTs IN e um batch JDBC por tabela, sem crescer com o tamanho do lote.
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class SubmissionServiceBatchQueryCountTest {
+
+    private static final int BATCH = 500;
+
+    @Autowired private SubmissionService submissionService;
+    @Autowired private SubmissionRepository submissionRepository;
+    @Autowired private WeaponRepository weaponRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final WeaponPayloadCodec codec = new WeaponPayloadCodec();
+    private Statistics statistics;
+    private User author;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        author = userRepository.save(User.builder().username("batcher").email("batcher@terraria.com")
+                .password("hashed").role(Role.USER).enabled(true).build());
+    }
+
+    private Submission pending(SubmissionType type, Long targetEntityId, String name) {
+        Submission submission = Submission.builder()
+                .entityType(EntityType.WEAPON)
+                .submissionType(type)
+                .submittedBy(author)
+                .targetEntityId(targetEntityId)
+                .build();
+        codec.write(submission, new WeaponSubmissionRequestDTO(null, name, Weapon.WeaponClass.MELEE, Element.HOLY,
+                50, 8, 1.3, 65, 5, 8000, 6, "Slash", "desc", "img"));
+        return submission;
+    }
+
+    private List<Long> seedUpdateSubmissions() {
+        List<Long> ids = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            Weapon weapon = weaponRepository.save(Weapon.builder()
+                    .name("Batch Weapon " + i).weaponClass(Weapon.WeaponClass.RANGED).element(Element.ICE)
+                    .baseDamage(10).criticalChance(5).attacksPerTurn(1.0).range(10)
+                    .rarity(1).price(100).quality(1).build());
+            ids.add(submissionRepository.save(pending(SubmissionType.UPDATE, weapon.getId(), "Reworked " + i)).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return ids;
+    }
+
+    @Test
+    void approveBatch_ofUpdates_loadsWithTwoSelectsAndFlushesOneBatchPerTable() {
+        List<Long> ids = seedUpdateSubmissions();
+
+        statistics.clear();
+        SubmissionBatchResponseDTO response = submissionService.decideBatch(ids, Decision.APPROVE, null);
+        entityManager.flush();
+
+        assertThat(response.succeeded()).isEqualTo(BATCH);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2L * BATCH);
+        // SELECT submissions IN, SELECT weapons IN, UPDATE weapons (batch), UPDATE submissions (batch)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        entityManager.clear();
+        assertThat(weaponRepository.findAllById(List.of(submissionRepository.findById(ids.get(0)).orElseThrow()
+                .getTargetEntityId()))).extracting(Weapon::getName).containsExactly("Reworked 0");
+    }
+
+    @Test
+    void rejectBatch_doesNotLoadWeapons() {
+        List<Long> ids = seedUpdateSubmissions();
+
+        statistics.clear();
+        SubmissionBatchResponseDTO response = submissionService.decideBatch(ids, Decision.REJECT, "Duplicada");
+        entityManager.flush();
+
+        assertThat(response.results()).allSatisfy(result ->
+                assertThat(result.status()).isEqualTo(SubmissionStatus.REJECTED));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,79 @@
+package com.terraria.calamity.application.service;
+
+import com.terraria.calamity.application.mapper.WeaponPayloadCodec;
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
+import com.terraria.calamity.domain.entity.*;
+import com.terraria.calamity.domain.repository.SubmissionRepository;
+import com.terraria.calamity.domain.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export com um EntityManager ligado à thread, como o open-in-view faz com a
+ * thread do StreamingResponseBody: o contexto de persistência não pode crescer
+ * de lote em lote.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class SubmissionServiceExportTest {
+
+    private static final int BATCH = 5;
+
+    @Autowired private SubmissionService submissionService;
+    @Autowired private SubmissionRepository submissionRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final WeaponPayloadCodec codec = new WeaponPayloadCodec();
+
+    @AfterEach
+    void cleanup() {
+        submissionRepository.deleteAll();
+        userRepository.findByEmail("exporter@terraria.com").ifPresent(userRepository::delete);
+    }
+
+    private void seed(int count) {
+        User author = userRepository.save(User.builder().username("exporter").email("exporter@terraria.com")
+                .password("hashed").role(Role.USER).enabled(true).build());
+        for (int i = 0; i < count; i++) {
+            Submission submission = Submission.builder()
+                    .entityType(EntityType.WEAPON)
+                    .submissionType(SubmissionType.CREATE)
+                    .submittedBy(author)
+                    .build();
+            codec.write(submission, new WeaponSubmissionRequestDTO(null, "Exported " + i, Weapon.WeaponClass.MELEE,
+                    Element.HOLY, 50, 8, 1.3, 65, 5, 8000, 6, "Slash", "desc", "img"));
+            submissionRepository.save(submission);
+        }
+    }
+
+    @Test
+    void exportByStatus_withBoundEntityManager_keepsPersistenceContextToOneBatch() {
+        seed(4 * BATCH);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        List<Integer> managedCounts = new ArrayList<>();
+        try {
+            submissionService.exportByStatus(SubmissionStatus.PENDING, BATCH, submission ->
+                    managedCounts.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount()));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertThat(managedCounts).hasSize(4 * BATCH);
+        // No máximo o lote atual e o autor, nunca os lotes anteriores
+        assertThat(managedCounts).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(BATCH + 1));
+    }
+}
@@ -3,27 +3,42 @@ package com.terraria.calamity.application.service;
 import com.terraria.calamity.api.exception.DuplicateResourceException;
 import com.terraria.calamity.api.exception.ForbiddenActionException;
 import com.terraria.calamity.api.exception.InvalidSubmissionStateException;
+import com.terraria.calamity.application.catalog.WeaponCatalogChangedEvent;
 import com.terraria.calamity.application.mapper.WeaponPayloadMapper;
+import com.terraria.calamity.domain.dto.SubmissionBatchRequestDTO;
+import com.terraria.calamity.domain.dto.SubmissionBatchResponseDTO;
+import com.terraria.calamity.domain.dto.SubmissionPageResponseDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.dto.WeaponSubmissionResponseDTO;
 import com.terraria.calamity.domain.entity.*;
+import com.terraria.calamity.domain.repository.SubmissionKeyset;
 import com.terraria.calamity.domain.repository.SubmissionRepository;
 import com.terraria.calamity.domain.repository.UserRepository;
 import com.terraria.calamity.domain.repository.WeaponRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +49,8 @@ class SubmissionServiceTest {
     @Mock private WeaponRepository weaponRepository;
     @Mock private UserRepository userRepository;
     @Mock private WeaponPayloadMapper mapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private EntityManager entityManager;
 
     @InjectMocks private SubmissionService service;
 
@@ -157,6 +174,7 @@ class SubmissionServiceTest {
 
         verify(mapper).applyToExistingWeapon(submission, target);
         verify(weaponRepository).save(target);
+        verify(eventPublisher).publishEvent(WeaponCatalogChangedEvent.upserted(target));
         assertThat(submission.getStatus()).isEqualTo(SubmissionStatus.APPROVED);
     }
 
@@ -233,11 +251,53 @@ class SubmissionServiceTest {
     @Test
     void findByStatus_mapsAllMatchingSubmissions() {
         Submission entity = Submission.builder().entityType(EntityType.WEAPON).submissionType(SubmissionType.CREATE).status(SubmissionStatus.PENDING).build();
-        when(submissionRepository.findByEntityTypeAndStatusOrderByCreatedAtAsc(EntityType.WEAPON, SubmissionStatus.PENDING)).thenReturn(List.of(entity));
+        when(submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING, null, 21)).thenReturn(List.of(entity));
         WeaponSubmissionResponseDTO responseDTO = responseFor(SubmissionType.CREATE, null);
         when(mapper.toResponseDTO(entity)).thenReturn(responseDTO);
 
-        assertThat(service.findByStatus(SubmissionStatus.PENDING)).containsExactly(responseDTO);
+        SubmissionPageResponseDTO page = service.findByStatus(SubmissionStatus.PENDING, null, 20);
+
+        assertThat(page.items()).containsExactly(responseDTO);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findByStatus_withExtraRow_returnsCursorOfLastItemOnPage() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+        List<Submission> rows = List.of(queued(1L, createdAt), queued(2L, createdAt), queued(3L, createdAt));
+        SubmissionKeyset after = new SubmissionKeyset(createdAt.minusDays(1), 99L);
+        when(submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING, after, 3)).thenReturn(rows);
+
+        SubmissionPageResponseDTO page = service.findByStatus(SubmissionStatus.PENDING, after, 2);
+
+        assertThat(page.items()).hasSize(2);
+        assertThat(SubmissionKeyset.decode(page.nextCursor())).isEqualTo(new SubmissionKeyset(createdAt, 2L));
+        verify(mapper, never()).toResponseDTO(rows.get(2));
+    }
+
+    @Test
+    void exportByStatus_walksQueueInBatchesUntilShortBatch() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 12, 0);
+        Submission first = queued(1L, createdAt);
+        Submission second = queued(2L, createdAt.plusSeconds(1));
+        Submission third = queued(3L, createdAt.plusSeconds(2));
+        when(submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING, null, 2))
+                .thenReturn(List.of(first, second));
+        when(submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING,
+                new SubmissionKeyset(second.getCreatedAt(), 2L), 2)).thenReturn(List.of(third));
+        when(mapper.toResponseDTO(any())).thenReturn(responseFor(SubmissionType.CREATE, null));
+
+        List<WeaponSubmissionResponseDTO> exported = new ArrayList<>();
+        service.exportByStatus(SubmissionStatus.PENDING, 2, exported::add);
+
+        assertThat(exported).hasSize(3);
+    }
+
+    private Submission queued(Long id, LocalDateTime createdAt) {
+        Submission submission = Submission.builder().entityType(EntityType.WEAPON).submissionType(SubmissionType.CREATE).status(SubmissionStatus.PENDING).build();
+        submission.setId(id);
+        submission.setCreatedAt(createdAt);
+        return submission;
     }
 
     @Test
@@ -257,4 +317,60 @@ class SubmissionServiceTest {
 
         assertThatThrownBy(() -> service.findById(404L)).isInstanceOf(RuntimeException.class);
     }
+
+    @Test
+    void decideBatch_approve_reportsPerIdOutcomesAndPublishesAppliedWeapons() {
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        Submission create = queued(1L, LocalDateTime.now());
+        Submission update = queued(2L, LocalDateTime.now());
+        update.setSubmissionType(SubmissionType.UPDATE);
+        update.setTargetEntityId(7L);
+        Submission orphan = queued(3L, LocalDateTime.now());
+        orphan.setSubmissionType(SubmissionType.UPDATE);
+        orphan.setTargetEntityId(8L);
+        Submission approved = queued(4L, LocalDateTime.now());
+        approved.setStatus(SubmissionStatus.APPROVED);
+        when(submissionRepository.findAllById(List.of(1L, 2L, 3L, 4L, 5L)))
+                .thenReturn(List.of(create, update, orphan, approved));
+        Weapon target = Weapon.builder().name("Old").build();
+        target.setId(7L);
+        when(weaponRepository.findAllById(Set.of(7L, 8L))).thenReturn(List.of(target));
+        Weapon newWeapon = Weapon.builder().name("Terra Blade").build();
+        when(mapper.toApprovedWeapon(create)).thenReturn(newWeapon);
+        when(weaponRepository.saveAll(List.of(newWeapon))).thenReturn(List.of(newWeapon));
+
+        SubmissionBatchResponseDTO response = service.decideBatch(
+                List.of(1L, 2L, 3L, 4L, 5L, 1L), SubmissionBatchRequestDTO.Decision.APPROVE, null);
+
+        assertThat(response.succeeded()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.results()).extracting(SubmissionBatchResponseDTO.Result::id, SubmissionBatchResponseDTO.Result::status)
+                .containsExactly(
+                        tuple(1L, SubmissionStatus.APPROVED),
+                        tuple(2L, SubmissionStatus.APPROVED),
+                        tuple(3L, null),
+                        tuple(4L, null),
+                        tuple(5L, null));
+        assertThat(orphan.getStatus()).isEqualTo(SubmissionStatus.PENDING);
+        verify(session).setJdbcBatchSize(5);
+        verify(mapper).applyToExistingWeapon(update, target);
+        verify(eventPublisher, times(2)).publishEvent(any(WeaponCatalogChangedEvent.class));
+    }
+
+    @Test
+    void decideBatch_reject_setsReasonWithoutLoadingWeapons() {
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        Submission submission = queued(1L, LocalDateTime.now());
+        when(submissionRepository.findAllById(List.of(1L))).thenReturn(List.of(submission));
+
+        SubmissionBatchResponseDTO response = service.decideBatch(
+                List.of(1L), SubmissionBatchRequestDTO.Decision.REJECT, "Duplicada");
+
+        assertThat(response.succeeded()).isEqualTo(1);
+        assertThat(submission.getStatus()).isEqualTo(SubmissionStatus.REJECTED);
+        assertThat(submission.getRejectionReason()).isEqualTo("Duplicada");
+        verify(weaponRepository, never()).findAllById(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
 }
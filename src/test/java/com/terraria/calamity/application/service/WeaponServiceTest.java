@@ -1,18 +1,39 @@
 package com.terraria.calamity.application.service;
 
 import com.terraria.calamity.api.exception.ResourceInUseException;
+import com.terraria.calamity.application.catalog.SerializedResponseCache;
+import com.terraria.calamity.application.catalog.WeaponCatalog;
+import com.terraria.calamity.application.catalog.WeaponCatalogChangedEvent;
+import com.terraria.calamity.application.catalog.WeaponCatalogSnapshot;
 import com.terraria.calamity.application.mapper.WeaponMapper;
+import com.terraria.calamity.application.search.NameMatch;
+import com.terraria.calamity.application.search.NameSearchEngine;
+import com.terraria.calamity.domain.dto.WeaponPageResponseDTO;
+import com.terraria.calamity.domain.dto.WeaponResponseDTO;
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
+import com.terraria.calamity.domain.entity.Element;
 import com.terraria.calamity.domain.entity.EntityType;
+import com.terraria.calamity.domain.entity.Weapon;
 import com.terraria.calamity.domain.repository.SubmissionRepository;
+import com.terraria.calamity.domain.repository.WeaponKeyset;
 import com.terraria.calamity.domain.repository.WeaponRepository;
+import com.terraria.calamity.domain.repository.WeaponSearchCriteria;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +43,10 @@ class WeaponServiceTest {
     @Mock private WeaponRepository weaponRepository;
     @Mock private WeaponMapper weaponMapper;
     @Mock private SubmissionRepository submissionRepository;
+    @Mock private WeaponCatalog weaponCatalog;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private NameSearchEngine nameSearchEngine;
+    @Mock private SerializedResponseCache responseCache;
 
     @InjectMocks private WeaponService service;
 
@@ -35,6 +60,7 @@ class WeaponServiceTest {
                 .hasMessageContaining("submiss");
 
         verify(weaponRepository, never()).deleteById(7L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -45,5 +71,117 @@ class WeaponServiceTest {
         service.delete(9L);
 
         verify(weaponRepository).deleteById(9L);
+        verify(eventPublisher).publishEvent(WeaponCatalogChangedEvent.deleted(9L));
+    }
+
+    @Test
+    void findByClass_readsFromCatalogSnapshot_withoutTouchingRepository() {
+        WeaponResponseDTO melee = weapon(1L, "Terra Blade", Weapon.WeaponClass.MELEE);
+        WeaponResponseDTO mage = weapon(2L, "Razorblade Typhoon", Weapon.WeaponClass.MAGE);
+        when(weaponCatalog.snapshot()).thenReturn(WeaponCatalogSnapshot.of(1L, List.of(mage, melee)));
+
+        assertThat(service.findByClass(Weapon.WeaponClass.MELEE)).containsExactly(melee);
+        verifyNoInteractions(weaponRepository);
+    }
+
+    @Test
+    void searchByName_keepsEngineRankingAndResolvesDtosFromSnapshot() {
+        WeaponResponseDTO terraBlade = weapon(1L, "Terra Blade", Weapon.WeaponClass.MELEE);
+        WeaponResponseDTO terrarian = weapon(2L, "Terrarian", Weapon.WeaponClass.RANGED);
+        when(weaponCatalog.snapshot()).thenReturn(WeaponCatalogSnapshot.of(1L, List.of(terraBlade, terrarian)));
+        when(nameSearchEngine.search(NameSearchEngine.Target.WEAPONS, "terra", 50)).thenReturn(List.of(
+                new NameMatch(2L, "Terrarian", 3.5), new NameMatch(1L, "Terra Blade", 3.4), new NameMatch(9L, "Stale", 2.0)));
+
+        assertThat(service.searchByName("terra")).containsExactly(terrarian, terraBlade);
+        verifyNoInteractions(weaponRepository);
+    }
+
+    @Test
+    void query_withName_fetchesOneExtraRowFromDatabase_andReturnsCursorOfLastItemOnPage() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(Weapon.WeaponClass.MELEE, null, null, null, null, null, "weapon");
+        Weapon first = entity(3L, 5);
+        Weapon second = entity(1L, 8);
+        when(weaponRepository.search(criteria, null, 3)).thenReturn(List.of(first, second, entity(2L, 8)));
+        when(weaponMapper.toResponseDTO(any(Weapon.class)))
+                .thenAnswer(invocation -> new WeaponMapper().toResponseDTO(invocation.getArgument(0)));
+
+        WeaponPageResponseDTO<WeaponResponseDTO> page = service.query(criteria, null, 2);
+
+        assertThat(page.items()).extracting(WeaponResponseDTO::id).containsExactly(3L, 1L);
+        assertThat(WeaponKeyset.decode(page.nextCursor())).isEqualTo(new WeaponKeyset(8, 1L));
+    }
+
+    @Test
+    void query_withName_onLastPage_hasNoCursor() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(null, null, null, null, null, null, "weapon");
+        when(weaponRepository.search(criteria, null, 3)).thenReturn(List.of(entity(1L, 5)));
+
+        assertThat(service.query(criteria, null, 2).nextCursor()).isNull();
+    }
+
+    @Test
+    void querySummaries_withName_readsProjection_andPagesTheSameWay() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(null, null, 5, null, null, null, "a");
+        WeaponSummaryDTO first = WeaponSummaryDTO.of(weapon(4L, "Excalibur", Weapon.WeaponClass.MELEE));
+        WeaponSummaryDTO extra = WeaponSummaryDTO.of(weapon(6L, "Terra Blade", Weapon.WeaponClass.MELEE));
+        when(weaponRepository.searchSummaries(criteria, null, 2)).thenReturn(List.of(first, extra));
+
+        WeaponPageResponseDTO<WeaponSummaryDTO> page = service.querySummaries(criteria, null, 1);
+
+        assertThat(page.items()).containsExactly(first);
+        assertThat(WeaponKeyset.decode(page.nextCursor())).isEqualTo(new WeaponKeyset(5, 4L));
+        verify(weaponRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    void query_withoutName_pagesFromSnapshotIndexInRarityThenIdOrder() {
+        when(weaponCatalog.snapshot()).thenReturn(WeaponCatalogSnapshot.of(1L, List.of(
+                weapon(1L, Weapon.WeaponClass.MELEE, Element.FIRE, 8, 50),
+                weapon(2L, Weapon.WeaponClass.MELEE, Element.FIRE, 3, 50),
+                weapon(3L, Weapon.WeaponClass.MAGE, Element.FIRE, 3, 50),
+                weapon(4L, Weapon.WeaponClass.MELEE, Element.ICE, 5, 10),
+                weapon(5L, Weapon.WeaponClass.MELEE, Element.ICE, 3, 70),
+                weapon(6L, Weapon.WeaponClass.MELEE, Element.HOLY, 3, 50))));
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(Weapon.WeaponClass.MELEE,
+                Set.of(Element.FIRE, Element.ICE), null, 8, 20, null, null);
+
+        WeaponPageResponseDTO<WeaponResponseDTO> first = service.query(criteria, null, 2);
+        assertThat(first.items()).extracting(WeaponResponseDTO::id).containsExactly(2L, 5L);
+        assertThat(WeaponKeyset.decode(first.nextCursor())).isEqualTo(new WeaponKeyset(3, 5L));
+        WeaponPageResponseDTO<WeaponResponseDTO> second = service.query(criteria, WeaponKeyset.decode(first.nextCursor()), 2);
+        assertThat(second.items()).extracting(WeaponResponseDTO::id).containsExactly(1L);
+        assertThat(second.nextCursor()).isNull();
+        verifyNoInteractions(weaponRepository);
+    }
+
+    @Test
+    void querySummaries_withoutName_resumesAfterCursorWithinSameRarity() {
+        when(weaponCatalog.snapshot()).thenReturn(WeaponCatalogSnapshot.of(1L, List.of(
+                weapon(1L, Weapon.WeaponClass.MELEE, Element.FIRE, 3, 50),
+                weapon(2L, Weapon.WeaponClass.MELEE, Element.FIRE, 3, 50),
+                weapon(3L, Weapon.WeaponClass.MELEE, Element.FIRE, 4, 50))));
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(null, Set.of(), null, null, null, null, " ");
+
+        WeaponPageResponseDTO<WeaponSummaryDTO> page = service.querySummaries(criteria, new WeaponKeyset(3, 1L), 5);
+
+        assertThat(page.items()).extracting(WeaponSummaryDTO::id).containsExactly(2L, 3L);
+        assertThat(page.nextCursor()).isNull();
+        verifyNoInteractions(weaponRepository);
+    }
+
+    private WeaponResponseDTO weapon(Long id, Weapon.WeaponClass weaponClass, Element element, int rarity, int damage) {
+        return new WeaponResponseDTO(id, "Weapon " + id, weaponClass, element, damage, 8, 1.3, 65, rarity, 8000, 6,
+                null, null, null, null, null);
+    }
+
+    private Weapon entity(Long id, int rarity) {
+        Weapon weapon = Weapon.builder().name("Weapon " + id).rarity(rarity).build();
+        weapon.setId(id);
+        return weapon;
+    }
+
+    private WeaponResponseDTO weapon(Long id, String name, Weapon.WeaponClass weaponClass) {
+        return new WeaponResponseDTO(id, name, weaponClass, Element.HOLY, 50, 8, 1.3, 65, 5, 8000, 6,
+                null, null, null, null, null);
     }
 }
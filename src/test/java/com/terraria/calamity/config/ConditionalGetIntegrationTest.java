@@ -0,0 +1,156 @@
+package com.terraria.calamity.config;
+
+import com.terraria.calamity.api.controller.ArmorController;
+import com.terraria.calamity.api.controller.WeaponController;
+import com.terraria.calamity.application.service.ArmorService;
+import com.terraria.calamity.application.service.WeaponService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "catalog.version-check-interval=0s")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ConditionalGetIntegrationTest {
+
+    @Autowired private WebApplicationContext wac;
+    @Autowired private WeaponService weaponService;
+    @Autowired private ArmorService armorService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(wac)
+                .apply(springSecurity())
+                .build();
+    }
+
+    private void createWeapon(String name) {
+        weaponService.create(WeaponController.WeaponRequestDTO.builder()
+                .name(name).weaponClass("MELEE").element("HOLY").baseDamage(44).criticalChance(8)
+                .attacksPerTurn(1.3).range(65).rarity(5).price(8000).quality(6).build());
+    }
+
+    @Test
+    void weaponList_revalidatesWithEtag_untilCatalogChanges() throws Exception {
+        createWeapon("Excalibur");
+        String etag = mockMvc.perform(get("/api/v1/weapons"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"w-");
+
+        mockMvc.perform(get("/api/v1/weapons").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        createWeapon("Terra Blade");
+
+        String newEtag = mockMvc.perform(get("/api/v1/weapons").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void weaponList_servesPreGzippedBytes_withEtagPerEncoding() throws Exception {
+        createWeapon("Murasama");
+        var plain = mockMvc.perform(get("/api/v1/weapons?view=summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+        var gzipped = mockMvc.perform(get("/api/v1/weapons?view=summary").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        assertThat(plain.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gzipped.getHeader(HttpHeaders.ETAG)).endsWith("-gz\"").isNotEqualTo(plain.getHeader(HttpHeaders.ETAG));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(plain.getContentAsString())
+                    .contains("Murasama");
+        }
+    }
+
+    @Test
+    void filteredArmorList_isNotGzipped_andItsEtagHasNoGzipSuffix() throws Exception {
+        armorService.create(ArmorController.ArmorRequestDTO.builder()
+                .name("Aerospec").armorClass("UNIVERSAL").rarity("COMMON").totalDefense(8).imageUrl("")
+                .pieces(List.of()).build());
+
+        String etag = mockMvc.perform(get("/api/v1/armor?rarity=COMMON").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("Aerospec")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"a-").doesNotEndWith("-gz\"");
+
+        mockMvc.perform(get("/api/v1/armor?rarity=COMMON").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/armor").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-gz\"")));
+    }
+
+    @Test
+    void armorById_carriesLastModifiedFromUpdatedAt_andHonorsIfModifiedSince() throws Exception {
+        Long id = armorService.create(ArmorController.ArmorRequestDTO.builder()
+                .name("Victide").armorClass("UNIVERSAL").rarity("COMMON").totalDefense(12).imageUrl("")
+                .pieces(List.of()).build()).id();
+
+        String lastModified = mockMvc.perform(get("/api/v1/armor/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        mockMvc.perform(get("/api/v1/armor/" + id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void armorList_etagFollowsSharedVersion_includingWritesFromOtherInstances() throws Exception {
+        armorService.create(ArmorController.ArmorRequestDTO.builder()
+                .name("Sulphurous").armorClass("ROGUE").rarity("COMMON").totalDefense(9).imageUrl("")
+                .pieces(List.of()).build());
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM catalog_versions WHERE name = 'armors'", Long.class);
+        String etag = mockMvc.perform(get("/api/v1/armor"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isEqualTo("\"a-" + Long.toHexString(version) + "\"");
+
+        // Outra instância escreveu: só a linha compartilhada muda
+        jdbcTemplate.update("UPDATE catalog_versions SET version = version + 1, changed_at = CURRENT_TIMESTAMP "
+                + "WHERE name = 'armors'");
+
+        mockMvc.perform(get("/api/v1/armor").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"a-" + Long.toHexString(version + 1) + "\""));
+    }
+}
@@ -1,14 +1,28 @@
 package com.terraria.calamity.config;
 
+import com.terraria.calamity.application.ratelimit.LocalRateLimitBackend;
+import com.terraria.calamity.application.ratelimit.RateLimitPolicies;
+import com.terraria.calamity.application.security.JwtClaims;
+import com.terraria.calamity.application.security.TokenVersionRegistry;
+import com.terraria.calamity.application.service.JwtService;
+import com.terraria.calamity.domain.entity.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class RateLimitFilterTest {
 
@@ -108,4 +122,110 @@ class RateLimitFilterTest {
             assertThat(response.getStatus()).isEqualTo(200);
         }
     }
+
+    @Test
+    void boundedStore_stillEnforcesTheLimitForAnActiveClient() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(
+                new LocalRateLimitBackend(1, Duration.ofMinutes(5), new SimpleMeterRegistry()),
+                RateLimitPolicies.defaults(), null, null);
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 6; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+            request.setRemoteAddr("10.0.0.7");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(response.getStatus()).isEqualTo(i < 5 ? 200 : 429);
+        }
+    }
+
+    @Test
+    void expensiveRoute_drainsTheSharedBudgetFasterThanReads() throws Exception {
+        RateLimitPolicies policies = RateLimitPolicies.of(new RateLimitPolicies.Properties(
+                Map.of("default", new RateLimitPolicies.LimitProperties(60, 60, null)),
+                List.of(new RateLimitPolicies.RouteProperties("/api/v1/submissions/{id}/approve", List.of("POST"), null, 10))));
+        RateLimitFilter filter = new RateLimitFilter(new LocalRateLimitBackend(), policies, null, null);
+        FilterChain chain = mock(FilterChain.class);
+
+        for (int i = 0; i < 7; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/submissions/" + i + "/approve");
+            request.setRemoteAddr("10.0.0.8");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(response.getStatus()).isEqualTo(i < 6 ? 200 : 429);
+        }
+    }
+
+    private static final JwtService JWT_SERVICE =
+            new JwtService("test-secret-key-for-rate-limit-filter-tests-min-32-chars", 60_000);
+
+    private static RateLimitFilter filterWithTokens(TokenVersionRegistry tokenVersions) {
+        return new RateLimitFilter(new LocalRateLimitBackend(), RateLimitPolicies.defaults(), JWT_SERVICE, tokenVersions);
+    }
+
+    private static TokenVersionRegistry acceptingAllVersions() {
+        TokenVersionRegistry tokenVersions = mock(TokenVersionRegistry.class);
+        when(tokenVersions.isCurrent(anyLong(), anyInt())).thenReturn(true);
+        return tokenVersions;
+    }
+
+    @Test
+    void authenticatedRequests_areLimitedPerUserNotPerIp() throws Exception {
+        String token = JWT_SERVICE.generateToken(new JwtClaims("user@test.com", 42L, Role.USER, 0));
+        RateLimitFilter filter = filterWithTokens(acceptingAllVersions());
+        FilterChain chain = mock(FilterChain.class);
+
+        // O mesmo usuário vindo de IPs diferentes divide um bucket
+        for (int i = 0; i < 61; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/weapons");
+            request.setRemoteAddr("10.0.1." + i);
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(response.getStatus()).isEqualTo(i < 60 ? 200 : 429);
+        }
+
+        // O IP continua com o próprio bucket para requisições anônimas
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("GET", "/api/v1/weapons");
+        anonymous.setRemoteAddr("10.0.1.0");
+        MockHttpServletResponse anonymousResponse = new MockHttpServletResponse();
+        filter.doFilter(anonymous, anonymousResponse, chain);
+        assertThat(anonymousResponse.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rotatingBearerTokens_onLogin_stillCountsPerIp() throws Exception {
+        RateLimitFilter filter = filterWithTokens(acceptingAllVersions());
+        FilterChain chain = mock(FilterChain.class);
+
+        // Um token válido de uma conta descartável diferente a cada tentativa
+        for (int i = 0; i < 6; i++) {
+            String token = JWT_SERVICE.generateToken(new JwtClaims("throwaway" + i + "@test.com", 100L + i, Role.USER, 0));
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+            request.setRemoteAddr("10.0.2.1");
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(response.getStatus()).isEqualTo(i < 5 ? 200 : 429);
+        }
+    }
+
+    @Test
+    void revokedToken_countsPerIp() throws Exception {
+        TokenVersionRegistry tokenVersions = mock(TokenVersionRegistry.class);
+        when(tokenVersions.isCurrent(anyLong(), anyInt())).thenReturn(false);
+        RateLimitFilter filter = filterWithTokens(tokenVersions);
+        FilterChain chain = mock(FilterChain.class);
+
+        // Tokens revogados de usuários diferentes não ganham buckets próprios
+        for (int i = 0; i < 61; i++) {
+            String token = JWT_SERVICE.generateToken(new JwtClaims("revoked" + i + "@test.com", 200L + i, Role.USER, 0));
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/weapons");
+            request.setRemoteAddr("10.0.3.1");
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(response.getStatus()).isEqualTo(i < 60 ? 200 : 429);
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.terraria.calamity.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SemaphoreDataSourceTest {
+
+    @Test
+    void connectionsBeyondThePermits_waitAndThenTimeOut() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        SemaphoreDataSource dataSource = new SemaphoreDataSource(target, 2, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void closingTwice_releasesThePermitOnce() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        SemaphoreDataSource dataSource = new SemaphoreDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        verify(physical, times(2)).close();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(physical);
+    }
+
+    @Test
+    void failedCheckout_givesThePermitBack() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+        SemaphoreDataSource dataSource = new SemaphoreDataSource(target, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void thousandsOfVirtualThreads_neverHoldMoreConnectionsThanPermits() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> {
+            peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = mock(Connection.class);
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        SemaphoreDataSource dataSource = new SemaphoreDataSource(target, 10, Duration.ofSeconds(30));
+
+        List<Future<?>> tasks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                tasks.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        Thread.sleep(1);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+
+        assertThat(peak.get()).isLessThanOrEqualTo(10);
+        assertThat(open.get()).isZero();
+        assertThat(dataSource.availablePermits()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,34 @@
+package com.terraria.calamity.config;
+
+import com.terraria.calamity.domain.repository.WeaponRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadsProfileTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private WeaponRepository weaponRepository;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private Environment environment;
+
+    @Test
+    void profile_enablesVirtualThreadsAndGuardsTheDataSource() {
+        assertThat(environment.getProperty("spring.threads.virtual.enabled", Boolean.class)).isTrue();
+        assertThat(dataSource).isInstanceOf(SemaphoreDataSource.class);
+
+        weaponRepository.count();
+
+        assertThat(meterRegistry.get("datasource.guard.available").gauge().value())
+                .isEqualTo(((SemaphoreDataSource) dataSource).availablePermits());
+    }
+}
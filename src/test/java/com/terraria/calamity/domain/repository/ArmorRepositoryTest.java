@@ -1,5 +1,6 @@
 package com.terraria.calamity.domain.repository;
 
+import com.terraria.calamity.domain.dto.ArmorSummaryDTO;
 import com.terraria.calamity.domain.entity.Armor;
 import com.terraria.calamity.domain.entity.ArmorPiece;
 import com.terraria.calamity.domain.entity.Rarity;
@@ -55,4 +56,18 @@ class ArmorRepositoryTest {
                 .extracting(Armor::getName)
                 .containsExactly("Melee Set");
     }
+
+    @Test
+    void findSummariesByArmorClass_projectsNarrowColumnsOnly() {
+        Armor melee = Armor.builder().name("Melee Set").armorClass(Armor.ArmorClass.MELEE)
+                .rarity(Rarity.RARE).totalDefense(20).imageUrl("melee.png")
+                .markdownContent("# Texto longo").build();
+        armorRepository.save(melee);
+        armorRepository.save(Armor.builder().name("Mage Set").armorClass(Armor.ArmorClass.MAGE)
+                .rarity(Rarity.RARE).totalDefense(18).imageUrl("").build());
+
+        assertThat(armorRepository.findSummariesByArmorClass(Armor.ArmorClass.MELEE))
+                .containsExactly(new ArmorSummaryDTO(melee.getId(), "Melee Set", Armor.ArmorClass.MELEE,
+                        Rarity.RARE, 20, "melee.png"));
+    }
 }
@@ -0,0 +1,147 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.TerrariaCalamityApplication;
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.ArmorPiece;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Rarity;
+import com.terraria.calamity.domain.entity.Weapon;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Import em massa de armas e criação de armaduras com peças, numa transação
+ * por operação (desfeita no fim para a tabela não crescer), com o contexto
+ * Spring completo sobre H2 em memória.
+ *
+ * {@code batchSize=1} é o que acontecia com IDENTITY (um round trip por
+ * INSERT); {@code batchSize=50} é o batch JDBC que as sequences pooled-lo
+ * liberam. No fim de cada trial imprime quantos statements foram preparados
+ * por operação (Hibernate Statistics). Contra um Postgres real a diferença é
+ * maior, porque cada round trip paga a latência de rede.
+ *
+ * Rodar: {@code mvn test-compile} e executar {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:<classpath de teste> org.openjdk.jmh.Main BatchedInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchedInsertBenchmark {
+
+    private static final int WEAPONS_PER_IMPORT = 500;
+    private static final int ARMORS_PER_OPERATION = 50;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private WeaponRepository weaponRepository;
+    private ArmorRepository armorRepository;
+    private EntityManager entityManager;
+    private Statistics statistics;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(TerrariaCalamityApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:batch_bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN")
+                .run();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        weaponRepository = context.getBean(WeaponRepository.class);
+        armorRepository = context.getBean(ArmorRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nbatchSize=%d: %.1f prepared statements per operation%n",
+                batchSize, (double) statistics.getPrepareStatementCount() / Math.max(operations, 1));
+        context.close();
+    }
+
+    @Benchmark
+    public int weaponImport() {
+        operations++;
+        return inRolledBackTransaction(() -> {
+            List<Weapon> weapons = new ArrayList<>(WEAPONS_PER_IMPORT);
+            for (int i = 0; i < WEAPONS_PER_IMPORT; i++) {
+                weapons.add(Weapon.builder()
+                        .name("Imported " + i).weaponClass(Weapon.WeaponClass.MELEE).element(Element.FIRE)
+                        .baseDamage(10).criticalChance(5).attacksPerTurn(1.0).range(10)
+                        .rarity(1).price(100).quality(1).build());
+            }
+            return weaponRepository.saveAll(weapons).size();
+        });
+    }
+
+    @Benchmark
+    public int armorsWithPieces() {
+        operations++;
+        return inRolledBackTransaction(() -> {
+            for (int i = 0; i < ARMORS_PER_OPERATION; i++) {
+                Armor armor = Armor.builder().name("Bench Armor " + i).armorClass(Armor.ArmorClass.MELEE)
+                        .rarity(Rarity.RARE).totalDefense(30).imageUrl("").build();
+                for (ArmorPiece.Slot slot : ArmorPiece.Slot.values()) {
+                    armor.addPiece(ArmorPiece.builder().slot(slot).name(slot.name()).defense(10).build());
+                }
+                armorRepository.save(armor);
+            }
+            return ARMORS_PER_OPERATION;
+        });
+    }
+
+    private int inRolledBackTransaction(IntSupplier work) {
+        return transactionTemplate.execute(status -> {
+            int result = work.getAsInt();
+            entityManager.flush();
+            status.setRollbackOnly();
+            return result;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BatchedInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
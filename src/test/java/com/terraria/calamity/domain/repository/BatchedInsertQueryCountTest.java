@@ -0,0 +1,92 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.entity.Armor;
+import com.terraria.calamity.domain.entity.ArmorPiece;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Rarity;
+import com.terraria.calamity.domain.entity.Weapon;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Ids por sequence pooled-lo: os INSERTs vão em batch, em vez de um por linha como no IDENTITY.
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+        })
+@Transactional
+class BatchedInsertQueryCountTest {
+
+    @Autowired private WeaponRepository weaponRepository;
+    @Autowired private ArmorRepository armorRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void entitySequences_useTableNamesAndBlocksOf50() {
+        List<String> sequences = jdbcTemplate.queryForList(
+                "SELECT LOWER(sequence_name) FROM information_schema.sequences WHERE increment = 50", String.class);
+
+        assertThat(sequences).contains("weapons_id_seq", "users_id_seq", "armors_id_seq", "armor_pieces_id_seq",
+                "submissions_id_seq", "refresh_tokens_id_seq");
+    }
+
+    @Test
+    void saveAll_of100Weapons_insertsInTwoBatches() {
+        List<Weapon> weapons = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            weapons.add(Weapon.builder()
+                    .name("Imported " + i).weaponClass(Weapon.WeaponClass.MELEE).element(Element.FIRE)
+                    .baseDamage(10).criticalChance(5).attacksPerTurn(1.0).range(10)
+                    .rarity(1).price(100).quality(1).build());
+        }
+
+        statistics.clear();
+        weaponRepository.saveAll(weapons);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        // No máximo 2 nextval (blocos de 50) + 2 batches de INSERT
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(weapons).extracting(Weapon::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void save_armorWithPieces_insertsPiecesInOneBatch() {
+        Armor armor = Armor.builder().name("Batched Armor").armorClass(Armor.ArmorClass.MELEE)
+                .rarity(Rarity.RARE).totalDefense(30).imageUrl("").build();
+        for (ArmorPiece.Slot slot : List.of(ArmorPiece.Slot.HELMET, ArmorPiece.Slot.CHEST, ArmorPiece.Slot.LEGS)) {
+            armor.addPiece(ArmorPiece.builder().slot(slot).name(slot.name()).defense(10).build());
+        }
+
+        statistics.clear();
+        armorRepository.save(armor);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(4);
+        // No máximo um nextval por sequence + um INSERT da armadura + um batch das peças
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+}
@@ -1,11 +1,17 @@
 package com.terraria.calamity.domain.repository;
 
+import com.terraria.calamity.application.mapper.WeaponPayloadCodec;
+import com.terraria.calamity.domain.dto.WeaponSubmissionRequestDTO;
 import com.terraria.calamity.domain.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,6 +22,7 @@ class SubmissionRepositoryTest {
 
     @Autowired private SubmissionRepository submissionRepository;
     @Autowired private UserRepository userRepository;
+    @Autowired private EntityManager entityManager;
 
     private User saveUser(String email) {
         return userRepository.save(User.builder()
@@ -89,4 +96,41 @@ class SubmissionRepositoryTest {
 
         assertThat(reloaded.getPayload()).containsEntry("name", "Terra Blade");
     }
+
+    @Test
+    void payload_decodesToTypedRecordAfterReload() {
+        WeaponPayloadCodec codec = new WeaponPayloadCodec();
+        WeaponSubmissionRequestDTO payload = new WeaponSubmissionRequestDTO(null, "Terra Blade",
+                Weapon.WeaponClass.MELEE, Element.HOLY, 50, 8, 1.3, 65, 5, 8000, 6, "Slash", null, null);
+        Submission submission = buildSubmission(saveUser("typed@terraria.com"), null, SubmissionStatus.PENDING);
+        codec.write(submission, payload);
+        Long id = submissionRepository.saveAndFlush(submission).getId();
+        entityManager.clear();
+
+        Submission reloaded = submissionRepository.findById(id).orElseThrow();
+
+        assertThat(codec.read(reloaded)).isEqualTo(payload);
+    }
+
+    @Test
+    void findQueue_pagesByCreatedAtAndIdWithAuthorFetched() {
+        User author = saveUser("queue@terraria.com");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(submissionRepository.save(buildSubmission(author, null, SubmissionStatus.PENDING)).getId());
+        }
+        submissionRepository.save(buildSubmission(author, null, SubmissionStatus.REJECTED));
+        submissionRepository.flush();
+        entityManager.clear();
+
+        List<Submission> firstPage = submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING, null, 3);
+        Submission last = firstPage.getLast();
+        List<Submission> secondPage = submissionRepository.findQueue(EntityType.WEAPON, SubmissionStatus.PENDING,
+                new SubmissionKeyset(last.getCreatedAt(), last.getId()), 3);
+
+        assertThat(firstPage).extracting(Submission::getId).containsExactlyElementsOf(ids.subList(0, 3));
+        assertThat(secondPage).extracting(Submission::getId).containsExactlyElementsOf(ids.subList(3, 5));
+        assertThat(firstPage).allSatisfy(submission ->
+                assertThat(Hibernate.isInitialized(submission.getSubmittedBy())).isTrue());
+    }
 }
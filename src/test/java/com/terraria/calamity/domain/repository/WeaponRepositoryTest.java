@@ -0,0 +1,90 @@
+package com.terraria.calamity.domain.repository;
+
+import com.terraria.calamity.domain.dto.WeaponSummaryDTO;
+import com.terraria.calamity.domain.entity.Element;
+import com.terraria.calamity.domain.entity.Weapon;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Transactional
+class WeaponRepositoryTest {
+
+    private static final WeaponSearchCriteria NO_FILTERS =
+            new WeaponSearchCriteria(null, null, null, null, null, null, null);
+
+    @Autowired
+    private WeaponRepository weaponRepository;
+
+    @BeforeEach
+    void seed() {
+        weaponRepository.deleteAll();
+        weaponRepository.save(weapon("Terra Blade", Weapon.WeaponClass.MELEE, Element.NEUTRAL, 8, 85));
+        weaponRepository.save(weapon("Ark of the Cosmos", Weapon.WeaponClass.MELEE, Element.COSMIC, 12, 200));
+        weaponRepository.save(weapon("Excalibur", Weapon.WeaponClass.MELEE, Element.HOLY, 5, 44));
+        weaponRepository.save(weapon("Brimstone Sword", Weapon.WeaponClass.MELEE, Element.BRIMSTONE, 5, 60));
+        weaponRepository.save(weapon("Razorblade Typhoon", Weapon.WeaponClass.MAGE, Element.WATER, 8, 70));
+    }
+
+    private static Weapon weapon(String name, Weapon.WeaponClass weaponClass, Element element, int rarity, int damage) {
+        return Weapon.builder().name(name).weaponClass(weaponClass).element(element)
+                .baseDamage(damage).criticalChance(5).attacksPerTurn(1.0).range(50)
+                .rarity(rarity).price(1000).quality(5)
+                .build();
+    }
+
+    @Test
+    void search_walksAllPagesInRarityThenIdOrder_withoutGapsOrRepeats() {
+        List<String> seen = new ArrayList<>();
+        WeaponKeyset after = null;
+        while (true) {
+            List<Weapon> page = weaponRepository.search(NO_FILTERS, after, 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(weapon -> seen.add(weapon.getName()));
+            Weapon last = page.get(page.size() - 1);
+            after = WeaponKeyset.decode(new WeaponKeyset(last.getRarity(), last.getId()).encode());
+        }
+
+        assertThat(seen).containsExactly(
+                "Excalibur", "Brimstone Sword", "Terra Blade", "Razorblade Typhoon", "Ark of the Cosmos");
+    }
+
+    @Test
+    void search_combinesClassElementGroupRarityDamageAndName() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(
+                Weapon.WeaponClass.MELEE, Element.ofGroup("calamity"), 5, 12, 50, null, "SWORD");
+
+        assertThat(weaponRepository.search(criteria, null, 10))
+                .extracting(Weapon::getName)
+                .containsExactly("Brimstone Sword");
+    }
+
+    @Test
+    void search_treatsLikeWildcardsInNameLiterally() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(null, Set.of(), null, null, null, null, "%");
+
+        assertThat(weaponRepository.search(criteria, null, 10)).isEmpty();
+    }
+
+    @Test
+    void searchSummaries_usesSameFiltersAndOrderAsSearch() {
+        WeaponSearchCriteria criteria = new WeaponSearchCriteria(
+                Weapon.WeaponClass.MELEE, null, 5, null, null, null, null);
+
+        assertThat(weaponRepository.searchSummaries(criteria, null, 10))
+                .extracting(WeaponSummaryDTO::name)
+                .containsExactlyElementsOf(weaponRepository.search(criteria, null, 10).stream()
+                        .map(Weapon::getName).toList());
+    }
+}